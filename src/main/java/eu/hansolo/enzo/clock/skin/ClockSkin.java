@@ -17,7 +17,8 @@
 package eu.hansolo.enzo.clock.skin;
 
 import eu.hansolo.enzo.clock.Clock;
-import javafx.animation.AnimationTimer;
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
@@ -96,8 +97,7 @@ public class ClockSkin extends SkinBase<Clock> implements Skin<Clock> {
     private DoubleProperty      currentMinuteAngle;
     private DoubleProperty      minute;
     private Timeline            timeline;
-    private long                lastTimerCall;
-    private AnimationTimer      timer;
+    private Subscription        pulse;
 
 
     // ******************** Constructors **************************************
@@ -136,29 +136,12 @@ public class ClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         tickLabels = new ArrayList<>(12);
 
         timeline = new Timeline();
-        timer = new AnimationTimer() {
-            @Override public void handle(final long NOW) {
-                if (NOW >= lastTimerCall + INTERVAL) {
-                    // SecondsRight
-                    if (getSkinnable().isDiscreteSecond()) {
-                        secondAngle.setAngle(Calendar.getInstance().get(Calendar.SECOND) * 6);
-                    } else {
-                        secondAngle.setAngle(Calendar.getInstance().get(Calendar.SECOND) * 6 + Calendar.getInstance().get(Calendar.MILLISECOND) * 0.006);
-                    }
-                    // Minutes
-                    minute.set((Calendar.getInstance().get(Calendar.MINUTE)) * 6);
-                    // Hours
-                    minuteAngle.setAngle((Calendar.getInstance().get(Calendar.HOUR)) * 30 + 0.5 * Calendar.getInstance().get(Calendar.MINUTE));
-                    lastTimerCall = NOW;
-                }
-            }
-        };
         minute.addListener(observable -> moveMinutePointer(minute.get()) );
 
         init();
         initGraphics();
         registerListeners();
-        timer.start();
+        pulse = PulseScheduler.subscribe(getSkinnable(), INTERVAL, (NOW, TICK) -> updateTime());
     }
 
 
@@ -365,6 +348,11 @@ public class ClockSkin extends SkinBase<Clock> implements Skin<Clock> {
         }
     }
 
+    @Override public void dispose() {
+        pulse.cancel();
+        super.dispose();
+    }
+
     @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
         return super.computeMinWidth(Math.max(MINIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
     }
@@ -626,6 +614,19 @@ public class ClockSkin extends SkinBase<Clock> implements Skin<Clock> {
 
 
     // ******************** Drawing related ***********************************
+    private void updateTime() {
+        // SecondsRight
+        if (getSkinnable().isDiscreteSecond()) {
+            secondAngle.setAngle(Calendar.getInstance().get(Calendar.SECOND) * 6);
+        } else {
+            secondAngle.setAngle(Calendar.getInstance().get(Calendar.SECOND) * 6 + Calendar.getInstance().get(Calendar.MILLISECOND) * 0.006);
+        }
+        // Minutes
+        minute.set((Calendar.getInstance().get(Calendar.MINUTE)) * 6);
+        // Hours
+        minuteAngle.setAngle((Calendar.getInstance().get(Calendar.HOUR)) * 30 + 0.5 * Calendar.getInstance().get(Calendar.MINUTE));
+    }
+
     private void moveMinutePointer(double newAngle) {
         final KeyValue kv = new KeyValue(currentMinuteAngle, newAngle, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
         final KeyFrame kf = new KeyFrame(Duration.millis(200), kv);
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.common;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Cache of pre-rendered glyph images for split flaps. Each character of
+ * a selection will be rendered once for every part of a flap (upper
+ * half, lower half and the mirrored back of the flap) so that flipping
+ * only needs to draw images instead of rendering text.
+ * Atlases are shared between all instances that use the same renderer,
+ * selection, font, color and size. Sizes are rounded to whole pixels.
+ * Every acquire() has to be balanced by a release(), the atlas will be
+ * evicted when it is not used anymore.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 23.10.13
+ * Time: 13:05
+ */
+public final class GlyphAtlas {
+    public static enum Part { UPPER, LOWER, BACK }
+    private static final Map<Key, GlyphAtlas> ATLASES = new HashMap<>(8);
+    private final Key                          KEY;
+    private final Map<String, Image[]>         GLYPHS;
+    private int                                references;
+
+
+    // ******************** Constructors **************************************
+    private GlyphAtlas(final Key KEY) {
+        this.KEY   = KEY;
+        GLYPHS     = new HashMap<>(KEY.SELECTION.size() * 2);
+        references = 0;
+        render();
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the atlas for the given parameters. If there is no atlas
+     * for these parameters it will be created and all characters of the
+     * selection will be rendered.
+     * @param RENDERER     the renderer that draws one part of a glyph
+     * @param SELECTION    the characters that will be rendered
+     * @param FONT         the font of the text
+     * @param COLOR        the color of the text
+     * @param WIDTH        the width of the control
+     * @param HEIGHT       the height of the control
+     * @param GLYPH_WIDTH  the width of the images
+     * @param GLYPH_HEIGHT the height of the images
+     * @return the shared atlas for the given parameters
+     */
+    public static GlyphAtlas acquire(final GlyphRenderer RENDERER, final String[] SELECTION, final Font FONT, final Color COLOR,
+                                     final double WIDTH, final double HEIGHT, final double GLYPH_WIDTH, final double GLYPH_HEIGHT) {
+        final Key  KEY   = new Key(RENDERER, SELECTION, FONT, COLOR, WIDTH, HEIGHT, GLYPH_WIDTH, GLYPH_HEIGHT);
+        GlyphAtlas atlas = ATLASES.get(KEY);
+        if (null == atlas) {
+            atlas = new GlyphAtlas(KEY);
+            ATLASES.put(KEY, atlas);
+        }
+        atlas.references++;
+        return atlas;
+    }
+
+    /**
+     * Releases the atlas, if no one uses it anymore it will be evicted
+     */
+    public void release() {
+        if (references <= 0) return;
+        references--;
+        if (0 == references) {
+            ATLASES.remove(KEY);
+            GLYPHS.clear();
+        }
+    }
+
+    /**
+     * Returns the image of the given part of the given character or null
+     * if the character is not part of the selection of this atlas
+     * @param GLYPH
+     * @param PART
+     * @return the image of the given part of the given character
+     */
+    public Image getImage(final String GLYPH, final Part PART) {
+        final Image[] IMAGES = GLYPHS.get(GLYPH);
+        return null == IMAGES ? null : IMAGES[PART.ordinal()];
+    }
+
+    /**
+     * Returns the number of atlases that are in use at the moment
+     * @return the number of atlases in use
+     */
+    public static int getNoOfAtlases() {
+        return ATLASES.size();
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void render() {
+        if (KEY.GLYPH_WIDTH <= 0 || KEY.GLYPH_HEIGHT <= 0) return;
+        final Canvas          CANVAS = new Canvas(KEY.GLYPH_WIDTH, KEY.GLYPH_HEIGHT);
+        final GraphicsContext CTX    = CANVAS.getGraphicsContext2D();
+        CTX.setTextBaseline(VPos.CENTER);
+        CTX.setTextAlign(TextAlignment.CENTER);
+        CTX.setFont(KEY.FONT);
+
+        final SnapshotParameters PARAMETERS = new SnapshotParameters();
+        PARAMETERS.setFill(Color.TRANSPARENT);
+
+        final Part[] PARTS = Part.values();
+        for (String glyph : KEY.SELECTION) {
+            if (GLYPHS.containsKey(glyph)) continue;
+            final Image[] IMAGES = new Image[PARTS.length];
+            for (Part part : PARTS) {
+                CTX.clearRect(0, 0, KEY.GLYPH_WIDTH, KEY.GLYPH_HEIGHT);
+                CTX.save();
+                KEY.RENDERER.render(CTX, glyph, part, KEY.COLOR, KEY.WIDTH, KEY.HEIGHT);
+                CTX.restore();
+                IMAGES[part.ordinal()] = CANVAS.snapshot(PARAMETERS, null);
+            }
+            GLYPHS.put(glyph, IMAGES);
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    public interface GlyphRenderer {
+        /**
+         * Draws the given part of the given character into the context.
+         * Text baseline, text alignment and font are already set.
+         * @param CTX    the context of a canvas of the glyph size
+         * @param GLYPH  the character
+         * @param PART   the part of the flap
+         * @param COLOR  the color of the text
+         * @param WIDTH  the width of the control
+         * @param HEIGHT the height of the control
+         */
+        void render(GraphicsContext CTX, String GLYPH, Part PART, Color COLOR, double WIDTH, double HEIGHT);
+    }
+
+    private static final class Key {
+        private final GlyphRenderer RENDERER;
+        private final List<String>  SELECTION;
+        private final Font          FONT;
+        private final Color         COLOR;
+        private final int           WIDTH;
+        private final int           HEIGHT;
+        private final int           GLYPH_WIDTH;
+        private final int           GLYPH_HEIGHT;
+
+        private Key(final GlyphRenderer RENDERER, final String[] SELECTION, final Font FONT, final Color COLOR,
+                    final double WIDTH, final double HEIGHT, final double GLYPH_WIDTH, final double GLYPH_HEIGHT) {
+            this.RENDERER     = RENDERER;
+            this.SELECTION    = Arrays.asList(SELECTION.clone());
+            this.FONT         = FONT;
+            this.COLOR        = COLOR;
+            this.WIDTH        = (int) Math.ceil(WIDTH);
+            this.HEIGHT       = (int) Math.ceil(HEIGHT);
+            this.GLYPH_WIDTH  = (int) Math.ceil(GLYPH_WIDTH);
+            this.GLYPH_HEIGHT = (int) Math.ceil(GLYPH_HEIGHT);
+        }
+
+        @Override public boolean equals(final Object OBJECT) {
+            if (this == OBJECT) return true;
+            if (!(OBJECT instanceof Key)) return false;
+            final Key OTHER = (Key) OBJECT;
+            return RENDERER == OTHER.RENDERER &&
+                   WIDTH == OTHER.WIDTH && HEIGHT == OTHER.HEIGHT &&
+                   GLYPH_WIDTH == OTHER.GLYPH_WIDTH && GLYPH_HEIGHT == OTHER.GLYPH_HEIGHT &&
+                   FONT.equals(OTHER.FONT) && COLOR.equals(OTHER.COLOR) && SELECTION.equals(OTHER.SELECTION);
+        }
+
+        @Override public int hashCode() {
+            int hash = System.identityHashCode(RENDERER);
+            hash = 31 * hash + WIDTH;
+            hash = 31 * hash + HEIGHT;
+            hash = 31 * hash + GLYPH_WIDTH;
+            hash = 31 * hash + GLYPH_HEIGHT;
+            hash = 31 * hash + FONT.hashCode();
+            hash = 31 * hash + COLOR.hashCode();
+            hash = 31 * hash + SELECTION.hashCode();
+            return hash;
+        }
+    }
+}
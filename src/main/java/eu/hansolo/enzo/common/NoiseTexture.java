@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.common;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Small tiles of pixel noise that can be repeated to cover any area.
+ * The noise of every pixel is independent of its neighbours, so the
+ * tiles are seamless. Each tile will be generated once per combination
+ * of colors and alpha variation in one bulk write and will be shared by
+ * all controls, so resizing a control that uses a noise pattern does not
+ * generate any noise. Only the most recently used tiles and patterns
+ * will be kept.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 11:05
+ */
+public final class NoiseTexture {
+    public static final int                     TILE_SIZE  = 128;
+    private static final int                    CACHE_SIZE = 8;
+    private static final Map<Key, Image>        TILES      = new LinkedHashMap<Key, Image>(CACHE_SIZE, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Key, Image> ELDEST) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private static final Map<Key, ImagePattern> PATTERNS   = new LinkedHashMap<Key, ImagePattern>(CACHE_SIZE, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Key, ImagePattern> ELDEST) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+
+    // ******************** Constructors **************************************
+    private NoiseTexture() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns a tile where each pixel either has the dark or the bright
+     * color with a random alpha that varies by the given percentage
+     * @param DARK_COLOR
+     * @param BRIGHT_COLOR
+     * @param ALPHA_VARIATION_IN_PERCENT
+     * @return the shared noise tile
+     */
+    public static Image getTile(final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
+        final Key KEY  = new Key(false, DARK_COLOR, BRIGHT_COLOR, clamp(0, 100, ALPHA_VARIATION_IN_PERCENT));
+        Image     tile = TILES.get(KEY);
+        if (null == tile) {
+            tile = createTile(KEY);
+            TILES.put(KEY, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Returns a pattern that repeats the tile of the given parameters
+     * @param DARK_COLOR
+     * @param BRIGHT_COLOR
+     * @param ALPHA_VARIATION_IN_PERCENT
+     * @return the shared noise pattern
+     */
+    public static ImagePattern getPattern(final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
+        final Key    KEY     = new Key(false, DARK_COLOR, BRIGHT_COLOR, clamp(0, 100, ALPHA_VARIATION_IN_PERCENT));
+        ImagePattern pattern = PATTERNS.get(KEY);
+        if (null == pattern) {
+            pattern = new ImagePattern(getTile(DARK_COLOR, BRIGHT_COLOR, ALPHA_VARIATION_IN_PERCENT), 0, 0, TILE_SIZE, TILE_SIZE, false);
+            PATTERNS.put(KEY, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Returns an opaque tile of gray values between the given colors
+     * @param DARK_COLOR
+     * @param BRIGHT_COLOR
+     * @return the shared gray noise tile
+     */
+    public static Image getGrayTile(final Color DARK_COLOR, final Color BRIGHT_COLOR) {
+        final Key KEY  = new Key(true, DARK_COLOR, BRIGHT_COLOR, 0);
+        Image     tile = TILES.get(KEY);
+        if (null == tile) {
+            tile = createTile(KEY);
+            TILES.put(KEY, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Fills an image of the given size with copies of the given tile
+     * @param TILE
+     * @param WIDTH
+     * @param HEIGHT
+     * @return an image of the given size or null if the size is empty
+     */
+    public static Image fill(final Image TILE, final double WIDTH, final double HEIGHT) {
+        final int TILE_WIDTH   = (int) TILE.getWidth();
+        final int TILE_HEIGHT  = (int) TILE.getHeight();
+        final int IMAGE_WIDTH  = (int) WIDTH;
+        final int IMAGE_HEIGHT = (int) HEIGHT;
+        if (IMAGE_WIDTH <= 0 || IMAGE_HEIGHT <= 0) return null;
+        final WritableImage IMAGE = new WritableImage(IMAGE_WIDTH, IMAGE_HEIGHT);
+        for (int y = 0 ; y < IMAGE_HEIGHT ; y += TILE_HEIGHT) {
+            for (int x = 0 ; x < IMAGE_WIDTH ; x += TILE_WIDTH) {
+                IMAGE.getPixelWriter().setPixels(x, y, Math.min(TILE_WIDTH, IMAGE_WIDTH - x), Math.min(TILE_HEIGHT, IMAGE_HEIGHT - y), TILE.getPixelReader(), 0, 0);
+            }
+        }
+        return IMAGE;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private static Image createTile(final Key KEY) {
+        final int[] PIXELS = new int[TILE_SIZE * TILE_SIZE];
+        int         seed   = 0x2545F491 ^ KEY.hashCode();
+        if (0 == seed) seed = 0x2545F491;
+        if (KEY.GRAY) {
+            // Same gray range as the per pixel noise that Util.createGrayNoise() used to create
+            final int START = returnLargest(toByte(KEY.DARK.getRed()), toByte(KEY.DARK.getGreen()), toByte(KEY.DARK.getBlue()));
+            final int DELTA = returnLargest(Math.abs(toByte(KEY.BRIGHT.getRed() - KEY.DARK.getRed())),
+                                            Math.abs(toByte(KEY.BRIGHT.getGreen() - KEY.DARK.getGreen())),
+                                            Math.abs(toByte(KEY.BRIGHT.getBlue() - KEY.DARK.getBlue())));
+            for (int i = 0 ; i < PIXELS.length ; i++) {
+                seed = xorShift(seed);
+                final int GRAY = clamp(0, 255, DELTA > 0 ? START + (seed >>> 1) % DELTA : START);
+                PIXELS[i] = 0xFF000000 | GRAY << 16 | GRAY << 8 | GRAY;
+            }
+        } else {
+            final int    DARK_RGB        = toByte(KEY.DARK.getRed()) << 16 | toByte(KEY.DARK.getGreen()) << 8 | toByte(KEY.DARK.getBlue());
+            final int    BRIGHT_RGB      = toByte(KEY.BRIGHT.getRed()) << 16 | toByte(KEY.BRIGHT.getGreen()) << 8 | toByte(KEY.BRIGHT.getBlue());
+            final double ALPHA_VARIATION = KEY.ALPHA_VARIATION / 100;
+            final double ALPHA_START     = ALPHA_VARIATION / 2;
+            for (int i = 0 ; i < PIXELS.length ; i++) {
+                seed = xorShift(seed);
+                final double RANDOM = (seed >>> 8) / (double) (1 << 24);
+                final int    ALPHA  = toByte(Math.min(1, ALPHA_START + RANDOM * ALPHA_VARIATION));
+                PIXELS[i] = ALPHA << 24 | ((seed & 1) == 0 ? BRIGHT_RGB : DARK_RGB);
+            }
+        }
+        final WritableImage TILE = new WritableImage(TILE_SIZE, TILE_SIZE);
+        TILE.getPixelWriter().setPixels(0, 0, TILE_SIZE, TILE_SIZE, PixelFormat.getIntArgbInstance(), PIXELS, 0, TILE_SIZE);
+        return TILE;
+    }
+
+    private static int xorShift(final int SEED) {
+        int x = SEED;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        return x;
+    }
+
+    private static int toByte(final double VALUE) {
+        return (int) (VALUE * 255);
+    }
+
+    private static int returnLargest(final int A, final int B, final int C) {
+        if (A == B && A == C) {
+            return A;
+        } else if (A > B && A > C) {
+            return A;
+        } else if (B > A && B > C) {
+            return B;
+        } else if (C > A && C > B) {
+            return C;
+        }
+        return 0;
+    }
+
+    private static int clamp(final int MIN, final int MAX, final int VALUE) {
+        return VALUE < MIN ? MIN : (VALUE > MAX ? MAX : VALUE);
+    }
+
+    private static double clamp(final double MIN, final double MAX, final double VALUE) {
+        return VALUE < MIN ? MIN : (VALUE > MAX ? MAX : VALUE);
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Key {
+        private final boolean GRAY;
+        private final Color   DARK;
+        private final Color   BRIGHT;
+        private final double  ALPHA_VARIATION;
+        private final int     HASH;
+
+        private Key(final boolean GRAY, final Color DARK, final Color BRIGHT, final double ALPHA_VARIATION) {
+            this.GRAY            = GRAY;
+            this.DARK            = DARK;
+            this.BRIGHT          = BRIGHT;
+            this.ALPHA_VARIATION = ALPHA_VARIATION;
+            int hash = Boolean.hashCode(GRAY);
+            hash     = 31 * hash + DARK.hashCode();
+            hash     = 31 * hash + BRIGHT.hashCode();
+            hash     = 31 * hash + Double.hashCode(ALPHA_VARIATION);
+            HASH     = hash;
+        }
+
+        @Override public boolean equals(final Object OBJECT) {
+            if (this == OBJECT) return true;
+            if (!(OBJECT instanceof Key)) return false;
+            final Key KEY = (Key) OBJECT;
+            return GRAY == KEY.GRAY && DARK.equals(KEY.DARK) && BRIGHT.equals(KEY.BRIGHT) && Double.compare(ALPHA_VARIATION, KEY.ALPHA_VARIATION) == 0;
+        }
+
+        @Override public int hashCode() {
+            return HASH;
+        }
+    }
+}
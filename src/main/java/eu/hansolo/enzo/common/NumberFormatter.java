@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.common;
+
+
+/**
+ * Formats numbers with a fixed number of decimals (like "%.2f") or in
+ * scientific notation (like "0.00E0") into a reusable char array without
+ * parsing patterns and without creating intermediate objects. The decimal
+ * separator is always a dot. Values are rounded half up, negative values
+ * that round to zero are formatted without a sign. Values that need more
+ * than 18 digits will be formatted in scientific notation.
+ * The last formatted string is kept, if the same text is formatted again
+ * the same string instance will be returned which means readouts with an
+ * unchanged text do not allocate at all.
+ * Each owner uses its own instance, the only shared state are immutable
+ * tables, so instances could be used on any thread as long as they are
+ * not shared between threads.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 08:36
+ */
+public final class NumberFormatter {
+    public static final int       MAX_DECIMALS = 15;
+    private static final long[]   POW10        = new long[19];
+    private static final long     MAX_SCALED   = 999_999_999_999_999_999l;
+    static {
+        POW10[0] = 1;
+        for (int i = 1 ; i < POW10.length ; i++) POW10[i] = POW10[i - 1] * 10;
+    }
+    private final char[] CHARS;
+    private int          length;
+    private String       lastString;
+
+
+    // ******************** Constructors **************************************
+    public NumberFormatter() {
+        CHARS      = new char[64];
+        length     = 0;
+        lastString = "";
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Formats the given value with the given number of decimals
+     * @param VALUE
+     * @param DECIMALS number of decimals (0 - 15)
+     * @return the formatted value
+     */
+    public String format(final double VALUE, final int DECIMALS) {
+        formatChars(VALUE, DECIMALS);
+        return toText();
+    }
+
+    /**
+     * Formats the given value in scientific notation with one integer digit
+     * and the given number of decimals in the mantissa (e.g. 1.23E-4)
+     * @param VALUE
+     * @param DECIMALS number of decimals of the mantissa (0 - 15)
+     * @return the formatted value
+     */
+    public String formatScientific(final double VALUE, final int DECIMALS) {
+        formatScientificChars(VALUE, DECIMALS);
+        return toText();
+    }
+
+    /**
+     * Formats the given value with the given number of decimals into the
+     * internal buffer, use getChars() to access the result
+     * @param VALUE
+     * @param DECIMALS number of decimals (0 - 15)
+     * @return the number of chars
+     */
+    public int formatChars(final double VALUE, final int DECIMALS) {
+        length = 0;
+        if (isSpecial(VALUE)) return length;
+        final int    DIGITS = clampDecimals(DECIMALS);
+        final double ABS    = Math.abs(VALUE);
+        final double SCALED = Math.floor(ABS * POW10[DIGITS] + 0.5);
+        if (SCALED > MAX_SCALED) return formatScientificChars(VALUE, DIGITS);
+
+        final long NUMBER = (long) SCALED;
+        if (VALUE < 0 && NUMBER != 0) CHARS[length++] = '-';
+        appendLong(NUMBER / POW10[DIGITS]);
+        if (DIGITS > 0) {
+            CHARS[length++] = '.';
+            appendFraction(NUMBER % POW10[DIGITS], DIGITS);
+        }
+        return length;
+    }
+
+    /**
+     * Formats the given value in scientific notation into the internal
+     * buffer, use getChars() to access the result
+     * @param VALUE
+     * @param DECIMALS number of decimals of the mantissa (0 - 15)
+     * @return the number of chars
+     */
+    public int formatScientificChars(final double VALUE, final int DECIMALS) {
+        length = 0;
+        if (isSpecial(VALUE)) return length;
+        final int    DIGITS = clampDecimals(DECIMALS);
+        final double ABS    = Math.abs(VALUE);
+        int          exponent;
+        long         mantissa;
+        if (ABS == 0) {
+            exponent = 0;
+            mantissa = 0;
+        } else {
+            exponent = (int) Math.floor(Math.log10(ABS));
+            mantissa = (long) Math.floor(scale(ABS, exponent) * POW10[DIGITS] + 0.5);
+            if (mantissa >= 10 * POW10[DIGITS]) {
+                exponent++;
+                mantissa = (long) Math.floor(scale(ABS, exponent) * POW10[DIGITS] + 0.5);
+            } else if (mantissa < POW10[DIGITS]) {
+                exponent--;
+                mantissa = (long) Math.floor(scale(ABS, exponent) * POW10[DIGITS] + 0.5);
+            }
+        }
+        if (VALUE < 0 && mantissa != 0) CHARS[length++] = '-';
+        appendLong(mantissa / POW10[DIGITS]);
+        if (DIGITS > 0) {
+            CHARS[length++] = '.';
+            appendFraction(mantissa % POW10[DIGITS], DIGITS);
+        }
+        CHARS[length++] = 'E';
+        if (exponent < 0) {
+            CHARS[length++] = '-';
+            exponent = -exponent;
+        }
+        appendLong(exponent);
+        return length;
+    }
+
+    /**
+     * @return the buffer that contains the last formatted value
+     */
+    public char[] getChars() {
+        return CHARS;
+    }
+
+    /**
+     * @return the number of chars of the last formatted value
+     */
+    public int getLength() {
+        return length;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private boolean isSpecial(final double VALUE) {
+        if (Double.isNaN(VALUE)) {
+            append("NaN");
+        } else if (Double.POSITIVE_INFINITY == VALUE) {
+            append("Infinity");
+        } else if (Double.NEGATIVE_INFINITY == VALUE) {
+            append("-Infinity");
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static double scale(final double VALUE, final int EXPONENT) {
+        // 10^EXPONENT would underflow for denormalized values
+        return EXPONENT < -300 ? VALUE * 1e300 / Math.pow(10, EXPONENT + 300) : VALUE / Math.pow(10, EXPONENT);
+    }
+
+    private static int clampDecimals(final int DECIMALS) {
+        return DECIMALS < 0 ? 0 : (DECIMALS > MAX_DECIMALS ? MAX_DECIMALS : DECIMALS);
+    }
+
+    private void append(final String TEXT) {
+        for (int i = 0 ; i < TEXT.length() ; i++) CHARS[length++] = TEXT.charAt(i);
+    }
+
+    private void appendLong(final long NUMBER) {
+        int digits = 1;
+        while (digits < POW10.length && NUMBER >= POW10[digits]) digits++;
+        appendFraction(NUMBER, digits);
+    }
+
+    /**
+     * Appends the given number with exactly the given number of digits,
+     * padded with leading zeros
+     * @param NUMBER
+     * @param DIGITS
+     */
+    private void appendFraction(final long NUMBER, final int DIGITS) {
+        long number = NUMBER;
+        for (int i = length + DIGITS - 1 ; i >= length ; i--) {
+            CHARS[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        length += DIGITS;
+    }
+
+    /**
+     * Returns the content of the buffer as string, if it is equal to the
+     * last string that one will be returned
+     * @return the content of the buffer as string
+     */
+    private String toText() {
+        if (lastString.length() == length) {
+            boolean equal = true;
+            for (int i = 0 ; i < length ; i++) {
+                if (lastString.charAt(i) != CHARS[i]) {
+                    equal = false;
+                    break;
+                }
+            }
+            if (equal) return lastString;
+        }
+        lastString = new String(CHARS, 0, length);
+        return lastString;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.common;
+
+import javafx.scene.paint.Color;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+
+/**
+ * A small cache for paints, backgrounds or other objects that will be
+ * derived from a color, e.g. the gradients that the css derives from a
+ * -led-color. The objects will be created once per color by the given
+ * factory and the most recently used ones will be kept, so switching
+ * between a few status colors neither parses css nor creates gradients.
+ * A cache is meant to be a static field that is shared by all skins of
+ * one type.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 15:30
+ */
+public final class PaintCache<T> {
+    private final Function<Color, T> FACTORY;
+    private final Map<Color, T>      CACHE;
+
+
+    // ******************** Constructors **************************************
+    public PaintCache(final int CAPACITY, final Function<Color, T> FACTORY) {
+        this.FACTORY = FACTORY;
+        CACHE        = new LinkedHashMap<Color, T>(CAPACITY, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(final Map.Entry<Color, T> ELDEST) {
+                return size() > CAPACITY;
+            }
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * @param COLOR
+     * @return the object derived from the given color, created only if not cached
+     */
+    public T get(final Color COLOR) {
+        T paint = CACHE.get(COLOR);
+        if (null == paint) {
+            paint = FACTORY.apply(COLOR);
+            CACHE.put(COLOR, paint);
+        }
+        return paint;
+    }
+
+    public void clear() {
+        CACHE.clear();
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.common;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+
+/**
+ * One AnimationTimer for all controls that need a periodic callback
+ * (blinking, clocks, peak hold, flip animations). Subscribers are kept
+ * in a queue ordered by their next deadline so that on each pulse only
+ * the subscribers that are due will be called.
+ * Deadlines are aligned to multiples of the interval (shifted by the
+ * phase), which means that all subscribers with the same interval and
+ * phase will be called in the same pulse with the same tick.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 21.10.13
+ * Time: 08:12
+ */
+public final class PulseScheduler {
+    private static final PriorityQueue<Subscription> QUEUE = new PriorityQueue<>(64, (a, b) -> Long.compare(a.deadline, b.deadline));
+    private static final List<Subscription>          DUE   = new ArrayList<>(64);
+    private static final AnimationTimer              TIMER = new AnimationTimer() {
+        @Override public void handle(final long NOW) {
+            dispatch(NOW);
+        }
+    };
+    private static boolean running = false;
+
+
+    // ******************** Constructors **************************************
+    private PulseScheduler() {}
+
+
+    // ******************** Methods *******************************************
+
+    /**
+     * Calls the given listener every INTERVAL nanoseconds as long as the
+     * subscription is not cancelled and the given node is part of a scene.
+     * If the node leaves the scene the subscription will be removed from the
+     * scheduler and will be added again when the node is added to a scene.
+     * An interval of 0 means the listener will be called on every pulse.
+     * @param NODE     the node that owns the subscription, might be null
+     * @param INTERVAL the interval in nanoseconds
+     * @param PHASE    the offset in nanoseconds of the deadlines
+     * @param LISTENER the listener that will be called
+     * @return the subscription that could be used to cancel
+     */
+    public static Subscription subscribe(final Node NODE, final long INTERVAL, final long PHASE, final PulseListener LISTENER) {
+        Subscription subscription = new Subscription(NODE, INTERVAL, PHASE, LISTENER);
+        subscription.start();
+        return subscription;
+    }
+
+    /**
+     * Calls the given listener every INTERVAL nanoseconds with a phase of 0
+     * @param NODE
+     * @param INTERVAL
+     * @param LISTENER
+     * @return the subscription that could be used to cancel
+     */
+    public static Subscription subscribe(final Node NODE, final long INTERVAL, final PulseListener LISTENER) {
+        return subscribe(NODE, INTERVAL, 0, LISTENER);
+    }
+
+    /**
+     * Returns the number of subscriptions that are currently scheduled
+     * @return the number of scheduled subscriptions
+     */
+    public static int getNoOfSubscriptions() {
+        return QUEUE.size();
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private static void dispatch(final long NOW) {
+        while (!QUEUE.isEmpty() && QUEUE.peek().deadline <= NOW) {
+            Subscription subscription = QUEUE.poll();
+            subscription.queued = false;
+            DUE.add(subscription);
+        }
+        for (int i = 0 ; i < DUE.size() ; i++) {
+            Subscription subscription = DUE.get(i);
+            // An earlier listener of this pulse might have cancelled it or removed its node
+            if (!subscription.active || (null != subscription.NODE && null == subscription.NODE.getScene())) continue;
+            long tick = subscription.tick(NOW);
+            subscription.deadline = subscription.nextDeadline(NOW);
+            enqueue(subscription);
+            subscription.LISTENER.pulse(NOW, tick);
+        }
+        DUE.clear();
+        if (QUEUE.isEmpty()) {
+            TIMER.stop();
+            running = false;
+        }
+    }
+
+    private static void enqueue(final Subscription SUBSCRIPTION) {
+        if (SUBSCRIPTION.queued) return;
+        QUEUE.add(SUBSCRIPTION);
+        SUBSCRIPTION.queued = true;
+        if (!running) {
+            TIMER.start();
+            running = true;
+        }
+    }
+
+    private static void dequeue(final Subscription SUBSCRIPTION) {
+        if (!SUBSCRIPTION.queued) return;
+        QUEUE.remove(SUBSCRIPTION);
+        SUBSCRIPTION.queued = false;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    public interface PulseListener {
+        /**
+         * Will be called on the JavaFX application thread when the deadline
+         * of the subscription was reached.
+         * @param NOW  the timestamp of the current pulse in nanoseconds
+         * @param TICK the number of intervals since the (phase shifted) epoch,
+         *             equal for all subscribers with the same interval and phase
+         */
+        void pulse(long NOW, long TICK);
+    }
+
+    public static final class Subscription {
+        private final Node                 NODE;
+        private final PulseListener        LISTENER;
+        private final InvalidationListener SCENE_LISTENER;
+        private long                       interval;
+        private long                       phase;
+        private long                       deadline;
+        private long                       counter;
+        private boolean                    active;
+        private boolean                    queued;
+
+        private Subscription(final Node NODE, final long INTERVAL, final long PHASE, final PulseListener LISTENER) {
+            this.NODE      = NODE;
+            this.LISTENER  = LISTENER;
+            interval       = Math.max(0, INTERVAL);
+            phase          = PHASE;
+            SCENE_LISTENER = observable -> {
+                if (null == NODE.getScene()) {
+                    dequeue(this);
+                } else if (active) {
+                    schedule();
+                }
+            };
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+        public void setInterval(final long INTERVAL) {
+            if (INTERVAL == interval) return;
+            interval = Math.max(0, INTERVAL);
+            if (queued) schedule();
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void cancel() {
+            if (!active) return;
+            active = false;
+            dequeue(this);
+            if (null != NODE) NODE.sceneProperty().removeListener(SCENE_LISTENER);
+        }
+
+        private void start() {
+            active = true;
+            if (null != NODE) NODE.sceneProperty().addListener(SCENE_LISTENER);
+            if (null == NODE || null != NODE.getScene()) schedule();
+        }
+
+        private void schedule() {
+            // Never change the deadline of a queued subscription, it is the key of the queue
+            dequeue(this);
+            deadline = nextDeadline(System.nanoTime());
+            enqueue(this);
+        }
+
+        private long tick(final long NOW) {
+            return interval == 0 ? counter++ : Math.floorDiv(NOW - phase, interval);
+        }
+
+        private long nextDeadline(final long NOW) {
+            return interval == 0 ? NOW + 1 : (Math.floorDiv(NOW - phase, interval) + 1) * interval + phase;
+        }
+    }
+}
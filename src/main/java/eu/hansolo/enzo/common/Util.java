@@ -17,12 +17,8 @@
 package eu.hansolo.enzo.common;
 
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
-import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 
-import java.util.Random;
-
 
 /**
  * Created by
@@ -46,36 +42,7 @@ public class Util {
         if (WIDTH <= 0 || HEIGHT <= 0) {
             return null;
         }
-        final WritableImage IMAGE      = new WritableImage((int) WIDTH, (int) HEIGHT);
-        final PixelWriter PIXEL_WRITER = IMAGE.getPixelWriter();
-        final Random RND = new Random();
-
-        double redDark   = DARK_COLOR.getRed();
-        double greenDark = DARK_COLOR.getGreen();
-        double blueDark  = DARK_COLOR.getBlue();
-
-        double redBright   = DARK_COLOR.getRed();
-        double greenBright = DARK_COLOR.getGreen();
-        double blueBright  = DARK_COLOR.getBlue();
-
-        int startRed   = (int) (Math.min(redDark, redBright) * 255);
-        int startGreen = (int) (Math.min(greenDark, greenBright) * 255);
-        int startBlue  = (int) (Math.min(blueDark, blueBright) * 255);
-        int start = returnLargest(startRed, startGreen, startBlue);
-
-        int deltaRed   = Math.abs((int) ((BRIGHT_COLOR.getRed() - DARK_COLOR.getRed()) * 255));
-        int deltaGreen = Math.abs((int) ((BRIGHT_COLOR.getGreen() - DARK_COLOR.getGreen()) * 255));
-        int deltaBlue  = Math.abs((int) ((BRIGHT_COLOR.getBlue() - DARK_COLOR.getBlue()) * 255));
-        int delta = returnLargest(deltaRed, deltaGreen, deltaBlue);
-
-        int gray;
-        for (int y = 0; y < HEIGHT; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                gray = delta > 0 ? start + RND.nextInt(delta) : start;
-                PIXEL_WRITER.setColor(x, y, Color.rgb(clamp(0, 255, gray), clamp(0, 255, gray), clamp(0, 255, gray)));
-            }
-        }
-        return IMAGE;
+        return NoiseTexture.fill(NoiseTexture.getGrayTile(DARK_COLOR, BRIGHT_COLOR), WIDTH, HEIGHT);
     }
 
     public static String colorToCss(final Color COLOR) {
@@ -88,22 +55,107 @@ public class Util {
         return cssColor.toString();
     }
 
+    /**
+     * Returns the same color as derive(COLOR, BRIGHTNESS) in the css, so
+     * skins can create the paints of their css without parsing css.
+     * @param COLOR
+     * @param BRIGHTNESS -1 (black) to 1 (white), 0 returns the color
+     * @return the derived color
+     */
+    public static Color deriveColor(final Color COLOR, final double BRIGHTNESS) {
+        final double BASE_BRIGHTNESS = 0.3 * COLOR.getRed() + 0.59 * COLOR.getGreen() + 0.11 * COLOR.getBlue();
+        double       brightness      = BRIGHTNESS;
+        // Same contrast adjustments as in the css
+        if (brightness > 0) {
+            if (BASE_BRIGHTNESS > 0.85) {
+                brightness *= 1.6;
+            } else if (BASE_BRIGHTNESS > 0.6) {
+                // no change
+            } else if (BASE_BRIGHTNESS > 0.5) {
+                brightness *= 0.9;
+            } else if (BASE_BRIGHTNESS > 0.4) {
+                brightness *= 0.8;
+            } else if (BASE_BRIGHTNESS > 0.3) {
+                brightness *= 0.7;
+            } else {
+                brightness *= 0.6;
+            }
+        } else if (BASE_BRIGHTNESS < 0.2) {
+            brightness *= 0.6;
+        }
+        brightness = clamp(-1, 1, brightness);
+
+        double saturation = COLOR.getSaturation();
+        double value      = COLOR.getBrightness();
+        if (brightness > 0) {
+            saturation *= 1 - brightness;
+            value      += (1 - value) * brightness;
+        } else {
+            value      *= brightness + 1;
+        }
+        return Color.hsb((int) COLOR.getHue(), clamp(0, 1, saturation), clamp(0, 1, value), COLOR.getOpacity());
+    }
+
+    /**
+     * Returns a "nice" number (1, 2, 5 or 10 times a power of ten) that is
+     * close to the given range. If ROUND is false the nice number will be
+     * greater than or equal to the given range.
+     * @param RANGE
+     * @param ROUND
+     * @return a nice number close to the given range
+     */
+    public static double calcNiceNumber(final double RANGE, final boolean ROUND) {
+        if (RANGE <= 0 || Double.isNaN(RANGE) || Double.isInfinite(RANGE)) return 1;
+        final double EXPONENT = Math.floor(Math.log10(RANGE));
+        final double FRACTION = RANGE / Math.pow(10, EXPONENT);
+        final double NICE_FRACTION;
+        if (ROUND) {
+            if (FRACTION < 1.5) {
+                NICE_FRACTION = 1;
+            } else if (FRACTION < 3) {
+                NICE_FRACTION = 2;
+            } else if (FRACTION < 7) {
+                NICE_FRACTION = 5;
+            } else {
+                NICE_FRACTION = 10;
+            }
+        } else {
+            if (FRACTION <= 1) {
+                NICE_FRACTION = 1;
+            } else if (FRACTION <= 2) {
+                NICE_FRACTION = 2;
+            } else if (FRACTION <= 5) {
+                NICE_FRACTION = 5;
+            } else {
+                NICE_FRACTION = 10;
+            }
+        }
+        return NICE_FRACTION * Math.pow(10, EXPONENT);
+    }
+
+    /**
+     * Returns the given tick space if it leads to not more than
+     * MAX_NO_OF_TICKS ticks within the given range, otherwise the next
+     * nice number that does.
+     * @param RANGE
+     * @param TICK_SPACE
+     * @param MAX_NO_OF_TICKS
+     * @return a tick space that leads to not more than MAX_NO_OF_TICKS ticks
+     */
+    public static double getTickSpace(final double RANGE, final double TICK_SPACE, final int MAX_NO_OF_TICKS) {
+        if (TICK_SPACE > 0 && RANGE / TICK_SPACE <= MAX_NO_OF_TICKS) return TICK_SPACE;
+        return calcNiceNumber(RANGE / MAX_NO_OF_TICKS, false);
+    }
+
     private static int clamp(final int MIN, final int MAX, final int VALUE) {
         if (VALUE < MIN) return MIN;
         if (VALUE > MAX) return MAX;
         return VALUE;
     }
 
-    private static int returnLargest(final int A, final int B, final int C) {
-        if (A == B && A == C) {
-            return A;
-        } else if (A > B && A > C) {
-            return A;
-        } else if (B > A && B > C) {
-            return B;
-        } else if (C > A && C > B) {
-            return C;
-        }
-        return 0;
+    private static double clamp(final double MIN, final double MAX, final double VALUE) {
+        if (VALUE < MIN) return MIN;
+        if (VALUE > MAX) return MAX;
+        return VALUE;
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.common;
+
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import javafx.application.Platform;
+import javafx.scene.Node;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+
+
+/**
+ * Lock free "latest value wins" submission of values from any thread.
+ * Producers call submit() as often as they like, the values will be
+ * coalesced and handed to the consumer on the JavaFX application thread
+ * at most once per pulse. Depending on the aggregation the consumer gets
+ * the last, the smallest or the biggest value that was submitted since
+ * the last update, which means short spikes will not get lost even if
+ * thousands of values are submitted per second.
+ * Only the first value after an update costs a Platform.runLater(), all
+ * following values only update a few atomic longs.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 24.10.13
+ * Time: 10:41
+ */
+public final class ValueIngest {
+    public static enum Aggregation { LAST, MIN, MAX }
+    private static final long    NO_MIN = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    private static final long    NO_MAX = Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+    private final Node           NODE;
+    private final DoubleConsumer CONSUMER;
+    private final AtomicLong     LAST;
+    private final AtomicLong     MIN;
+    private final AtomicLong     MAX;
+    private final AtomicBoolean  PENDING;
+    private final Runnable       ARM;
+    private volatile Aggregation aggregation;
+    private Subscription         subscription;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * @param NODE     the node that owns the ingest, the values will only be
+     *                 published while the node is part of a scene
+     * @param CONSUMER will be called on the JavaFX application thread
+     */
+    public ValueIngest(final Node NODE, final DoubleConsumer CONSUMER) {
+        this.NODE     = NODE;
+        this.CONSUMER = CONSUMER;
+        LAST          = new AtomicLong(0);
+        MIN           = new AtomicLong(NO_MIN);
+        MAX           = new AtomicLong(NO_MAX);
+        PENDING       = new AtomicBoolean(false);
+        ARM           = () -> arm();
+        aggregation   = Aggregation.LAST;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Submits the given value, could be called from any thread
+     * @param VALUE
+     */
+    public void submit(final double VALUE) {
+        final long BITS = Double.doubleToRawLongBits(VALUE);
+        LAST.set(BITS);
+        long current;
+        do {
+            current = MIN.get();
+        } while (VALUE < Double.longBitsToDouble(current) && !MIN.compareAndSet(current, BITS));
+        do {
+            current = MAX.get();
+        } while (VALUE > Double.longBitsToDouble(current) && !MAX.compareAndSet(current, BITS));
+
+        if (PENDING.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                arm();
+            } else {
+                Platform.runLater(ARM);
+            }
+        }
+    }
+
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+    public void setAggregation(final Aggregation AGGREGATION) {
+        aggregation = null == AGGREGATION ? Aggregation.LAST : AGGREGATION;
+    }
+
+    /**
+     * Returns true if there are submitted values that have not been
+     * published yet
+     * @return true if there are unpublished values
+     */
+    public boolean isPending() {
+        return PENDING.get();
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void arm() {
+        if (null != subscription) return;
+        subscription = PulseScheduler.subscribe(NODE, 0, (NOW, TICK) -> publish());
+    }
+
+    /**
+     * Publishes the coalesced value to the consumer. The pending flag will
+     * be reset before the values are read, so a value that is submitted
+     * while publishing will always lead to another update.
+     * Stops listening to the pulse if nothing was submitted since the last
+     * update.
+     */
+    private void publish() {
+        if (!PENDING.getAndSet(false)) {
+            subscription.cancel();
+            subscription = null;
+            return;
+        }
+        final double LAST_VALUE = Double.longBitsToDouble(LAST.get());
+        final double MIN_VALUE  = Double.longBitsToDouble(MIN.getAndSet(NO_MIN));
+        final double MAX_VALUE  = Double.longBitsToDouble(MAX.getAndSet(NO_MAX));
+        switch(aggregation) {
+            case MIN: CONSUMER.accept(Double.isInfinite(MIN_VALUE) ? LAST_VALUE : MIN_VALUE); break;
+            case MAX: CONSUMER.accept(Double.isInfinite(MAX_VALUE) ? LAST_VALUE : MAX_VALUE); break;
+            case LAST:
+            default : CONSUMER.accept(LAST_VALUE); break;
+        }
+    }
+}
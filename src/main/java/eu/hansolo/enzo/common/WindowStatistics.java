@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.common;
+
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.Node;
+
+
+/**
+ * Minimum, maximum and average of the values of the last n milliseconds.
+ * The samples are kept in a ring buffer together with a running sum, the
+ * minimum and the maximum are the heads of two monotonic deques, so each
+ * sample costs O(1) amortized. The running sum will be recomputed from the
+ * samples every few evictions so that rounding errors can not build up.
+ * The buffers only grow if more samples fall into the window than ever
+ * before, otherwise nothing will be allocated.
+ * The newest sample is never evicted, which means if no values arrive the
+ * statistics will converge to the last value once the window has passed.
+ * Samples that are older than the window will be evicted on the pulse.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 24.10.13
+ * Time: 18:47
+ */
+public final class WindowStatistics {
+    private static final long    EVICTION_INTERVAL = 100_000_000l;
+    private static final int     RESYNC_INTERVAL   = 1024;
+    private final Node           NODE;
+    private final Ring           SAMPLES;
+    private final Ring           MIN_DEQUE;
+    private final Ring           MAX_DEQUE;
+    private final DoubleProperty MIN;
+    private final DoubleProperty MAX;
+    private final DoubleProperty AVERAGE;
+    private long                 window;
+    private double               sum;
+    private int                  evictions;
+    private Subscription         eviction;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * @param NODE the node that owns the statistics, will be used as bean
+     *             of the properties and to schedule the eviction
+     */
+    public WindowStatistics(final Node NODE) {
+        this.NODE = NODE;
+        SAMPLES   = new Ring();
+        MIN_DEQUE = new Ring();
+        MAX_DEQUE = new Ring();
+        MIN       = new SimpleDoubleProperty(NODE, "windowMinValue", 0);
+        MAX       = new SimpleDoubleProperty(NODE, "windowMaxValue", 0);
+        AVERAGE   = new SimpleDoubleProperty(NODE, "windowAverageValue", 0);
+        window    = 0;
+        sum       = 0;
+        evictions = 0;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Adds the given value, will be ignored if the window is 0
+     * @param VALUE
+     */
+    public void add(final double VALUE) {
+        if (window <= 0) return;
+        final long NOW = System.nanoTime();
+        SAMPLES.addLast(NOW, VALUE);
+        sum += VALUE;
+        while (!MIN_DEQUE.isEmpty() && MIN_DEQUE.getLastValue() >= VALUE) MIN_DEQUE.removeLast();
+        MIN_DEQUE.addLast(NOW, VALUE);
+        while (!MAX_DEQUE.isEmpty() && MAX_DEQUE.getLastValue() <= VALUE) MAX_DEQUE.removeLast();
+        MAX_DEQUE.addLast(NOW, VALUE);
+        evict(NOW);
+        publish();
+        if (null == eviction && SAMPLES.size > 1) {
+            eviction = PulseScheduler.subscribe(NODE, EVICTION_INTERVAL, (PULSE, TICK) -> evictOnPulse(PULSE));
+        }
+    }
+
+    /**
+     * Removes all samples, the properties keep their values
+     */
+    public void clear() {
+        SAMPLES.clear();
+        MIN_DEQUE.clear();
+        MAX_DEQUE.clear();
+        sum       = 0;
+        evictions = 0;
+        stopEviction();
+    }
+
+    /**
+     * @return the length of the window in milliseconds, 0 means disabled
+     */
+    public double getWindow() {
+        return window / 1_000_000d;
+    }
+    public void setWindow(final double WINDOW) {
+        window = WINDOW <= 0 ? 0 : (long) (WINDOW * 1_000_000d);
+        if (0 == window) {
+            clear();
+        } else if (!SAMPLES.isEmpty()) {
+            evict(System.nanoTime());
+            publish();
+        }
+    }
+
+    public double getMin() {
+        return MIN.get();
+    }
+    public ReadOnlyDoubleProperty minProperty() {
+        return MIN;
+    }
+
+    public double getMax() {
+        return MAX.get();
+    }
+    public ReadOnlyDoubleProperty maxProperty() {
+        return MAX;
+    }
+
+    public double getAverage() {
+        return AVERAGE.get();
+    }
+    public ReadOnlyDoubleProperty averageProperty() {
+        return AVERAGE;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void evict(final long NOW) {
+        final long CUTOFF = NOW - window;
+        while (SAMPLES.size > 1 && SAMPLES.getFirstTime() < CUTOFF) {
+            sum -= SAMPLES.getFirstValue();
+            SAMPLES.removeFirst();
+            evictions++;
+        }
+        while (MIN_DEQUE.size > 1 && MIN_DEQUE.getFirstTime() < CUTOFF) MIN_DEQUE.removeFirst();
+        while (MAX_DEQUE.size > 1 && MAX_DEQUE.getFirstTime() < CUTOFF) MAX_DEQUE.removeFirst();
+        // Avoid accumulating rounding errors of the running sum by recomputing it from
+        // the samples, at most once per window size of evictions so it stays O(1) amortized
+        if (1 == SAMPLES.size || evictions >= Math.max(RESYNC_INTERVAL, SAMPLES.size)) {
+            sum       = SAMPLES.sum();
+            evictions = 0;
+        }
+    }
+
+    private void evictOnPulse(final long NOW) {
+        evict(NOW);
+        publish();
+        if (SAMPLES.size <= 1) stopEviction();
+    }
+
+    private void publish() {
+        if (SAMPLES.isEmpty()) return;
+        MIN.set(MIN_DEQUE.getFirstValue());
+        MAX.set(MAX_DEQUE.getFirstValue());
+        AVERAGE.set(sum / SAMPLES.size);
+    }
+
+    private void stopEviction() {
+        if (null == eviction) return;
+        eviction.cancel();
+        eviction = null;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Ring {
+        private long[]   times;
+        private double[] values;
+        private int      head;
+        private int      size;
+
+        private Ring() {
+            times  = new long[64];
+            values = new double[64];
+        }
+
+        private boolean isEmpty() {
+            return 0 == size;
+        }
+
+        private long getFirstTime() {
+            return times[head];
+        }
+
+        private double getFirstValue() {
+            return values[head];
+        }
+
+        private double getLastValue() {
+            return values[(head + size - 1) % values.length];
+        }
+
+        private double sum() {
+            double sum = 0;
+            for (int i = 0 ; i < size ; i++) sum += values[(head + i) % values.length];
+            return sum;
+        }
+
+        private void addLast(final long TIME, final double VALUE) {
+            if (size == values.length) grow();
+            final int INDEX = (head + size) % values.length;
+            times[INDEX]  = TIME;
+            values[INDEX] = VALUE;
+            size++;
+        }
+
+        private void removeFirst() {
+            head = (head + 1) % values.length;
+            size--;
+        }
+
+        private void removeLast() {
+            size--;
+        }
+
+        private void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private void grow() {
+            final long[]   NEW_TIMES  = new long[times.length * 2];
+            final double[] NEW_VALUES = new double[values.length * 2];
+            for (int i = 0 ; i < size ; i++) {
+                NEW_TIMES[i]  = times[(head + i) % times.length];
+                NEW_VALUES[i] = values[(head + i) % values.length];
+            }
+            times  = NEW_TIMES;
+            values = NEW_VALUES;
+            head   = 0;
+        }
+    }
+}
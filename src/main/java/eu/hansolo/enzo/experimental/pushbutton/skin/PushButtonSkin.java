@@ -16,46 +16,56 @@
 
 package eu.hansolo.enzo.experimental.pushbutton.skin;
 
+import eu.hansolo.enzo.common.PaintCache;
 import eu.hansolo.enzo.experimental.pushbutton.PushButton;
 import javafx.collections.ListChangeListener;
+import javafx.geometry.Insets;
 import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.InnerShadow;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 
 
 public class PushButtonSkin extends SkinBase<PushButton> implements Skin<PushButton> {
-    private static final double MINIMUM_WIDTH    = 5;
-    private static final double MINIMUM_HEIGHT   = 5;
-    private static final double MAXIMUM_WIDTH    = 1024;
-    private static final double MAXIMUM_HEIGHT   = 1024;
-    private static final double PREFERRED_WIDTH  = 128;
-    private static final double PREFERRED_HEIGHT = 128;
-    private double              aspectRatio;
-    private double              size;
-    private double              width;
-    private double              height;
-    private Pane                pane;
-
-    private Region              frame;
-    private InnerShadow         frameInnerShadow0;
-    private InnerShadow         frameInnerShadow1;
-
-    private Region              deselected;
-    private InnerShadow         deselectedInnerShadow0;
-    private InnerShadow         deselectedInnerShadow1;
-    private DropShadow          deselectedDropShadow;
-
-    private Region              selected;
-    private InnerShadow         selectedInnerShadow0;
-    private InnerShadow         selectedInnerShadow1;
-    private DropShadow          selectedDropShadow;
-
-    private Region              icon;
+    private static final double                 MINIMUM_WIDTH       = 5;
+    private static final double                 MINIMUM_HEIGHT      = 5;
+    private static final double                 MAXIMUM_WIDTH       = 1024;
+    private static final double                 MAXIMUM_HEIGHT      = 1024;
+    private static final double                 PREFERRED_WIDTH     = 128;
+    private static final double                 PREFERRED_HEIGHT    = 128;
+    // same colors as the icon and icon-selected style classes in the css
+    private static final Background             ICON_OFF_BACKGROUND = new Background(new BackgroundFill(Color.rgb(66, 66, 81), CornerRadii.EMPTY, Insets.EMPTY));
+    private static final PaintCache<Background> ICON_ON_BACKGROUNDS = new PaintCache<>(16, COLOR -> new Background(new BackgroundFill(COLOR, CornerRadii.EMPTY, Insets.EMPTY)));
+    private double                              aspectRatio;
+    private double                              size;
+    private double                              width;
+    private double                              height;
+    private Pane                                pane;
+
+    private Region                              frame;
+    private InnerShadow                         frameInnerShadow0;
+    private InnerShadow                         frameInnerShadow1;
+
+    private Region                              deselected;
+    private InnerShadow                         deselectedInnerShadow0;
+    private InnerShadow                         deselectedInnerShadow1;
+    private DropShadow                          deselectedDropShadow;
+
+    private Region                              selected;
+    private InnerShadow                         selectedInnerShadow0;
+    private InnerShadow                         selectedInnerShadow1;
+    private DropShadow                          selectedDropShadow;
+
+    private Region                              icon;
+    private InnerShadow                         iconInnerShadow;
+    private DropShadow                          iconGlow;
 
 
     // ******************** Constructors **************************************
@@ -164,7 +174,18 @@ public class PushButtonSkin extends SkinBase<PushButton> implements Skin<PushBut
 
         icon = new Region();
         icon.getStyleClass().setAll("icon");
-        icon.setStyle("-icon-on: " + colorToCss(getSkinnable().getColor()));
+
+        iconInnerShadow = new InnerShadow();
+        iconInnerShadow.setOffsetY(-1);
+        iconInnerShadow.setRadius(0);
+        iconInnerShadow.setColor(Color.WHITE);
+        iconInnerShadow.setBlurType(BlurType.TWO_PASS_BOX);
+
+        iconGlow = new DropShadow();
+        iconGlow.setRadius(5);
+        iconGlow.setColor(getSkinnable().getColor());
+        iconGlow.setBlurType(BlurType.TWO_PASS_BOX);
+
         pane.getChildren().setAll(frame,
                                   deselected,
                                   selected,
@@ -199,8 +220,8 @@ public class PushButtonSkin extends SkinBase<PushButton> implements Skin<PushBut
         } else if ("STATUS".equals(PROPERTY)) {
             updateStatus();
         } else if ("COLOR".equals(PROPERTY)) {
-            icon.setStyle("-icon-on-color: " + colorToCss(getSkinnable().getColor()));
-            resize();
+            iconGlow.setColor(getSkinnable().getColor());
+            updateStatus();
         }
     }
 
@@ -233,28 +254,25 @@ public class PushButtonSkin extends SkinBase<PushButton> implements Skin<PushBut
         return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
     }
 
-    private String colorToCss(final Color COLOR) {
-        StringBuilder cssColor = new StringBuilder();
-        cssColor.append("rgba(")
-                .append((int) (COLOR.getRed() * 255)).append(", ")
-                .append((int) (COLOR.getGreen() * 255)).append(", ")
-                .append((int) (COLOR.getBlue() * 255)).append(", ")
-                .append(COLOR.getOpacity()).append(")");
-        return cssColor.toString();
-    }
-
+    /**
+     * Sets the background and the effect of the icon directly instead of
+     * switching style classes and using an inline -icon-on style, so
+     * changing the status or the color does not cause a css pass
+     */
     private void updateStatus() {
         switch (getSkinnable().getStatus()) {
             case DESELECTED:
                 selected.setOpacity(0);
                 deselected.setOpacity(1);
-                icon.getStyleClass().setAll("icon");
+                icon.setBackground(ICON_OFF_BACKGROUND);
+                icon.setEffect(iconInnerShadow);
                 icon.setOpacity(1);
                 break;
             case SELECTED:
                 selected.setOpacity(1);
                 deselected.setOpacity(0);
-                icon.getStyleClass().setAll("icon", "icon-selected");
+                icon.setBackground(ICON_ON_BACKGROUNDS.get(getSkinnable().getColor()));
+                icon.setEffect(iconGlow);
                 icon.setOpacity(1);
                 break;
             case EMPTY:
@@ -16,9 +16,12 @@
 
 package eu.hansolo.enzo.experimental.tbutton.skin;
 
+import eu.hansolo.enzo.common.PaintCache;
+import eu.hansolo.enzo.common.Util;
 import eu.hansolo.enzo.experimental.tbutton.TButton;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
+import javafx.geometry.Insets;
 import javafx.geometry.VPos;
 import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
@@ -27,9 +30,15 @@ import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.InnerShadow;
 import javafx.scene.input.InputEvent;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
@@ -37,35 +46,36 @@ import javafx.scene.text.Text;
 
 
 public class TButtonSkin extends SkinBase<TButton> implements Skin<TButton> {
-    private static final double      MINIMUM_SIZE   = 25;
-    private static final double      MAXIMUM_SIZE   = 1024;
-    private static final double      PREFERRED_SIZE = 144;
-    private double                   size;
-    private double                   width;
-    private double                   height;
-    private EventHandler<InputEvent> inputHandler;
-    private Pane                     pane;
-
-    private Region                   frame;
-    private Region                   off;
-    private InnerShadow              offInnerShadow;
-    private InnerShadow              offInnerShadow1;
-    private DropShadow               offDropShadow;
-    private Region                   ledOff;
-    private InnerShadow              ledOffInnerShadow;
-    private InnerShadow              ledOffInnerShadow1;
-    private Region                   on;
-    private InnerShadow              onInnerShadow;
-    private InnerShadow              onInnerShadow1;
-    private DropShadow               onDropShadow;
-    private Region                   ledOn;
-    private InnerShadow              ledOnInnerShadow;
-    private InnerShadow              ledOnInnerShadow1;
-    private DropShadow               ledOnGlow;
-    private Text                     text;
-    private Font                     font;
-    private InnerShadow              textInnerShadow;
-    private InnerShadow              textInnerShadow1;
+    private static final double                 MINIMUM_SIZE       = 25;
+    private static final double                 MAXIMUM_SIZE       = 1024;
+    private static final double                 PREFERRED_SIZE     = 144;
+    private static final PaintCache<Background> LED_ON_BACKGROUNDS = new PaintCache<>(16, TButtonSkin::createLedOnBackground);
+    private double                              size;
+    private double                              width;
+    private double                              height;
+    private EventHandler<InputEvent>            inputHandler;
+    private Pane                                pane;
+
+    private Region                              frame;
+    private Region                              off;
+    private InnerShadow                         offInnerShadow;
+    private InnerShadow                         offInnerShadow1;
+    private DropShadow                          offDropShadow;
+    private Region                              ledOff;
+    private InnerShadow                         ledOffInnerShadow;
+    private InnerShadow                         ledOffInnerShadow1;
+    private Region                              on;
+    private InnerShadow                         onInnerShadow;
+    private InnerShadow                         onInnerShadow1;
+    private DropShadow                          onDropShadow;
+    private Region                              ledOn;
+    private InnerShadow                         ledOnInnerShadow;
+    private InnerShadow                         ledOnInnerShadow1;
+    private DropShadow                          ledOnGlow;
+    private Text                                text;
+    private Font                                font;
+    private InnerShadow                         textInnerShadow;
+    private InnerShadow                         textInnerShadow1;
 
 
     // ******************** Constructors **************************************
@@ -193,6 +203,7 @@ public class TButtonSkin extends SkinBase<TButton> implements Skin<TButton> {
         ledOn.getStyleClass().setAll("on-led");
         ledOn.setMouseTransparent(true);
         ledOn.setVisible(getSkinnable().isSelected());
+        ledOn.setBackground(LED_ON_BACKGROUNDS.get(getSkinnable().getLedColor()));
 
         ledOnInnerShadow = new InnerShadow();
         ledOnInnerShadow.setOffsetX(1.4142135623730951);
@@ -279,7 +290,7 @@ public class TButtonSkin extends SkinBase<TButton> implements Skin<TButton> {
         } else if ("TEXT".equals(PROPERTY)) {
             text.setText(getSkinnable().getText());
         } else if ("LED_COLOR".equals(PROPERTY)) {
-            getSkinnable().setStyle("-led-color: " + colorToCss(getSkinnable().getLedColor()) + ";");
+            ledOn.setBackground(LED_ON_BACKGROUNDS.get(getSkinnable().getLedColor()));
             ledOnGlow.setColor(getSkinnable().getLedColor());
             ledOnInnerShadow.setColor(getSkinnable().getLedColor().darker().darker().darker());
             ledOnInnerShadow1.setColor(getSkinnable().getLedColor().darker());
@@ -315,6 +326,15 @@ public class TButtonSkin extends SkinBase<TButton> implements Skin<TButton> {
         return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
     }
 
+    private static Background createLedOnBackground(final Color COLOR) {
+        // same gradient as the on-led css class
+        return new Background(new BackgroundFill(new RadialGradient(0, 0, 0.5, 0.5, 0.5, true, CycleMethod.NO_CYCLE,
+                                                                    new Stop(0.0, COLOR),
+                                                                    new Stop(0.73, Util.deriveColor(COLOR, -0.1)),
+                                                                    new Stop(1.0, Util.deriveColor(COLOR, -0.7))),
+                                                 CornerRadii.EMPTY, Insets.EMPTY));
+    }
+
     public static String colorToCss(final Color COLOR) {
         StringBuilder cssColor = new StringBuilder();
         cssColor.append("rgba(")
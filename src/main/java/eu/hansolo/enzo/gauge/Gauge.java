@@ -17,10 +17,15 @@
 package eu.hansolo.enzo.gauge;
 
 import com.sun.javafx.css.converters.PaintConverter;
+import eu.hansolo.enzo.common.Util;
+import eu.hansolo.enzo.common.ValueIngest;
+import eu.hansolo.enzo.common.WindowStatistics;
 import eu.hansolo.enzo.gauge.skin.GaugeSkin;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.DoublePropertyBase;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
@@ -32,6 +37,8 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.css.CssMetaData;
@@ -72,6 +79,11 @@ public class Gauge extends Control {
             this.STYLE_CLASS = STYLE_CLASS;
         }
     }
+    public static enum NeedleBehavior {
+        STANDARD,
+        SPRING,
+        VELOCITY_LIMITED
+    }
     public static enum TickLabelOrientation {
         ORTHOGONAL,
         HORIZONTAL,
@@ -98,6 +110,8 @@ public class Gauge extends Control {
     }
 
     public static final String       STYLE_CLASS_NEEDLE_STANDARD = NeedleType.STANDARD.STYLE_CLASS;
+    public static final int          MAX_NO_OF_MAJOR_TICKS       = 25;
+    public static final int          MAX_NO_OF_MINOR_TICKS       = 10;
 
     // Default section colors
     private static final Color       DEFAULT_SECTION_0_FILL      = Color.rgb(0, 0, 178, 0.5);
@@ -160,6 +174,8 @@ public class Gauge extends Control {
     private BooleanProperty                      clockwise;
     private Gauge.NeedleType                     _needleType;
     private ObjectProperty<NeedleType>           needleType;
+    private Gauge.NeedleBehavior                 _needleBehavior;
+    private ObjectProperty<NeedleBehavior>       needleBehavior;
     private Color                                _needleColor;
     private ObjectProperty<Color>                needleColor;
     private Gauge.TickLabelOrientation           _tickLabelOrientation;
@@ -169,6 +185,8 @@ public class Gauge extends Control {
     private ObservableList<Section>              sections;
     private boolean                              _sectionsVisible;
     private BooleanProperty                      sectionsVisible;
+    private boolean                              _valueColoredBySection;
+    private BooleanProperty                      valueColoredBySection;
     private ObservableMap<Marker, Rotate>        markers;
     private boolean                              _markersVisible;
     private BooleanProperty                      markersVisible;
@@ -180,8 +198,23 @@ public class Gauge extends Control {
     private BooleanProperty                      plainValue;
     private boolean                              _histogramEnabled;
     private BooleanProperty                      histogramEnabled;
+    private double                               _histogramDecay;
+    private DoubleProperty                       histogramDecay;
+    private double[]                             histogramBins;
+    private double                               histogramMinValue;
+    private double                               histogramBinWidth;
+    private double                               histogramWeight;
+    private double                               histogramMaximum;
+    private long                                 histogramVersion;
+    private int                                  lastHistogramBin;
     private boolean                              _dropShadowEnabled;
     private BooleanProperty                      dropShadowEnabled;
+    private ValueIngest                          valueIngest;
+    private double                               _statisticsWindow;
+    private DoubleProperty                       statisticsWindow;
+    private WindowStatistics                     windowStatistics;
+    private MarkerIndex                          markerIndex;
+    private SectionIndex                         sectionIndex;
 
     // CSS styleable properties
     private ObjectProperty<Paint>                tickMarkFill;
@@ -225,11 +258,13 @@ public class Gauge extends Control {
         _angleRange              = 280;
         _clockwise               = true;
         _needleType              = NeedleType.STANDARD;
+        _needleBehavior          = NeedleBehavior.STANDARD;
         _needleColor             = Color.RED;
         _tickLabelOrientation    = TickLabelOrientation.HORIZONTAL;
         _numberFormat            = NumberFormat.STANDARD;
         sections                 = FXCollections.observableArrayList();
         _sectionsVisible         = true;
+        _valueColoredBySection   = false;
         markers                  = FXCollections.observableHashMap();
         _markersVisible          = true;
         _majorTickSpace          = 10;
@@ -237,7 +272,42 @@ public class Gauge extends Control {
         animationDuration        = 800;
         _plainValue              = true;
         _histogramEnabled        = false;
+        _histogramDecay          = 0;
+        histogramBins            = new double[0];
+        histogramWeight          = 1;
+        histogramMaximum         = 0;
+        lastHistogramBin         = -1;
         _dropShadowEnabled       = true;
+        valueIngest              = new ValueIngest(this, VALUE -> setValue(VALUE));
+        _statisticsWindow        = 0;
+        windowStatistics         = new WindowStatistics(this);
+        markerIndex              = new MarkerIndex(this);
+        sectionIndex             = new SectionIndex(this);
+        registerListeners();
+    }
+
+    private void registerListeners() {
+        final InvalidationListener MARKER_VALUE_LISTENER = observable -> markerIndex.invalidate();
+        markers.addListener((MapChangeListener<Marker, Rotate>) change -> {
+            if (change.wasRemoved()) change.getKey().startProperty().removeListener(MARKER_VALUE_LISTENER);
+            if (change.wasAdded()) change.getKey().startProperty().addListener(MARKER_VALUE_LISTENER);
+            markerIndex.invalidate();
+        });
+
+        final InvalidationListener SECTION_RANGE_LISTENER = observable -> sectionIndex.invalidate();
+        sections.addListener((ListChangeListener<Section>) change -> {
+            while (change.next()) {
+                for (Section section : change.getRemoved()) {
+                    section.startProperty().removeListener(SECTION_RANGE_LISTENER);
+                    section.stopProperty().removeListener(SECTION_RANGE_LISTENER);
+                }
+                for (Section section : change.getAddedSubList()) {
+                    section.startProperty().addListener(SECTION_RANGE_LISTENER);
+                    section.stopProperty().addListener(SECTION_RANGE_LISTENER);
+                }
+            }
+            sectionIndex.sectionsChanged();
+        });
     }
 
 
@@ -247,6 +317,8 @@ public class Gauge extends Control {
     }
     public final void setValue(final double VALUE) {
         if (isInteractive()) return;
+        if (isHistogramEnabled()) addToHistogram(clamp(getMinValue(), getMaxValue(), VALUE));
+        windowStatistics.add(clamp(getMinValue(), getMaxValue(), VALUE));
         if (null == value) {
             _oldValue = _value;
             _value = clamp(_minValue, _maxValue, VALUE);
@@ -262,6 +334,28 @@ public class Gauge extends Control {
         return value;
     }
 
+    /**
+     * Submits a new value, could be called from any thread. The values
+     * will be coalesced and set on the JavaFX application thread at most
+     * once per pulse.
+     * @param VALUE
+     */
+    public final void submitValue(final double VALUE) {
+        valueIngest.submit(VALUE);
+    }
+
+    /**
+     * Defines which of the submitted values will be set if more than one
+     * value was submitted within one pulse
+     * @return the aggregation of submitted values
+     */
+    public final ValueIngest.Aggregation getValueAggregation() {
+        return valueIngest.getAggregation();
+    }
+    public final void setValueAggregation(final ValueIngest.Aggregation AGGREGATION) {
+        valueIngest.setAggregation(AGGREGATION);
+    }
+
     public final double getOldValue() {
         return _oldValue;
     }
@@ -364,6 +458,56 @@ public class Gauge extends Control {
         setMaxMeasuredValue(_value);
     }
 
+    /**
+     * The length of the window in milliseconds for the min, max and
+     * average window values, 0 disables the window statistics. If a window
+     * is set the skin shows the minimum and maximum of the window instead
+     * of the all time min- and maxMeasuredValue.
+     * @return the length of the statistics window in milliseconds
+     */
+    public final double getStatisticsWindow() {
+        return null == statisticsWindow ? _statisticsWindow : statisticsWindow.get();
+    }
+    public final void setStatisticsWindow(final double STATISTICS_WINDOW) {
+        if (null == statisticsWindow) {
+            _statisticsWindow = Math.max(0, STATISTICS_WINDOW);
+            windowStatistics.setWindow(_statisticsWindow);
+        } else {
+            statisticsWindow.set(Math.max(0, STATISTICS_WINDOW));
+        }
+    }
+    public final DoubleProperty statisticsWindowProperty() {
+        if (null == statisticsWindow) {
+            statisticsWindow = new DoublePropertyBase(_statisticsWindow) {
+                @Override protected void invalidated() { windowStatistics.setWindow(get()); }
+                @Override public Object getBean() { return this; }
+                @Override public String getName() { return "statisticsWindow"; }
+            };
+        }
+        return statisticsWindow;
+    }
+
+    public final double getWindowMinValue() {
+        return windowStatistics.getMin();
+    }
+    public final ReadOnlyDoubleProperty windowMinValueProperty() {
+        return windowStatistics.minProperty();
+    }
+
+    public final double getWindowMaxValue() {
+        return windowStatistics.getMax();
+    }
+    public final ReadOnlyDoubleProperty windowMaxValueProperty() {
+        return windowStatistics.maxProperty();
+    }
+
+    public final double getWindowAverageValue() {
+        return windowStatistics.getAverage();
+    }
+    public final ReadOnlyDoubleProperty windowAverageValueProperty() {
+        return windowStatistics.averageProperty();
+    }
+
     public final int getDecimals() {
         return null == decimals ? _decimals : decimals.get();
     }
@@ -509,6 +653,34 @@ public class Gauge extends Control {
         return needleType;
     }
 
+    /**
+     * Defines how the needle follows the value if the gauge is animated.
+     * STANDARD plays a spline animation of the animation duration on each
+     * value change. SPRING moves the needle like a critically damped spring
+     * that settles within about the animation duration and VELOCITY_LIMITED
+     * moves it with a constant speed of one full range per animation
+     * duration. Both keep their momentum when a new value arrives while the
+     * needle is still moving which makes them a better fit for values that
+     * change faster than the animation duration.
+     * @return the behavior of the needle
+     */
+    public final Gauge.NeedleBehavior getNeedleBehavior() {
+        return null == needleBehavior ? _needleBehavior : needleBehavior.get();
+    }
+    public final void setNeedleBehavior(final Gauge.NeedleBehavior NEEDLE_BEHAVIOR) {
+        if (null == needleBehavior) {
+            _needleBehavior = NEEDLE_BEHAVIOR;
+        } else {
+            needleBehavior.set(NEEDLE_BEHAVIOR);
+        }
+    }
+    public final ObjectProperty<NeedleBehavior> needleBehaviorProperty() {
+        if (null == needleBehavior) {
+            needleBehavior = new SimpleObjectProperty<>(this, "needleBehavior", _needleBehavior);
+        }
+        return needleBehavior;
+    }
+
     public final Color getNeedleColor() {
         return null == needleColor ? _needleColor : needleColor.get();
     }
@@ -576,6 +748,59 @@ public class Gauge extends Control {
         if (sections.contains(SECTION)) sections.remove(SECTION);
     }
 
+    /**
+     * Returns the fill of the section with the given index. Sections
+     * without an own fill use the section fills of the gauge, sections
+     * beyond the tenth will reuse them from the beginning.
+     * @param INDEX
+     * @return the fill of the section with the given index
+     */
+    public final Paint getSectionFill(final int INDEX) {
+        final Paint FILL = INDEX < sections.size() ? sections.get(INDEX).getFill() : null;
+        if (null != FILL) return FILL;
+        switch(INDEX % 10) {
+            case 0 : return getSection0Fill();
+            case 1 : return getSection1Fill();
+            case 2 : return getSection2Fill();
+            case 3 : return getSection3Fill();
+            case 4 : return getSection4Fill();
+            case 5 : return getSection5Fill();
+            case 6 : return getSection6Fill();
+            case 7 : return getSection7Fill();
+            case 8 : return getSection8Fill();
+            case 9 :
+            default: return getSection9Fill();
+        }
+    }
+    public final Paint getSectionFill(final Section SECTION) {
+        final int INDEX = SECTION == sectionIndex.getCurrentSection() ? sectionIndex.getCurrentIndex() : sections.indexOf(SECTION);
+        return INDEX < 0 ? null : getSectionFill(INDEX);
+    }
+
+    /**
+     * Looks up the section that contains the given value and fires the
+     * leaving and entering events of the sections if the value moved into
+     * another section since the last check. The lookup is a binary search,
+     * it does not depend on the number of sections.
+     * @param VALUE
+     * @return the section that contains the given value or null
+     */
+    public final Section checkSections(final double VALUE) {
+        return sectionIndex.check(VALUE);
+    }
+    public final Section getCurrentSection() {
+        return sectionIndex.getCurrentSection();
+    }
+    /**
+     * Returns the fill of the section that contained the value at the last
+     * check without searching the sections
+     * @return the fill of the current section or null if there is none
+     */
+    public final Paint getCurrentSectionFill() {
+        final int INDEX = sectionIndex.getCurrentIndex();
+        return null == sectionIndex.getCurrentSection() || INDEX < 0 ? null : getSectionFill(INDEX);
+    }
+
     public final ObservableMap<Marker, Rotate> getMarkers() {
         return markers;
     }
@@ -604,6 +829,17 @@ public class Gauge extends Control {
         if (markers.keySet().contains(MARKER)) markers.remove(MARKER);
     }
 
+    /**
+     * Updates the exceeded state of the markers that have been crossed by
+     * moving from the last checked value to the given value. Only the
+     * markers between these two values will be visited, all crossed
+     * markers will be reported in one MARKERS_CROSSED event.
+     * @param VALUE
+     */
+    public final void checkMarkers(final double VALUE) {
+        markerIndex.check(VALUE);
+    }
+
     public final double getMajorTickSpace() {
         return null == majorTickSpace ? _majorTickSpace : majorTickSpace.get();
     }
@@ -638,6 +874,33 @@ public class Gauge extends Control {
         return minorTickSpace;
     }
 
+    /**
+     * Returns the space between the major tickmarks that will be drawn.
+     * This is the majorTickSpace as long as it does not lead to more than
+     * MAX_NO_OF_MAJOR_TICKS tickmarks, otherwise a nice number that fits.
+     * @return the space between the visible major tickmarks
+     */
+    public final double getVisibleMajorTickSpace() {
+        return Util.getTickSpace(getMaxValue() - getMinValue(), getMajorTickSpace(), MAX_NO_OF_MAJOR_TICKS);
+    }
+
+    /**
+     * Returns the space between the minor tickmarks that will be drawn.
+     * This is the minorTickSpace as long as it divides the visible major
+     * tick space into not more than MAX_NO_OF_MINOR_TICKS parts, otherwise
+     * a nice number that fits.
+     * @return the space between the visible minor tickmarks
+     */
+    public final double getVisibleMinorTickSpace() {
+        final double MAJOR_TICK_SPACE = getVisibleMajorTickSpace();
+        final double MINOR_TICK_SPACE = getMinorTickSpace();
+        if (MINOR_TICK_SPACE > 0 && MINOR_TICK_SPACE <= MAJOR_TICK_SPACE) {
+            final double MINOR_TICKS = MAJOR_TICK_SPACE / MINOR_TICK_SPACE;
+            if (MINOR_TICKS <= MAX_NO_OF_MINOR_TICKS && Math.abs(MINOR_TICKS - Math.round(MINOR_TICKS)) < 1e-9) return MINOR_TICK_SPACE;
+        }
+        return Util.getTickSpace(MAJOR_TICK_SPACE, 0, MAX_NO_OF_MINOR_TICKS);
+    }
+
     /**
      * @return true if the value of the gauge will be drawn without a blend effect
      */
@@ -680,6 +943,94 @@ public class Gauge extends Control {
         return histogramEnabled;
     }
 
+    /**
+     * Returns the factor that will be used to decay the histogram with
+     * each new value. 0 means no decay, the histogram contains the
+     * distribution of all values since the last reset.
+     * @return the decay factor of the histogram in the range 0 - 1
+     */
+    public final double getHistogramDecay() {
+        return null == histogramDecay ? _histogramDecay : histogramDecay.get();
+    }
+    public final void setHistogramDecay(final double HISTOGRAM_DECAY) {
+        if (null == histogramDecay) {
+            _histogramDecay = clamp(0d, 0.99d, HISTOGRAM_DECAY);
+        } else {
+            histogramDecay.set(clamp(0d, 0.99d, HISTOGRAM_DECAY));
+        }
+    }
+    public final DoubleProperty histogramDecayProperty() {
+        if (null == histogramDecay) {
+            histogramDecay = new SimpleDoubleProperty(this, "histogramDecay", _histogramDecay);
+        }
+        return histogramDecay;
+    }
+
+    /**
+     * Returns the number of bins of the histogram. The bins cover the
+     * range from minValue to maxValue, each bin is as wide as the space
+     * between the visible minor tickmarks.
+     * @return the number of bins of the histogram
+     */
+    public final int getNoOfHistogramBins() {
+        return histogramBins.length;
+    }
+
+    /**
+     * Returns the lower bound of the given histogram bin
+     * @param BIN
+     * @return the value where the given bin starts
+     */
+    public final double getHistogramBinStart(final int BIN) {
+        return histogramMinValue + BIN * histogramBinWidth;
+    }
+
+    /**
+     * Returns the width of one histogram bin
+     * @return the width of one histogram bin
+     */
+    public final double getHistogramBinWidth() {
+        return histogramBinWidth;
+    }
+
+    /**
+     * Returns the level of the given histogram bin relative to the
+     * highest bin in the range 0 - 1
+     * @param BIN
+     * @return the level of the given bin relative to the highest bin
+     */
+    public final double getHistogramLevel(final int BIN) {
+        if (BIN < 0 || BIN >= histogramBins.length || histogramMaximum <= 0) return 0;
+        return histogramBins[BIN] / histogramMaximum;
+    }
+
+    /**
+     * Returns the number of changes of the histogram, a skin that knows
+     * the version of its last update can tell if it missed a change
+     * @return the number of changes of the histogram
+     */
+    public final long getHistogramVersion() {
+        return histogramVersion;
+    }
+
+    /**
+     * Returns the only bin whose level has been changed by the last change
+     * of the histogram, or -1 if the last change affected the levels of all
+     * bins (e.g. a new maximum or a reset)
+     * @return the bin of the last change or -1 if all bins have changed
+     */
+    public final int getLastHistogramBin() {
+        return lastHistogramBin;
+    }
+
+    public void resetHistogram() {
+        Arrays.fill(histogramBins, 0);
+        histogramWeight  = 1;
+        histogramMaximum = 0;
+        lastHistogramBin = -1;
+        histogramVersion++;
+    }
+
     public final boolean isDropShadowEnabled() {
         return null == dropShadowEnabled ? _dropShadowEnabled : dropShadowEnabled.get();
     }
@@ -714,6 +1065,23 @@ public class Gauge extends Control {
         return sectionsVisible;
     }
 
+    public final boolean isValueColoredBySection() {
+        return null == valueColoredBySection ? _valueColoredBySection : valueColoredBySection.get();
+    }
+    public final void setValueColoredBySection(final boolean VALUE_COLORED_BY_SECTION) {
+        if (null == valueColoredBySection) {
+            _valueColoredBySection = VALUE_COLORED_BY_SECTION;
+        } else {
+            valueColoredBySection.set(VALUE_COLORED_BY_SECTION);
+        }
+    }
+    public final BooleanProperty valueColoredBySectionProperty() {
+        if (null == valueColoredBySection) {
+            valueColoredBySection = new SimpleBooleanProperty(this, "valueColoredBySection", _valueColoredBySection);
+        }
+        return valueColoredBySection;
+    }
+
     public final boolean isMarkersVisible() {
         return null == markersVisible ? _markersVisible : markersVisible.get();
     }
@@ -798,6 +1166,47 @@ public class Gauge extends Control {
         return VALUE;
     }
 
+    /**
+     * Adds the given value to the histogram. The bins will only be
+     * re-created if minValue, maxValue or the tick spacing have changed.
+     * The decay is applied lazily: instead of decaying all bins with every
+     * value, the global weight of new values grows by 1 / (1 - decay), which
+     * is the same as decaying all older values. Only one bin will be touched
+     * per value, the bins will be renormalized when the weight gets close to
+     * the range of double (e.g. every 100 values at a decay of 0.99), which
+     * does not change the levels of the bins.
+     * @param VALUE
+     */
+    private void addToHistogram(final double VALUE) {
+        final double MIN_VALUE  = getMinValue();
+        final double BIN_WIDTH  = getVisibleMinorTickSpace();
+        final int    NO_OF_BINS = Math.max(1, (int) Math.ceil((getMaxValue() - MIN_VALUE) / BIN_WIDTH));
+        if (NO_OF_BINS != histogramBins.length || Double.compare(MIN_VALUE, histogramMinValue) != 0 || Double.compare(BIN_WIDTH, histogramBinWidth) != 0) {
+            histogramBins     = new double[NO_OF_BINS];
+            histogramMinValue = MIN_VALUE;
+            histogramBinWidth = BIN_WIDTH;
+            resetHistogram();
+        }
+        final int BIN = clamp(0, NO_OF_BINS - 1, (int) ((VALUE - MIN_VALUE) / BIN_WIDTH));
+        if (getHistogramDecay() > 0) {
+            histogramWeight /= (1 - getHistogramDecay());
+            if (histogramWeight > 1e200) {
+                for (int i = 0 ; i < NO_OF_BINS ; i++) histogramBins[i] /= histogramWeight;
+                histogramMaximum /= histogramWeight;
+                histogramWeight   = 1;
+            }
+        }
+        histogramBins[BIN] += histogramWeight;
+        // the levels are relative to the maximum, so a new maximum changes the levels of all bins
+        if (histogramBins[BIN] > histogramMaximum) {
+            histogramMaximum = histogramBins[BIN];
+            lastHistogramBin = -1;
+        } else {
+            lastHistogramBin = BIN;
+        }
+        histogramVersion++;
+    }
+
     private void validate() {
         if (getThreshold() < getMinValue()) setThreshold(getMinValue());
         if (getThreshold() > getMaxValue()) setThreshold(getMaxValue());
@@ -1479,6 +1888,14 @@ public class Gauge extends Control {
         @Override public String getName() { return "onThresholdUnderrun";}
     };
 
+    public final ObjectProperty<EventHandler<GaugeEvent>> onMarkersCrossedProperty() { return onMarkersCrossed; }
+    public final void setOnMarkersCrossed(EventHandler<GaugeEvent> value) { onMarkersCrossedProperty().set(value); }
+    public final EventHandler<GaugeEvent> getOnMarkersCrossed() { return onMarkersCrossedProperty().get(); }
+    private ObjectProperty<EventHandler<GaugeEvent>> onMarkersCrossed = new ObjectPropertyBase<EventHandler<GaugeEvent>>() {
+        @Override public Object getBean() { return this; }
+        @Override public String getName() { return "onMarkersCrossed";}
+    };
+
     public void fireGaugeEvent(final GaugeEvent EVENT) {
         final EventHandler<GaugeEvent> HANDLER;
         final EventType TYPE = EVENT.getEventType();
@@ -1486,6 +1903,8 @@ public class Gauge extends Control {
             HANDLER = getOnThresholdExceeded();
         } else if (GaugeEvent.THRESHOLD_UNDERRUN == TYPE) {
             HANDLER = getOnThresholdUnderrun();
+        } else if (GaugeEvent.MARKERS_CROSSED == TYPE) {
+            HANDLER = getOnMarkersCrossed();
         } else {
             HANDLER = null;
         }
@@ -102,6 +102,11 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return this;
     }
 
+    public final GaugeBuilder statisticsWindow(final double STATISTICS_WINDOW) {
+        properties.put("statisticsWindow", new SimpleDoubleProperty(STATISTICS_WINDOW));
+        return this;
+    }
+
     public final GaugeBuilder minMeasuredValueVisible(final boolean MIN_MEASURED_VALUE_VISIBLE) {
         properties.put("minMeasuredValueVisible", new SimpleBooleanProperty(MIN_MEASURED_VALUE_VISIBLE));
         return this;
@@ -132,6 +137,16 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return this;
     }
 
+    public final GaugeBuilder valueColoredBySection(final boolean VALUE_COLORED_BY_SECTION) {
+        properties.put("valueColoredBySection", new SimpleBooleanProperty(VALUE_COLORED_BY_SECTION));
+        return this;
+    }
+
+    public final GaugeBuilder needleBehavior(final Gauge.NeedleBehavior NEEDLE_BEHAVIOR) {
+        properties.put("needleBehavior", new SimpleObjectProperty<>(NEEDLE_BEHAVIOR));
+        return this;
+    }
+
     public final GaugeBuilder tickLabelOrientation(final Gauge.TickLabelOrientation TICK_LABEL_ORIENTATION) {
         properties.put("tickLabelOrientation", new SimpleObjectProperty<>(TICK_LABEL_ORIENTATION));
         return this;
@@ -162,6 +177,11 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
         return this;
     }
 
+    public final GaugeBuilder histogramDecay(final double HISTOGRAM_DECAY) {
+        properties.put("histogramDecay", new SimpleDoubleProperty(HISTOGRAM_DECAY));
+        return this;
+    }
+
     public final GaugeBuilder dropShadowEnabled(final boolean DROP_SHADOW_ENABLED) {
         properties.put("dropShadowEnabled", new SimpleBooleanProperty(DROP_SHADOW_ENABLED));
         return this;
@@ -374,6 +394,8 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setAnimated(((BooleanProperty) properties.get(key)).get());
             } else if("animationDuration".equals(key)) {
                 CONTROL.setAnimationDuration(((DoubleProperty) properties.get(key)).get());
+            } else if("statisticsWindow".equals(key)) {
+                CONTROL.setStatisticsWindow(((DoubleProperty) properties.get(key)).get());
             } else if("minMeasuredValueVisible".equals(key)) {
                 CONTROL.setMinMeasuredValueVisible(((BooleanProperty) properties.get(key)).get());
             } else if("maxMeasuredValueVisible".equals(key)) {
@@ -386,6 +408,10 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setAngleRange(((DoubleProperty) properties.get(key)).get());
             } else if("needleColor".equals(key)) {
                 CONTROL.setNeedleColor(((ObjectProperty<Color>) properties.get(key)).get());
+            } else if("valueColoredBySection".equals(key)) {
+                CONTROL.setValueColoredBySection(((BooleanProperty) properties.get(key)).get());
+            } else if("needleBehavior".equals(key)) {
+                CONTROL.setNeedleBehavior(((ObjectProperty<Gauge.NeedleBehavior>) properties.get(key)).get());
             } else if("tickLabelOrientation".equals(key)) {
                 CONTROL.setTickLabelOrientation(((ObjectProperty<Gauge.TickLabelOrientation>) properties.get(key)).get());
             } else if("numberFormat".equals(key)) {
@@ -398,6 +424,8 @@ public class GaugeBuilder<B extends GaugeBuilder<B>> {
                 CONTROL.setPlainValue(((BooleanProperty) properties.get(key)).get());
             } else if("histogramEnabled".equals(key)) {
                 CONTROL.setHistogramEnabled(((BooleanProperty) properties.get(key)).get());
+            } else if("histogramDecay".equals(key)) {
+                CONTROL.setHistogramDecay(((DoubleProperty) properties.get(key)).get());
             } else if("dropShadowEnabled".equals(key)) {
                 CONTROL.setDropShadowEnabled(((BooleanProperty) properties.get(key)).get());
             } else if("tickLabelFill".equals(key)) {
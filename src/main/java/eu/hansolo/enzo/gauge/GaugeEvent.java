@@ -20,6 +20,9 @@ import javafx.event.Event;
 import javafx.event.EventTarget;
 import javafx.event.EventType;
 
+import java.util.Collections;
+import java.util.List;
+
 
 /**
  * Created by
@@ -30,10 +33,34 @@ import javafx.event.EventType;
 public class GaugeEvent extends Event {
     public static final EventType<GaugeEvent> THRESHOLD_EXCEEDED = new EventType(ANY, "thresholdExceeded");
     public static final EventType<GaugeEvent> THRESHOLD_UNDERRUN = new EventType(ANY, "thresholdUnderrun");
+    public static final EventType<GaugeEvent> MARKERS_CROSSED    = new EventType(ANY, "markersCrossed");
+    private final List<Marker>                EXCEEDED_MARKERS;
+    private final List<Marker>                UNDERRUN_MARKERS;
 
 
     // ******************** Constructors **************************************
     public GaugeEvent(final Object SOURCE, final EventTarget TARGET, EventType<GaugeEvent> TYPE) {
+        this(SOURCE, TARGET, TYPE, Collections.emptyList(), Collections.emptyList());
+    }
+    public GaugeEvent(final Object SOURCE, final EventTarget TARGET, EventType<GaugeEvent> TYPE, final List<Marker> EXCEEDED_MARKERS, final List<Marker> UNDERRUN_MARKERS) {
         super(SOURCE, TARGET, TYPE);
+        this.EXCEEDED_MARKERS = EXCEEDED_MARKERS;
+        this.UNDERRUN_MARKERS = UNDERRUN_MARKERS;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * @return the markers that have been exceeded, sorted by their value
+     */
+    public final List<Marker> getExceededMarkers() {
+        return EXCEEDED_MARKERS;
+    }
+
+    /**
+     * @return the markers that have been underrun, sorted by their value
+     */
+    public final List<Marker> getUnderrunMarkers() {
+        return UNDERRUN_MARKERS;
     }
 }
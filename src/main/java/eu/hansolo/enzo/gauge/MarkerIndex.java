@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.gauge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * The markers of a Gauge sorted by their value. If the value of the gauge
+ * moves from one value to another only the markers between these two
+ * values could have been crossed, they will be found by binary search.
+ * All markers that have been crossed by one move will be reported in one
+ * GaugeEvent and all per marker handlers share one MarkerEvent per type.
+ * The index will be sorted again on the next check after markers have
+ * been added, removed or changed their value.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 24.10.13
+ * Time: 15:02
+ */
+final class MarkerIndex {
+    private final Gauge        GAUGE;
+    private final List<Marker> EXCEEDED;
+    private final List<Marker> UNDERRUN;
+    private Marker[]           markers;
+    private double[]           values;
+    private int                noOfMarkers;
+    private boolean            dirty;
+    private double             lastValue;
+
+
+    // ******************** Constructors **************************************
+    MarkerIndex(final Gauge GAUGE) {
+        this.GAUGE  = GAUGE;
+        EXCEEDED    = new ArrayList<>();
+        UNDERRUN    = new ArrayList<>();
+        markers     = new Marker[0];
+        values      = new double[0];
+        noOfMarkers = 0;
+        dirty       = true;
+    }
+
+
+    // ******************** Methods *******************************************
+    void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Updates the exceeded state of all markers that have been crossed by
+     * moving from the last checked value to the given value and fires
+     * the events for them.
+     * @param VALUE
+     */
+    void check(final double VALUE) {
+        final int FROM;
+        final int TO;
+        if (dirty) {
+            sort();
+            FROM = 0;
+            TO   = noOfMarkers;
+        } else {
+            FROM = lowerBound(Math.min(lastValue, VALUE));
+            TO   = upperBound(Math.max(lastValue, VALUE));
+        }
+        lastValue = VALUE;
+
+        for (int i = FROM ; i < TO ; i++) {
+            final Marker MARKER = markers[i];
+            if (MARKER.isExceeded()) {
+                if (VALUE < values[i]) {
+                    MARKER.setExceeded(false);
+                    UNDERRUN.add(MARKER);
+                }
+            } else {
+                if (VALUE > values[i]) {
+                    MARKER.setExceeded(true);
+                    EXCEEDED.add(MARKER);
+                }
+            }
+        }
+        if (EXCEEDED.isEmpty() && UNDERRUN.isEmpty()) return;
+
+        fireEvents();
+        EXCEEDED.clear();
+        UNDERRUN.clear();
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void sort() {
+        noOfMarkers = GAUGE.getMarkers().size();
+        if (markers.length < noOfMarkers) {
+            markers = new Marker[noOfMarkers];
+            values  = new double[noOfMarkers];
+        }
+        GAUGE.getMarkers().keySet().toArray(markers);
+        Arrays.fill(markers, noOfMarkers, markers.length, null);
+        Arrays.sort(markers, 0, noOfMarkers, (a, b) -> Double.compare(a.getValue(), b.getValue()));
+        for (int i = 0 ; i < noOfMarkers ; i++) values[i] = markers[i].getValue();
+        dirty = false;
+    }
+
+    /**
+     * @param VALUE
+     * @return the index of the first marker with a value >= VALUE
+     */
+    private int lowerBound(final double VALUE) {
+        int low  = 0;
+        int high = noOfMarkers;
+        while (low < high) {
+            final int MID = (low + high) >>> 1;
+            if (values[MID] < VALUE) {
+                low = MID + 1;
+            } else {
+                high = MID;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param VALUE
+     * @return the index of the first marker with a value > VALUE
+     */
+    private int upperBound(final double VALUE) {
+        int low  = 0;
+        int high = noOfMarkers;
+        while (low < high) {
+            final int MID = (low + high) >>> 1;
+            if (values[MID] <= VALUE) {
+                low = MID + 1;
+            } else {
+                high = MID;
+            }
+        }
+        return low;
+    }
+
+    private void fireEvents() {
+        Marker.MarkerEvent exceededEvent = null;
+        for (Marker marker : EXCEEDED) {
+            if (null == marker.getOnMarkerExceeded()) continue;
+            if (null == exceededEvent) exceededEvent = new Marker.MarkerEvent(GAUGE, null, Marker.MarkerEvent.MARKER_EXCEEDED);
+            marker.fireMarkerEvent(exceededEvent);
+        }
+        Marker.MarkerEvent underrunEvent = null;
+        for (Marker marker : UNDERRUN) {
+            if (null == marker.getOnMarkerUnderrun()) continue;
+            if (null == underrunEvent) underrunEvent = new Marker.MarkerEvent(GAUGE, null, Marker.MarkerEvent.MARKER_UNDERRUN);
+            marker.fireMarkerEvent(underrunEvent);
+        }
+        if (null == GAUGE.getOnMarkersCrossed()) return;
+        GAUGE.fireGaugeEvent(new GaugeEvent(GAUGE, null, GaugeEvent.MARKERS_CROSSED,
+                                            Collections.unmodifiableList(new ArrayList<>(EXCEEDED)),
+                                            Collections.unmodifiableList(new ArrayList<>(UNDERRUN))));
+    }
+}
@@ -20,12 +20,14 @@ import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.event.EventTarget;
 import javafx.event.EventType;
+import javafx.scene.paint.Paint;
 
 
 /**
@@ -33,12 +35,14 @@ import javafx.event.EventType;
  * @author hansolo
  */
 public class Section {
-    private double         _start;
-    private DoubleProperty start;
-    private double         _stop;
-    private DoubleProperty stop;
-    private String         _text;
-    private StringProperty text;
+    private double                _start;
+    private DoubleProperty        start;
+    private double                _stop;
+    private DoubleProperty        stop;
+    private String                _text;
+    private StringProperty        text;
+    private Paint                 _fill;
+    private ObjectProperty<Paint> fill;
 
 
     // ******************** Constructors **************************************
@@ -49,9 +53,13 @@ public class Section {
         this(START, STOP, "");
     }
     public Section(final double START, final double STOP, final String TEXT) {
+        this(START, STOP, TEXT, null);
+    }
+    public Section(final double START, final double STOP, final String TEXT, final Paint FILL) {
         _start = START;
         _stop  = STOP;
         _text  = TEXT;
+        _fill  = FILL;
     }
 
 
@@ -107,8 +115,30 @@ public class Section {
         return text;
     }
 
+    /**
+     * The fill of the section, if it is null the section will be filled
+     * with one of the section fills of the gauge
+     * @return the fill of the section or null
+     */
+    public final Paint getFill() {
+        return null == fill ? _fill : fill.get();
+    }
+    public final void setFill(final Paint FILL) {
+        if (null == fill) {
+            _fill = FILL;
+        } else {
+            fill.set(FILL);
+        }
+    }
+    public final ObjectProperty<Paint> fillProperty() {
+        if (null == fill) {
+            fill = new SimpleObjectProperty<>(this, "fill", _fill);
+        }
+        return fill;
+    }
+
     public boolean contains(final double VALUE) {
-        return ((Double.compare(VALUE, start.get()) >= 0 && Double.compare(VALUE, stop.get()) <= 0));
+        return ((Double.compare(VALUE, getStart()) >= 0 && Double.compare(VALUE, getStop()) <= 0));
     }
 
 
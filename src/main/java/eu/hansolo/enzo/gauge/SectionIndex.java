@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.gauge;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Interval lookup of the sections of a Gauge. The starts and stops of all
+ * sections split the range into elementary intervals and each of these
+ * intervals knows the section that is visible there, which is the last
+ * section in the list that covers it (same as the drawing order). Finding
+ * the section of a value is a binary search over the interval bounds.
+ * Each interval also stores the index of its section in the list so that
+ * the fill of the current section is available without a search.
+ * The intervals will be rebuilt on the next lookup after sections have
+ * been added, removed or changed their start or stop.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 24.10.13
+ * Time: 17:34
+ */
+final class SectionIndex {
+    private final Gauge GAUGE;
+    private double[]    bounds;
+    private Section[]   owners;
+    private int[]       ownerIndices;
+    private int         noOfBounds;
+    private boolean     dirty;
+    private Section     currentSection;
+    private int         currentIndex;
+
+
+    // ******************** Constructors **************************************
+    SectionIndex(final Gauge GAUGE) {
+        this.GAUGE   = GAUGE;
+        bounds       = new double[0];
+        owners       = new Section[0];
+        ownerIndices = new int[0];
+        noOfBounds   = 0;
+        dirty        = true;
+        currentIndex = -1;
+    }
+
+
+    // ******************** Methods *******************************************
+    void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Has to be called after sections have been added or removed. Forgets
+     * the current section if it was removed and updates its index if it
+     * moved within the list.
+     */
+    void sectionsChanged() {
+        dirty = true;
+        if (null == currentSection) return;
+        currentIndex = GAUGE.getSections().indexOf(currentSection);
+        if (currentIndex < 0) currentSection = null;
+    }
+
+    /**
+     * Returns the section that is visible at the given value or null
+     * @param VALUE
+     * @return the section at the given value or null
+     */
+    Section getSection(final double VALUE) {
+        final int INTERVAL = getInterval(VALUE);
+        return INTERVAL < 0 ? null : owners[INTERVAL];
+    }
+
+    /**
+     * Looks up the section of the given value and fires the leaving and
+     * entering events on the sections if the value moved into another
+     * section since the last check
+     * @param VALUE
+     * @return the section at the given value or null
+     */
+    Section check(final double VALUE) {
+        final int     INTERVAL = getInterval(VALUE);
+        final Section SECTION  = INTERVAL < 0 ? null : owners[INTERVAL];
+        currentIndex = null == SECTION ? -1 : ownerIndices[INTERVAL];
+        if (SECTION == currentSection) return SECTION;
+
+        final Section LAST_SECTION = currentSection;
+        currentSection = SECTION;
+        if (null != LAST_SECTION) LAST_SECTION.fireSectionEvent(new Section.SectionEvent(GAUGE, null, Section.SectionEvent.LEAVING_SECTION));
+        if (null != SECTION) SECTION.fireSectionEvent(new Section.SectionEvent(GAUGE, null, Section.SectionEvent.ENTERING_SECTION));
+        return SECTION;
+    }
+
+    Section getCurrentSection() {
+        return currentSection;
+    }
+
+    /**
+     * Returns the index of the current section in the sections of the gauge
+     * @return the index of the current section or -1 if there is none
+     */
+    int getCurrentIndex() {
+        return currentIndex;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    /**
+     * Returns the index of the interval that contains the given value and
+     * is covered by a section or -1
+     * @param VALUE
+     * @return the index of the interval or -1
+     */
+    private int getInterval(final double VALUE) {
+        if (dirty) build();
+        if (noOfBounds < 2 || VALUE < bounds[0] || VALUE > bounds[noOfBounds - 1]) return -1;
+        int low  = 0;
+        int high = noOfBounds;
+        while (low < high) {
+            final int MID = (low + high) >>> 1;
+            if (bounds[MID] <= VALUE) {
+                low = MID + 1;
+            } else {
+                high = MID;
+            }
+        }
+        final int INTERVAL = Math.min(low - 1, noOfBounds - 2);
+        return null == owners[INTERVAL] ? -1 : INTERVAL;
+    }
+
+    private void build() {
+        final List<Section> SECTIONS = GAUGE.getSections();
+        final int           SIZE     = SECTIONS.size();
+        if (bounds.length < 2 * SIZE) {
+            bounds       = new double[2 * SIZE];
+            owners       = new Section[2 * SIZE];
+            ownerIndices = new int[2 * SIZE];
+        }
+        for (int i = 0 ; i < SIZE ; i++) {
+            final Section SECTION = SECTIONS.get(i);
+            bounds[2 * i]     = Math.min(SECTION.getStart(), SECTION.getStop());
+            bounds[2 * i + 1] = Math.max(SECTION.getStart(), SECTION.getStop());
+        }
+        Arrays.sort(bounds, 0, 2 * SIZE);
+
+        noOfBounds = 0;
+        for (int i = 0 ; i < 2 * SIZE ; i++) {
+            if (0 == noOfBounds || bounds[i] > bounds[noOfBounds - 1]) bounds[noOfBounds++] = bounds[i];
+        }
+        Arrays.fill(owners, null);
+        for (int i = 0 ; i < noOfBounds - 1 ; i++) {
+            final double MID = (bounds[i] + bounds[i + 1]) * 0.5;
+            for (int j = SIZE - 1 ; j >= 0 ; j--) {
+                final Section SECTION = SECTIONS.get(j);
+                if (MID >= Math.min(SECTION.getStart(), SECTION.getStop()) && MID <= Math.max(SECTION.getStart(), SECTION.getStop())) {
+                    owners[i]       = SECTION;
+                    ownerIndices[i] = j;
+                    break;
+                }
+            }
+        }
+        dirty = false;
+    }
+}
@@ -0,0 +1,766 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.gauge.skin;
+
+import eu.hansolo.enzo.common.NumberFormatter;
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import eu.hansolo.enzo.gauge.Gauge;
+import eu.hansolo.enzo.gauge.GaugeEvent;
+import eu.hansolo.enzo.gauge.Marker;
+import eu.hansolo.enzo.gauge.Section;
+import javafx.animation.Interpolator;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Skin;
+import javafx.scene.control.SkinBase;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Rotate;
+
+
+/**
+ * Alternative skin for the Gauge that draws everything into three
+ * stacked canvases instead of using CSS styled Regions with effects.
+ * The background layer only changes on resize, the layer with the
+ * sections, tickmarks and the title only changes if the range, the
+ * sections or the tickmarks change and the dynamic layer contains the
+ * needle, knob, value, unit, threshold, min/max indicators and markers.
+ * Property changes only mark the affected layers as dirty, the dirty
+ * layers will be redrawn once on the next pulse. Changing the value will
+ * only redraw the dynamic layer.
+ * The interactive mode of the GaugeSkin is not supported by this skin.
+ *
+ * Usage: gauge.setSkin(new CanvasGaugeSkin(gauge));
+ *
+ * Created by
+ * User: hansolo
+ * Date: 24.10.13
+ * Time: 08:12
+ */
+public class CanvasGaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
+    private static final double               PREFERRED_WIDTH     = 200;
+    private static final double               PREFERRED_HEIGHT    = 200;
+    private static final double               MINIMUM_WIDTH       = 50;
+    private static final double               MINIMUM_HEIGHT      = 50;
+    private static final double               MAXIMUM_WIDTH       = 1024;
+    private static final double               MAXIMUM_HEIGHT      = 1024;
+    private static final Interpolator         NEEDLE_INTERPOLATOR = Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0);
+    private static final Color                THRESHOLD_FILL      = Color.RED;
+    private static final Color                MIN_MAX_FILL        = Color.CORNFLOWERBLUE;
+    private static final Color                SHADOW_FILL         = Color.rgb(0, 0, 0, 0.25);
+    private static final Color                HIGHLIGHT_FILL      = Color.rgb(255, 255, 255, 0.2);
+    private static final double[]             NEEDLE_X            = { 3.0313, 0, 7.9688, 4.9375 };
+    private static final double[]             NEEDLE_Y            = { 0, 74, 74, 0 };
+    private static final double               NEEDLE_WIDTH        = 7.9688;
+    private static final double               NEEDLE_HEIGHT       = 74;
+    private double                            size;
+    private double                            center;
+    private double                            angleStep;
+    private Pane                              pane;
+    private Canvas                            backgroundCanvas;
+    private GraphicsContext                   background;
+    private Canvas                            ticksAndSectionsCanvas;
+    private GraphicsContext                   ticksAndSections;
+    private Canvas                            dynamicCanvas;
+    private GraphicsContext                   dynamic;
+    private boolean                           backgroundDirty;
+    private boolean                           ticksAndSectionsDirty;
+    private boolean                           dynamicDirty;
+    private Subscription                      redraw;
+    private double                            needleValue;
+    private double                            animationStartValue;
+    private double                            animationTargetValue;
+    private long                              animationStart;
+    private boolean                           animating;
+    private NeedleFollower                    needleFollower;
+    private boolean                           thresholdExceeded;
+    private InvalidationListener              resizeListener;
+    private InvalidationListener              valueListener;
+    private InvalidationListener              recalcListener;
+    private InvalidationListener              canvasRefreshListener;
+    private InvalidationListener              sectionFillListener;
+    private InvalidationListener              histogramListener;
+    private InvalidationListener              needleColorListener;
+    private InvalidationListener              animatedListener;
+    private InvalidationListener              redrawListener;
+    private ListChangeListener<Section>       sectionsListener;
+    private MapChangeListener<Marker, Rotate> markersListener;
+    private double[]                          needleX;
+    private double[]                          needleY;
+    private double[]                          needleHighlightX;
+    private double[]                          needleHighlightY;
+    private double[]                          thresholdX;
+    private double[]                          thresholdY;
+    private double[]                          histogramX;
+    private double[]                          histogramY;
+    private LinearGradient                    needleFill;
+    private Color                             needleStroke;
+    private LinearGradient                    knobFill;
+    private LinearGradient                    knobInnerFill;
+    private Text                              titleText;
+    private Text                              unitText;
+    private Text                              valueText;
+    private Font                              titleFont;
+    private Font                              unitFont;
+    private Font                              valueFont;
+    private TickMarks                         tickMarks;
+    private NumberFormatter                   formatter;
+
+
+    // ******************** Constructors **************************************
+    public CanvasGaugeSkin(final Gauge CONTROL) {
+        super(CONTROL);
+        angleStep            = CONTROL.getAngleRange() / (CONTROL.getMaxValue() - CONTROL.getMinValue());
+        needleValue          = CONTROL.getValue();
+        animationTargetValue = needleValue;
+        animating            = false;
+        needleFollower       = new NeedleFollower();
+        thresholdExceeded    = false;
+        needleX              = new double[4];
+        needleY              = new double[4];
+        needleHighlightX     = new double[4];
+        needleHighlightY     = new double[4];
+        thresholdX           = new double[3];
+        thresholdY           = new double[3];
+        histogramX           = new double[4];
+        histogramY           = new double[4];
+        tickMarks            = new TickMarks();
+        formatter            = new NumberFormatter();
+        resizeListener        = observable -> handleControlPropertyChanged("RESIZE");
+        valueListener         = observable -> handleControlPropertyChanged("VALUE");
+        recalcListener        = observable -> handleControlPropertyChanged("RECALC");
+        canvasRefreshListener = observable -> handleControlPropertyChanged("CANVAS_REFRESH");
+        sectionFillListener   = observable -> handleControlPropertyChanged("SECTIONS");
+        histogramListener     = observable -> handleControlPropertyChanged("HISTOGRAM");
+        needleColorListener   = observable -> handleControlPropertyChanged("NEEDLE_COLOR");
+        animatedListener      = observable -> handleControlPropertyChanged("ANIMATED");
+        redrawListener        = observable -> handleControlPropertyChanged("REDRAW");
+        sectionsListener      = change -> {
+            while (change.next()) {
+                for (Section section : change.getRemoved()) section.fillProperty().removeListener(sectionFillListener);
+                for (Section section : change.getAddedSubList()) section.fillProperty().addListener(sectionFillListener);
+            }
+            handleControlPropertyChanged("SECTIONS");
+        };
+        markersListener       = change -> handleControlPropertyChanged("REDRAW");
+        init();
+        initGraphics();
+        registerListeners();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void init() {
+        if (Double.compare(getSkinnable().getPrefWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getPrefHeight(), 0.0) <= 0 ||
+            Double.compare(getSkinnable().getWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getHeight(), 0.0) <= 0) {
+            if (getSkinnable().getPrefWidth() > 0 && getSkinnable().getPrefHeight() > 0) {
+                getSkinnable().setPrefSize(getSkinnable().getPrefWidth(), getSkinnable().getPrefHeight());
+            } else {
+                getSkinnable().setPrefSize(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+            }
+        }
+
+        if (Double.compare(getSkinnable().getMinWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMinHeight(), 0.0) <= 0) {
+            getSkinnable().setMinSize(MINIMUM_WIDTH, MINIMUM_HEIGHT);
+        }
+
+        if (Double.compare(getSkinnable().getMaxWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMaxHeight(), 0.0) <= 0) {
+            getSkinnable().setMaxSize(MAXIMUM_WIDTH, MAXIMUM_HEIGHT);
+        }
+    }
+
+    private void initGraphics() {
+        backgroundCanvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+        background       = backgroundCanvas.getGraphicsContext2D();
+
+        ticksAndSectionsCanvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+        ticksAndSections       = ticksAndSectionsCanvas.getGraphicsContext2D();
+
+        dynamicCanvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+        dynamic       = dynamicCanvas.getGraphicsContext2D();
+
+        // The texts will not be shown, they only pick up the fills of the gauge css theme
+        titleText = createStyledText("title");
+        unitText  = createStyledText("unit");
+        valueText = createStyledText("value");
+
+        pane = new Pane();
+        pane.getChildren().setAll(backgroundCanvas, ticksAndSectionsCanvas, dynamicCanvas, titleText, unitText, valueText);
+
+        getChildren().setAll(pane);
+        resize();
+    }
+
+    private Text createStyledText(final String STYLE_CLASS) {
+        final Text TEXT = new Text();
+        TEXT.getStyleClass().setAll(STYLE_CLASS);
+        TEXT.setVisible(false);
+        TEXT.setManaged(false);
+        return TEXT;
+    }
+
+    private void registerListeners() {
+        getSkinnable().widthProperty().addListener(resizeListener);
+        getSkinnable().heightProperty().addListener(resizeListener);
+        getSkinnable().valueProperty().addListener(valueListener);
+        getSkinnable().minValueProperty().addListener(recalcListener);
+        getSkinnable().maxValueProperty().addListener(recalcListener);
+        getSkinnable().angleRangeProperty().addListener(recalcListener);
+        getSkinnable().startAngleProperty().addListener(recalcListener);
+        getSkinnable().majorTickSpaceProperty().addListener(canvasRefreshListener);
+        getSkinnable().minorTickSpaceProperty().addListener(canvasRefreshListener);
+        getSkinnable().tickLabelOrientationProperty().addListener(canvasRefreshListener);
+        getSkinnable().tickMarkFillProperty().addListener(canvasRefreshListener);
+        getSkinnable().tickLabelFillProperty().addListener(canvasRefreshListener);
+        getSkinnable().histogramEnabledProperty().addListener(histogramListener);
+        getSkinnable().histogramFillProperty().addListener(redrawListener);
+        getSkinnable().titleProperty().addListener(canvasRefreshListener);
+        for (Section section : getSkinnable().getSections()) section.fillProperty().addListener(sectionFillListener);
+        getSkinnable().getSections().addListener(sectionsListener);
+        getSkinnable().sectionsVisibleProperty().addListener(canvasRefreshListener);
+        getSkinnable().valueColoredBySectionProperty().addListener(redrawListener);
+        getSkinnable().needleTypeProperty().addListener(redrawListener);
+        getSkinnable().needleColorProperty().addListener(needleColorListener);
+        getSkinnable().animatedProperty().addListener(animatedListener);
+        getSkinnable().unitProperty().addListener(redrawListener);
+        getSkinnable().thresholdProperty().addListener(redrawListener);
+        getSkinnable().thresholdVisibleProperty().addListener(redrawListener);
+        getSkinnable().minMeasuredValueProperty().addListener(redrawListener);
+        getSkinnable().minMeasuredValueVisibleProperty().addListener(redrawListener);
+        getSkinnable().maxMeasuredValueProperty().addListener(redrawListener);
+        getSkinnable().maxMeasuredValueVisibleProperty().addListener(redrawListener);
+        getSkinnable().windowMinValueProperty().addListener(redrawListener);
+        getSkinnable().windowMaxValueProperty().addListener(redrawListener);
+        getSkinnable().statisticsWindowProperty().addListener(redrawListener);
+        getSkinnable().markersVisibleProperty().addListener(redrawListener);
+        getSkinnable().marker0FillProperty().addListener(redrawListener);
+        getSkinnable().marker1FillProperty().addListener(redrawListener);
+        getSkinnable().marker2FillProperty().addListener(redrawListener);
+        getSkinnable().marker3FillProperty().addListener(redrawListener);
+        getSkinnable().marker4FillProperty().addListener(redrawListener);
+        getSkinnable().dropShadowEnabledProperty().addListener(redrawListener);
+        getSkinnable().getMarkers().addListener(markersListener);
+        titleText.fillProperty().addListener(canvasRefreshListener);
+        unitText.fillProperty().addListener(redrawListener);
+        valueText.fillProperty().addListener(redrawListener);
+    }
+
+    private void unregisterListeners() {
+        getSkinnable().widthProperty().removeListener(resizeListener);
+        getSkinnable().heightProperty().removeListener(resizeListener);
+        getSkinnable().valueProperty().removeListener(valueListener);
+        getSkinnable().minValueProperty().removeListener(recalcListener);
+        getSkinnable().maxValueProperty().removeListener(recalcListener);
+        getSkinnable().angleRangeProperty().removeListener(recalcListener);
+        getSkinnable().startAngleProperty().removeListener(recalcListener);
+        getSkinnable().majorTickSpaceProperty().removeListener(canvasRefreshListener);
+        getSkinnable().minorTickSpaceProperty().removeListener(canvasRefreshListener);
+        getSkinnable().tickLabelOrientationProperty().removeListener(canvasRefreshListener);
+        getSkinnable().tickMarkFillProperty().removeListener(canvasRefreshListener);
+        getSkinnable().tickLabelFillProperty().removeListener(canvasRefreshListener);
+        getSkinnable().histogramEnabledProperty().removeListener(histogramListener);
+        getSkinnable().histogramFillProperty().removeListener(redrawListener);
+        getSkinnable().titleProperty().removeListener(canvasRefreshListener);
+        for (Section section : getSkinnable().getSections()) section.fillProperty().removeListener(sectionFillListener);
+        getSkinnable().getSections().removeListener(sectionsListener);
+        getSkinnable().sectionsVisibleProperty().removeListener(canvasRefreshListener);
+        getSkinnable().valueColoredBySectionProperty().removeListener(redrawListener);
+        getSkinnable().needleTypeProperty().removeListener(redrawListener);
+        getSkinnable().needleColorProperty().removeListener(needleColorListener);
+        getSkinnable().animatedProperty().removeListener(animatedListener);
+        getSkinnable().unitProperty().removeListener(redrawListener);
+        getSkinnable().thresholdProperty().removeListener(redrawListener);
+        getSkinnable().thresholdVisibleProperty().removeListener(redrawListener);
+        getSkinnable().minMeasuredValueProperty().removeListener(redrawListener);
+        getSkinnable().minMeasuredValueVisibleProperty().removeListener(redrawListener);
+        getSkinnable().maxMeasuredValueProperty().removeListener(redrawListener);
+        getSkinnable().maxMeasuredValueVisibleProperty().removeListener(redrawListener);
+        getSkinnable().windowMinValueProperty().removeListener(redrawListener);
+        getSkinnable().windowMaxValueProperty().removeListener(redrawListener);
+        getSkinnable().statisticsWindowProperty().removeListener(redrawListener);
+        getSkinnable().markersVisibleProperty().removeListener(redrawListener);
+        getSkinnable().marker0FillProperty().removeListener(redrawListener);
+        getSkinnable().marker1FillProperty().removeListener(redrawListener);
+        getSkinnable().marker2FillProperty().removeListener(redrawListener);
+        getSkinnable().marker3FillProperty().removeListener(redrawListener);
+        getSkinnable().marker4FillProperty().removeListener(redrawListener);
+        getSkinnable().dropShadowEnabledProperty().removeListener(redrawListener);
+        getSkinnable().getMarkers().removeListener(markersListener);
+        titleText.fillProperty().removeListener(canvasRefreshListener);
+        unitText.fillProperty().removeListener(redrawListener);
+        valueText.fillProperty().removeListener(redrawListener);
+    }
+
+
+    // ******************** Methods *******************************************
+    protected void handleControlPropertyChanged(final String PROPERTY) {
+        if ("RESIZE".equals(PROPERTY)) {
+            resize();
+        } else if ("VALUE".equals(PROPERTY)) {
+            moveNeedle();
+        } else if ("RECALC".equals(PROPERTY)) {
+            angleStep             = getSkinnable().getAngleRange() / (getSkinnable().getMaxValue() - getSkinnable().getMinValue());
+            ticksAndSectionsDirty = true;
+            dynamicDirty          = true;
+            requestRedraw();
+        } else if ("CANVAS_REFRESH".equals(PROPERTY)) {
+            ticksAndSectionsDirty = true;
+            requestRedraw();
+        } else if ("SECTIONS".equals(PROPERTY)) {
+            // the section arcs and the value fill depend on the sections
+            ticksAndSectionsDirty = true;
+            dynamicDirty          = true;
+            requestRedraw();
+        } else if ("HISTOGRAM".equals(PROPERTY)) {
+            ticksAndSectionsDirty = true;
+            dynamicDirty          = true;
+            requestRedraw();
+        } else if ("ANIMATED".equals(PROPERTY)) {
+            // a running animation jumps to the current value if the animation has been switched off
+            if (!getSkinnable().isAnimated() && (animating || needleFollower.isMoving())) moveNeedle();
+        } else if ("NEEDLE_COLOR".equals(PROPERTY)) {
+            createNeedleFill();
+            dynamicDirty = true;
+            requestRedraw();
+        } else if ("REDRAW".equals(PROPERTY)) {
+            dynamicDirty = true;
+            requestRedraw();
+        }
+    }
+
+    @Override public void dispose() {
+        if (null != redraw) {
+            redraw.cancel();
+            redraw = null;
+        }
+        unregisterListeners();
+        super.dispose();
+    }
+
+    @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinWidth(Math.max(MINIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMinHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinHeight(Math.max(MINIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computeMaxWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxWidth(Math.min(MAXIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMaxHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxHeight(Math.min(MAXIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computePrefWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefHeight = PREFERRED_HEIGHT;
+        if (HEIGHT != -1) {
+            prefHeight = Math.max(0, HEIGHT - TOP_INSET - BOTTOM_INSET);
+        }
+        return super.computePrefWidth(prefHeight, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computePrefHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefWidth = PREFERRED_WIDTH;
+        if (WIDTH != -1) {
+            prefWidth = Math.max(0, WIDTH - LEFT_INSET - RIGHT_INSET);
+        }
+        return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void requestRedraw() {
+        if (null != redraw) return;
+        redraw = PulseScheduler.subscribe(getSkinnable(), 0, (NOW, TICK) -> redraw(NOW));
+    }
+
+    /**
+     * Advances the needle animation and redraws all dirty layers. Stops
+     * listening to the pulse if nothing is animated and nothing is dirty.
+     * @param NOW
+     */
+    private void redraw(final long NOW) {
+        if (animating) {
+            if (animationStart < 0) animationStart = NOW;
+            final double DURATION = getSkinnable().getAnimationDuration() * 1_000_000d;
+            final double FRACTION = DURATION <= 0 ? 1 : Math.min(1, (NOW - animationStart) / DURATION);
+            needleValue  = NEEDLE_INTERPOLATOR.interpolate(animationStartValue, animationTargetValue, FRACTION);
+            animating    = FRACTION < 1;
+            dynamicDirty = true;
+            checkValue(needleValue);
+        } else if (needleFollower.isMoving()) {
+            needleFollower.update(NOW, getSkinnable().getNeedleBehavior(), getSkinnable().getAnimationDuration(),
+                                  getSkinnable().getMaxValue() - getSkinnable().getMinValue());
+            needleValue  = needleFollower.getPosition();
+            dynamicDirty = true;
+            checkValue(needleValue);
+        }
+        if (backgroundDirty) {
+            drawBackground();
+            backgroundDirty = false;
+        }
+        if (ticksAndSectionsDirty) {
+            drawTicksAndSections();
+            ticksAndSectionsDirty = false;
+        }
+        if (dynamicDirty) {
+            drawDynamic();
+            dynamicDirty = false;
+        }
+        if (!animating && !needleFollower.isMoving() && null != redraw) {
+            redraw.cancel();
+            redraw = null;
+        }
+    }
+
+    private void moveNeedle() {
+        if (getSkinnable().isAnimated() && Gauge.NeedleBehavior.STANDARD != getSkinnable().getNeedleBehavior()) {
+            if (!needleFollower.isMoving()) needleFollower.reset(needleValue);
+            animating = false;
+            needleFollower.setTarget(getSkinnable().getValue());
+        } else if (getSkinnable().isAnimated()) {
+            needleFollower.reset(needleValue);
+            animationStartValue  = needleValue;
+            animationTargetValue = getSkinnable().getValue();
+            animationStart       = -1;
+            animating            = true;
+        } else {
+            needleFollower.reset(needleValue);
+            animating            = false;
+            needleValue          = getSkinnable().getValue();
+            animationTargetValue = needleValue;
+            checkValue(needleValue);
+        }
+        dynamicDirty = true;
+        requestRedraw();
+    }
+
+    private void checkValue(final double VALUE) {
+        // Check threshold
+        if (thresholdExceeded) {
+            if (VALUE < getSkinnable().getThreshold()) {
+                getSkinnable().fireGaugeEvent(new GaugeEvent(this, null, GaugeEvent.THRESHOLD_UNDERRUN));
+                thresholdExceeded = false;
+            }
+        } else {
+            if (VALUE > getSkinnable().getThreshold()) {
+                getSkinnable().fireGaugeEvent(new GaugeEvent(this, null, GaugeEvent.THRESHOLD_EXCEEDED));
+                thresholdExceeded = true;
+            }
+        }
+        // Check the markers that have been crossed
+        getSkinnable().checkMarkers(VALUE);
+        // Check the section of the value
+        getSkinnable().checkSections(VALUE);
+        // Check min- and maxMeasuredValue
+        if (VALUE < getSkinnable().getMinMeasuredValue()) getSkinnable().setMinMeasuredValue(VALUE);
+        if (VALUE > getSkinnable().getMaxMeasuredValue()) getSkinnable().setMaxMeasuredValue(VALUE);
+    }
+
+    private double getAngle(final double VALUE) {
+        return (VALUE - getSkinnable().getMinValue()) * angleStep + 180 - getSkinnable().getStartAngle();
+    }
+
+    /**
+     * The value of the min measured value indicator, the minimum of the
+     * statistics window if there is one, otherwise the all time minimum
+     * @return the value of the min measured value indicator
+     */
+    private double getMinIndicatorValue() {
+        return getSkinnable().getStatisticsWindow() > 0 ? getSkinnable().getWindowMinValue() : getSkinnable().getMinMeasuredValue();
+    }
+    private double getMaxIndicatorValue() {
+        return getSkinnable().getStatisticsWindow() > 0 ? getSkinnable().getWindowMaxValue() : getSkinnable().getMaxMeasuredValue();
+    }
+
+    private Paint getMarkerFill(final Marker MARKER) {
+        if (MARKER.getStyleClass().contains("marker1")) return getSkinnable().getMarker1Fill();
+        if (MARKER.getStyleClass().contains("marker2")) return getSkinnable().getMarker2Fill();
+        if (MARKER.getStyleClass().contains("marker3")) return getSkinnable().getMarker3Fill();
+        if (MARKER.getStyleClass().contains("marker4")) return getSkinnable().getMarker4Fill();
+        return getSkinnable().getMarker0Fill();
+    }
+
+    private void createNeedleFill() {
+        final Color COLOR = getSkinnable().getNeedleColor();
+        needleFill   = new LinearGradient(0, center - size * 0.425, 0, center, false, CycleMethod.NO_CYCLE,
+                                          new Stop(0.0, COLOR.deriveColor(0, 1, 1.15, 1)),
+                                          new Stop(1.0, COLOR.deriveColor(0, 1, 0.85, 1)));
+        needleStroke = COLOR.deriveColor(0, 1, 0.9, 1);
+    }
+
+
+    // ******************** Drawing related ***********************************
+    private void drawBackground() {
+        background.clearRect(0, 0, size, size);
+        final double SCALE = size / PREFERRED_WIDTH;
+        fillCircle(background, 0, new LinearGradient(0, 0, 0, size, false, CycleMethod.NO_CYCLE,
+                                                     new Stop(0.0, Color.rgb(224, 224, 224)),
+                                                     new Stop(0.26, Color.rgb(133, 133, 133)),
+                                                     new Stop(1.0, Color.rgb(84, 84, 84))));
+        fillCircle(background, 6 * SCALE, new LinearGradient(0, 6 * SCALE, 0, size - 6 * SCALE, false, CycleMethod.NO_CYCLE,
+                                                             new Stop(0.0, Color.rgb(255, 255, 255)),
+                                                             new Stop(0.5, Color.rgb(146, 146, 147)),
+                                                             new Stop(1.0, Color.rgb(135, 136, 138))));
+        fillCircle(background, 7 * SCALE, new LinearGradient(0, 7 * SCALE, 0, size - 7 * SCALE, false, CycleMethod.NO_CYCLE,
+                                                             new Stop(0.0, Color.rgb(71, 72, 72)),
+                                                             new Stop(0.5, Color.rgb(110, 106, 107)),
+                                                             new Stop(1.0, Color.rgb(186, 185, 187))));
+        fillCircle(background, 13 * SCALE, new LinearGradient(0, 13 * SCALE, 0, size - 13 * SCALE, false, CycleMethod.NO_CYCLE,
+                                                              new Stop(0.0, Color.rgb(245, 245, 245)),
+                                                              new Stop(1.0, Color.rgb(235, 235, 235))));
+    }
+
+    private void fillCircle(final GraphicsContext CTX, final double INSET, final Paint FILL) {
+        CTX.setFill(FILL);
+        CTX.fillOval(INSET, INSET, size - 2 * INSET, size - 2 * INSET);
+    }
+
+    private void drawTicksAndSections() {
+        ticksAndSections.clearRect(0, 0, size, size);
+        if (getSkinnable().isSectionsVisible()) drawSections(ticksAndSections);
+        drawTickMarks(ticksAndSections);
+
+        ticksAndSections.setFont(titleFont);
+        ticksAndSections.setTextAlign(TextAlignment.CENTER);
+        ticksAndSections.setTextBaseline(VPos.CENTER);
+        ticksAndSections.setFill(titleText.getFill());
+        ticksAndSections.fillText(getSkinnable().getTitle(), center, size * 0.74);
+    }
+
+    private void drawSections(final GraphicsContext CTX) {
+        final double XY        = (size - 0.83 * size) / 2;
+        final double WH        = size * 0.83;
+        final double MIN_VALUE = getSkinnable().getMinValue();
+        final double OFFSET    = 90 - getSkinnable().getStartAngle();
+        CTX.setLineWidth(size * 0.037);
+        CTX.setLineCap(StrokeLineCap.BUTT);
+        for (int i = 0 ; i < getSkinnable().getSections().size() ; i++) {
+            final Section SECTION      = getSkinnable().getSections().get(i);
+            final double  ANGLE_START  = (SECTION.getStart() - MIN_VALUE) * angleStep;
+            final double  ANGLE_EXTEND = (SECTION.getStop() - SECTION.getStart()) * angleStep;
+            CTX.setStroke(getSkinnable().getSectionFill(i));
+            CTX.strokeArc(XY, XY, WH, WH, -(OFFSET + ANGLE_START), -ANGLE_EXTEND, ArcType.OPEN);
+        }
+    }
+
+    private void drawTickMarks(final GraphicsContext CTX) {
+        if (getSkinnable().isHistogramEnabled()) {
+            double xy;
+            double wh;
+            double step         = 0;
+            double OFFSET       = 90 - getSkinnable().getStartAngle();
+            double ANGLE_EXTEND = (getSkinnable().getMaxValue() - getSkinnable().getMinValue()) * angleStep;
+            CTX.setStroke(Color.rgb(200, 200, 200));
+            CTX.setLineWidth(size * 0.001);
+            CTX.setLineCap(StrokeLineCap.BUTT);
+            for (int i = 0 ; i < 5 ; i++) {
+                xy = (size - (0.435 + step) * size) / 2;
+                wh = size * (0.435 + step);
+                CTX.strokeArc(xy, xy, wh, wh, -OFFSET, -ANGLE_EXTEND, ArcType.OPEN);
+                step += 0.075;
+            }
+        }
+
+        tickMarks.update(getSkinnable(), size);
+        tickMarks.draw(CTX, getSkinnable().getTickMarkFill(), getSkinnable().getTickLabelFill());
+    }
+
+    private void drawDynamic() {
+        dynamic.clearRect(0, 0, size, size);
+
+        // Histogram
+        if (getSkinnable().isHistogramEnabled()) drawHistogram();
+
+        // Markers
+        if (getSkinnable().isMarkersVisible()) {
+            final double MARKER_SIZE = 0.0325 * size;
+            for (Marker marker : getSkinnable().getMarkers().keySet()) {
+                dynamic.save();
+                dynamic.translate(center, center);
+                dynamic.rotate(getAngle(marker.getValue()));
+                dynamic.setFill(getMarkerFill(marker));
+                dynamic.fillOval(-MARKER_SIZE * 0.5, -size * 0.46, MARKER_SIZE, MARKER_SIZE);
+                dynamic.restore();
+            }
+        }
+
+        // Threshold
+        if (getSkinnable().isThresholdVisible()) {
+            dynamic.save();
+            dynamic.translate(center, center);
+            dynamic.rotate(getAngle(getSkinnable().getThreshold()));
+            dynamic.setFill(THRESHOLD_FILL);
+            dynamic.fillPolygon(thresholdX, thresholdY, 3);
+            dynamic.restore();
+        }
+
+        // Min- and MaxMeasuredValue
+        if (getSkinnable().isMinMeasuredValueVisible()) drawMeasuredValue(getMinIndicatorValue());
+        if (getSkinnable().isMaxMeasuredValueVisible()) drawMeasuredValue(getMaxIndicatorValue());
+
+        // Needle
+        dynamic.save();
+        dynamic.translate(center, center);
+        dynamic.rotate(getAngle(needleValue));
+        if (getSkinnable().isDropShadowEnabled()) {
+            dynamic.save();
+            dynamic.translate(0, 0.015 * size);
+            dynamic.setFill(SHADOW_FILL);
+            dynamic.fillPolygon(needleX, needleY, 4);
+            dynamic.restore();
+        }
+        dynamic.setFill(needleFill);
+        dynamic.setStroke(needleStroke);
+        dynamic.setLineWidth(size * 0.005);
+        dynamic.fillPolygon(needleX, needleY, 4);
+        dynamic.strokePolygon(needleX, needleY, 4);
+        dynamic.setFill(HIGHLIGHT_FILL);
+        dynamic.fillPolygon(needleHighlightX, needleHighlightY, 4);
+        dynamic.restore();
+
+        // Knob
+        final double KNOB_SIZE  = size * 0.35;
+        final double KNOB_XY    = (size - KNOB_SIZE) * 0.5;
+        final double KNOB_INSET = size * 0.01;
+        dynamic.setFill(SHADOW_FILL);
+        dynamic.fillOval(KNOB_XY, KNOB_XY + size * 0.0175, KNOB_SIZE, KNOB_SIZE);
+        dynamic.setFill(knobFill);
+        dynamic.fillOval(KNOB_XY, KNOB_XY, KNOB_SIZE, KNOB_SIZE);
+        dynamic.setFill(knobInnerFill);
+        dynamic.fillOval(KNOB_XY + KNOB_INSET, KNOB_XY + KNOB_INSET, KNOB_SIZE - 2 * KNOB_INSET, KNOB_SIZE - 2 * KNOB_INSET);
+
+        // Unit and value
+        dynamic.setTextAlign(TextAlignment.CENTER);
+        dynamic.setTextBaseline(VPos.CENTER);
+        dynamic.setFill(unitText.getFill());
+        dynamic.setFont(unitFont);
+        dynamic.fillText(getSkinnable().getUnit(), center, size * 0.41);
+        dynamic.setFont(valueFont);
+        final Paint SECTION_FILL = getSkinnable().isValueColoredBySection() ? getSkinnable().getCurrentSectionFill() : null;
+        dynamic.setFill(null == SECTION_FILL ? valueText.getFill() : SECTION_FILL);
+        dynamic.fillText(formatter.format(needleValue, 1), center, size * 0.51);
+    }
+
+    private void drawHistogram() {
+        final double RANGE        = getSkinnable().getMaxValue() - getSkinnable().getMinValue();
+        final double INNER_RADIUS = size * 0.2175;
+        dynamic.setFill(getSkinnable().getHistogramFill());
+        for (int i = 0 ; i < getSkinnable().getNoOfHistogramBins() ; i++) {
+            final double LEVEL = getSkinnable().getHistogramLevel(i);
+            if (LEVEL <= 0) continue;
+            final double START        = getSkinnable().getHistogramBinStart(i) - getSkinnable().getMinValue();
+            final double STOP         = Math.min(RANGE, START + getSkinnable().getHistogramBinWidth());
+            final double START_ANGLE  = Math.toRadians(getSkinnable().getStartAngle() - START * angleStep);
+            final double STOP_ANGLE   = Math.toRadians(getSkinnable().getStartAngle() - STOP * angleStep);
+            final double OUTER_RADIUS = INNER_RADIUS + LEVEL * size * 0.15;
+            histogramX[0] = center + INNER_RADIUS * Math.sin(START_ANGLE);
+            histogramY[0] = center + INNER_RADIUS * Math.cos(START_ANGLE);
+            histogramX[1] = center + OUTER_RADIUS * Math.sin(START_ANGLE);
+            histogramY[1] = center + OUTER_RADIUS * Math.cos(START_ANGLE);
+            histogramX[2] = center + OUTER_RADIUS * Math.sin(STOP_ANGLE);
+            histogramY[2] = center + OUTER_RADIUS * Math.cos(STOP_ANGLE);
+            histogramX[3] = center + INNER_RADIUS * Math.sin(STOP_ANGLE);
+            histogramY[3] = center + INNER_RADIUS * Math.cos(STOP_ANGLE);
+            dynamic.fillPolygon(histogramX, histogramY, 4);
+        }
+    }
+
+    private void drawMeasuredValue(final double VALUE) {
+        final double INDICATOR_SIZE = 0.03 * size;
+        dynamic.save();
+        dynamic.translate(center, center);
+        dynamic.rotate(getAngle(VALUE));
+        dynamic.setFill(MIN_MAX_FILL);
+        dynamic.fillOval(-INDICATOR_SIZE * 0.5, -size * 0.39, INDICATOR_SIZE, INDICATOR_SIZE);
+        dynamic.restore();
+    }
+
+
+    // ******************** Resizing ******************************************
+    private void resize() {
+        size   = getSkinnable().getWidth() < getSkinnable().getHeight() ? getSkinnable().getWidth() : getSkinnable().getHeight();
+        center = size * 0.5;
+        if (size <= 0) return;
+
+        backgroundCanvas.setWidth(size);
+        backgroundCanvas.setHeight(size);
+        ticksAndSectionsCanvas.setWidth(size);
+        ticksAndSectionsCanvas.setHeight(size);
+        dynamicCanvas.setWidth(size);
+        dynamicCanvas.setHeight(size);
+
+        // Needle polygon relative to the center of the gauge
+        final double NEEDLE_SCALE_X = size * 0.04 / NEEDLE_WIDTH;
+        final double NEEDLE_SCALE_Y = size * 0.425 / NEEDLE_HEIGHT;
+        for (int i = 0 ; i < 4 ; i++) {
+            needleX[i] = (NEEDLE_X[i] - NEEDLE_WIDTH * 0.5) * NEEDLE_SCALE_X;
+            needleY[i] = (NEEDLE_Y[i] - NEEDLE_HEIGHT) * NEEDLE_SCALE_Y;
+        }
+        needleHighlightX[0] = 0;
+        needleHighlightY[0] = needleY[0];
+        needleHighlightX[1] = 0;
+        needleHighlightY[1] = needleY[1];
+        needleHighlightX[2] = needleX[2];
+        needleHighlightY[2] = needleY[2];
+        needleHighlightX[3] = needleX[3];
+        needleHighlightY[3] = needleY[3];
+
+        // Threshold triangle relative to the center of the gauge
+        final double THRESHOLD_WIDTH  = 0.03 * size;
+        final double THRESHOLD_HEIGHT = 0.0275 * size;
+        thresholdX[0] = 0;
+        thresholdY[0] = -size * 0.39;
+        thresholdX[1] = THRESHOLD_WIDTH * 0.5;
+        thresholdY[1] = -size * 0.39 + THRESHOLD_HEIGHT;
+        thresholdX[2] = -THRESHOLD_WIDTH * 0.5;
+        thresholdY[2] = -size * 0.39 + THRESHOLD_HEIGHT;
+
+        createNeedleFill();
+        final double KNOB_XY = (size - size * 0.35) * 0.5;
+        knobFill      = new LinearGradient(0, KNOB_XY, 0, KNOB_XY + size * 0.35, false, CycleMethod.NO_CYCLE,
+                                           new Stop(0.0, Color.WHITE),
+                                           new Stop(0.52, Color.rgb(230, 230, 230)),
+                                           new Stop(1.0, Color.rgb(240, 240, 240)));
+        knobInnerFill = new LinearGradient(0, KNOB_XY, 0, KNOB_XY + size * 0.35, false, CycleMethod.NO_CYCLE,
+                                           new Stop(0.0, Color.rgb(250, 250, 250)),
+                                           new Stop(1.0, Color.rgb(230, 230, 230)));
+
+        titleFont = Font.font("Arial", FontWeight.NORMAL, size * 0.06);
+        unitFont  = Font.font("Arial", FontWeight.NORMAL, size * 0.05);
+        valueFont = Font.font("Arial", FontWeight.BOLD, size * 0.1);
+
+        backgroundDirty       = true;
+        ticksAndSectionsDirty = true;
+        dynamicDirty          = true;
+        requestRedraw();
+    }
+}
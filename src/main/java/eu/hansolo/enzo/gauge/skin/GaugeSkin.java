@@ -16,6 +16,9 @@
 
 package eu.hansolo.enzo.gauge.skin;
 
+import eu.hansolo.enzo.common.NumberFormatter;
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
 import eu.hansolo.enzo.gauge.Gauge;
 import eu.hansolo.enzo.gauge.GaugeEvent;
 import eu.hansolo.enzo.gauge.Marker;
@@ -28,11 +31,13 @@ import javafx.animation.ParallelTransition;
 import javafx.animation.PauseTransition;
 import javafx.animation.SequentialTransition;
 import javafx.animation.Timeline;
+import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
 import javafx.collections.MapChangeListener;
+import javafx.css.StyleOrigin;
+import javafx.css.StyleableProperty;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
-import javafx.geometry.Point2D;
 import javafx.geometry.VPos;
 import javafx.scene.CacheHint;
 import javafx.scene.Group;
@@ -51,9 +56,14 @@ import javafx.scene.input.TouchEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.shape.ArcType;
+import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.FillRule;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
 import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
@@ -64,7 +74,6 @@ import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 
 /**
@@ -103,26 +112,43 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
     private Text                     title;
     private Text                     unit;
     private Text                     value;
+    private NumberFormatter          formatter;
+    private Section                  valueSection;
+    private Paint                    themedValueFill;
+    private InvalidationListener     sectionFillListener;
     private DropShadow               valueBlendBottomShadow;
     private InnerShadow              valueBlendTopShadow;
     private Blend                    valueBlend;
     private Path                     histogram;
+    private long                     histogramVersion;
+    private MoveTo[]                 histogramMoves;
+    private LineTo[]                 histogramLines;
     private double                   angleStep;
     private Timeline                 timeline;
+    private NeedleFollower           needleFollower;
+    private Subscription             needleMotion;
     private double                   interactiveAngle;
     private EventHandler<MouseEvent> mouseEventHandler;
     private EventHandler<TouchEvent> touchEventHandler;
     private List<Node>               markersToRemove;
+    private TickMarks                tickMarks;
 
 
     // ******************** Constructors **************************************
     public GaugeSkin(Gauge gauge) {
         super(gauge);
-        angleStep         = gauge.getAngleRange() / (gauge.getMaxValue() - gauge.getMinValue());
-        timeline          = new Timeline();
-        mouseEventHandler = mouseEvent -> handleMouseEvent(mouseEvent);
-        touchEventHandler = touchEvent -> handleTouchEvent(touchEvent);
-        markersToRemove   = new ArrayList<>();
+        angleStep           = gauge.getAngleRange() / (gauge.getMaxValue() - gauge.getMinValue());
+        timeline            = new Timeline();
+        needleFollower      = new NeedleFollower();
+        formatter           = new NumberFormatter();
+        sectionFillListener = observable -> handleControlPropertyChanged("CANVAS_REFRESH");
+        mouseEventHandler   = mouseEvent -> handleMouseEvent(mouseEvent);
+        touchEventHandler   = touchEvent -> handleTouchEvent(touchEvent);
+        markersToRemove     = new ArrayList<>();
+        tickMarks           = new TickMarks();
+        histogramVersion    = -1;
+        histogramMoves      = new MoveTo[0];
+        histogramLines      = new LineTo[0];
 
         init();
         initGraphics();
@@ -179,6 +205,10 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         histogram = new Path();
         histogram.setFillRule(FillRule.NON_ZERO);
         histogram.getStyleClass().add("histogram-fill");
+        histogram.setFill(getSkinnable().getHistogramFill());
+        histogram.setStroke(null);
+        histogram.setVisible(getSkinnable().isHistogramEnabled());
+        histogram.setManaged(getSkinnable().isHistogramEnabled());
 
         minMeasuredValue = new Region();
         minMeasuredValue.getStyleClass().setAll("min-measured-value");
@@ -233,7 +263,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         unit.setTextOrigin(VPos.CENTER);
         unit.getStyleClass().setAll("unit");
 
-        value = new Text(String.format(Locale.US, "%.1f", (needleRotate.getAngle() + getSkinnable().getStartAngle() - 180) / angleStep));
+        value = new Text(formatter.format((needleRotate.getAngle() + getSkinnable().getStartAngle() - 180) / angleStep, 1));
         value.setMouseTransparent(true);
         value.setTextOrigin(VPos.CENTER);
         value.getStyleClass().setAll("value");
@@ -268,6 +298,9 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         getSkinnable().minMeasuredValueVisibleProperty().addListener(observable -> handleControlPropertyChanged("MIN_MEASURED_VALUE_VISIBLE"));
         getSkinnable().maxMeasuredValueProperty().addListener(observable -> handleControlPropertyChanged("MAX_MEASURED_VALUE"));
         getSkinnable().maxMeasuredValueVisibleProperty().addListener(observable -> handleControlPropertyChanged("MAX_MEASURED_VALUE_VISIBLE"));
+        getSkinnable().windowMinValueProperty().addListener(observable -> handleControlPropertyChanged("MIN_MEASURED_VALUE"));
+        getSkinnable().windowMaxValueProperty().addListener(observable -> handleControlPropertyChanged("MAX_MEASURED_VALUE"));
+        getSkinnable().statisticsWindowProperty().addListener(observable -> handleControlPropertyChanged("STATISTICS_WINDOW"));
         getSkinnable().tickLabelOrientationProperty().addListener(observable -> handleControlPropertyChanged("RESIZE"));
         getSkinnable().needleTypeProperty().addListener(observable -> handleControlPropertyChanged("NEEDLE_TYPE"));
         getSkinnable().needleColorProperty().addListener(observable -> handleControlPropertyChanged("NEEDLE_COLOR"));
@@ -277,10 +310,19 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         getSkinnable().angleRangeProperty().addListener(observable -> handleControlPropertyChanged("ANGLE_RANGE"));
         getSkinnable().numberFormatProperty().addListener(observable -> handleControlPropertyChanged("RECALC"));
         getSkinnable().plainValueProperty().addListener(observable -> handleControlPropertyChanged("PLAIN_VALUE"));
+        getSkinnable().valueColoredBySectionProperty().addListener(observable -> handleControlPropertyChanged("VALUE_FILL"));
         getSkinnable().histogramEnabledProperty().addListener(observable -> handleControlPropertyChanged("HISTOGRAM"));
+        getSkinnable().histogramFillProperty().addListener(observable -> handleControlPropertyChanged("HISTOGRAM_FILL"));
         getSkinnable().dropShadowEnabledProperty().addListener(observable -> handleControlPropertyChanged("DROP_SHADOW"));
         getSkinnable().interactiveProperty().addListener(observable -> handleControlPropertyChanged("INTERACTIVE"));
-        getSkinnable().getSections().addListener((ListChangeListener<Section>) change -> handleControlPropertyChanged("CANVAS_REFRESH"));
+        for (Section section : getSkinnable().getSections()) section.fillProperty().addListener(sectionFillListener);
+        getSkinnable().getSections().addListener((ListChangeListener<Section>) change -> {
+            while (change.next()) {
+                for (Section section : change.getRemoved()) section.fillProperty().removeListener(sectionFillListener);
+                for (Section section : change.getAddedSubList()) section.fillProperty().addListener(sectionFillListener);
+            }
+            handleControlPropertyChanged("CANVAS_REFRESH");
+        });
         getSkinnable().getMarkers().addListener((MapChangeListener<Marker, Rotate>) change -> handleControlPropertyChanged("MARKER"));
 
         needleRotate.angleProperty().addListener(observable -> handleControlPropertyChanged("ANGLE"));
@@ -324,6 +366,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
             resize();
         } else if ("VALUE".equals(PROPERTY)) {
             rotateNeedle();
+            if (getSkinnable().isHistogramEnabled()) updateHistogram(false);
         } else if ("RECALC".equals(PROPERTY)) {
             angleStep = getSkinnable().getAngleRange() / (getSkinnable().getMaxValue() - getSkinnable().getMinValue());
             resize();
@@ -331,7 +374,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
             if (getSkinnable().isInteractive()) return;
 
             double currentValue = (needleRotate.getAngle() + getSkinnable().getStartAngle() - 180) / angleStep;
-            value.setText(String.format(Locale.US, "%.1f", currentValue));
+            value.setText(formatter.format(currentValue, 1));
             value.setTranslateX((size - value.getLayoutBounds().getWidth()) * 0.5);
             // Check threshold
             if (thresholdExceeded) {
@@ -345,34 +388,35 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
                     thresholdExceeded = true;
                 }
             }
-            // Check each marker
-            for (Marker marker : getSkinnable().getMarkers().keySet()) {
-                if (marker.isExceeded()) {
-                    if (currentValue < marker.getValue()) {
-                        marker.fireMarkerEvent(new Marker.MarkerEvent(this, null, Marker.MarkerEvent.MARKER_UNDERRUN));
-                        marker.setExceeded(false);
-                    }
-                } else {
-                    if (currentValue > marker.getValue()) {
-                        marker.fireMarkerEvent(new Marker.MarkerEvent(this, null, Marker.MarkerEvent.MARKER_EXCEEDED));
-                        marker.setExceeded(true);
-                    }
-                }
+            // Check the markers that have been crossed
+            getSkinnable().checkMarkers(currentValue);
+            // Check the section of the value
+            final Section SECTION = getSkinnable().checkSections(currentValue);
+            if (SECTION != valueSection) {
+                valueSection = SECTION;
+                updateValueFill();
             }
             // Check min- and maxMeasuredValue
-            if (currentValue < getSkinnable().getMinMeasuredValue()) {
-                getSkinnable().setMinMeasuredValue(currentValue);
-                minMeasuredValueRotate.setAngle(currentValue * angleStep - 180 - getSkinnable().getStartAngle());
-            }
-            if (currentValue > getSkinnable().getMaxMeasuredValue()) {
-                getSkinnable().setMaxMeasuredValue(currentValue);
-                maxMeasuredValueRotate.setAngle(currentValue * angleStep - 180 - getSkinnable().getStartAngle());
-            }
+            if (currentValue < getSkinnable().getMinMeasuredValue()) getSkinnable().setMinMeasuredValue(currentValue);
+            if (currentValue > getSkinnable().getMaxMeasuredValue()) getSkinnable().setMaxMeasuredValue(currentValue);
+        } else if ("MIN_MEASURED_VALUE".equals(PROPERTY)) {
+            minMeasuredValueRotate.setAngle(getMinIndicatorValue() * angleStep - 180 - getSkinnable().getStartAngle());
+        } else if ("MAX_MEASURED_VALUE".equals(PROPERTY)) {
+            maxMeasuredValueRotate.setAngle(getMaxIndicatorValue() * angleStep - 180 - getSkinnable().getStartAngle());
+        } else if ("STATISTICS_WINDOW".equals(PROPERTY)) {
+            handleControlPropertyChanged("MIN_MEASURED_VALUE");
+            handleControlPropertyChanged("MAX_MEASURED_VALUE");
         } else if ("PLAIN_VALUE".equals(PROPERTY)) {
             value.setEffect(getSkinnable().isPlainValue() ? null : valueBlend);
+        } else if ("VALUE_FILL".equals(PROPERTY)) {
+            updateValueFill();
         } else if ("HISTOGRAM".equals(PROPERTY)) {
             histogram.setVisible(getSkinnable().isHistogramEnabled());
             histogram.setManaged(getSkinnable().isHistogramEnabled());
+            handleControlPropertyChanged("CANVAS_REFRESH");
+            updateHistogram(true);
+        } else if ("HISTOGRAM_FILL".equals(PROPERTY)) {
+            histogram.setFill(getSkinnable().getHistogramFill());
         } else if ("DROP_SHADOW".equals(PROPERTY)) {
             shadowGroup.setEffect(getSkinnable().isDropShadowEnabled() ? dropShadow : null);
         } else if ("INTERACTIVE".equals(PROPERTY)) {
@@ -385,7 +429,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
                 shadowGroup.setEffect(null);
             } else {
                 unit.setText(getSkinnable().getUnit());
-                value.setText(String.format(Locale.US, "%.1f", (needleRotate.getAngle() + getSkinnable().getStartAngle() - 180) / angleStep));
+                value.setText(formatter.format((needleRotate.getAngle() + getSkinnable().getStartAngle() - 180) / angleStep, 1));
                 resizeUnitAndValue();
                 shadowGroup.setEffect(dropShadow);
             }
@@ -393,6 +437,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
             ticksAndSections.clearRect(0, 0, size, size);
             drawSections(ticksAndSections);
             drawTickMarks(ticksAndSections);
+            updateValueFill();
         } else if ("THRESHOLD".equals(PROPERTY)) {
             thresholdRotate.setAngle(getSkinnable().getThreshold() * angleStep - 180 - getSkinnable().getStartAngle());
         } else if ("THRESHOLD_VISIBLE".equals(PROPERTY)) {
@@ -422,6 +467,15 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         }
     }
 
+    @Override public void dispose() {
+        if (null != needleMotion) {
+            needleMotion.cancel();
+            needleMotion = null;
+        }
+        for (Section section : getSkinnable().getSections()) section.fillProperty().removeListener(sectionFillListener);
+        super.dispose();
+    }
+
     @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
         return super.computeMinWidth(Math.max(MINIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
     }
@@ -487,7 +541,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         if (SRC.equals(threshold)) {
             if (MouseEvent.MOUSE_PRESSED == TYPE) {
                 unit.setText("Threshold");
-                value.setText(String.format(Locale.US, "%.1f", getSkinnable().getThreshold()));
+                value.setText(formatter.format(getSkinnable().getThreshold(), 1));
                 resizeUnitAndValue();
             } else if (MouseEvent.MOUSE_DRAGGED == TYPE) {
                 touchRotate(MOUSE_EVENT.getSceneX(), MOUSE_EVENT.getSceneY(), thresholdRotate);
@@ -498,7 +552,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         } else if (SRC instanceof Marker) {
             if (MouseEvent.MOUSE_PRESSED == TYPE) {
                 unit.setText(((Marker) SRC).getText());
-                value.setText(String.format(Locale.US, "%.1f", ((Marker) SRC).getValue()));
+                value.setText(formatter.format(((Marker) SRC).getValue(), 1));
                 resizeUnitAndValue();
             } else if (MouseEvent.MOUSE_DRAGGED == TYPE) {
                 touchRotate(MOUSE_EVENT.getSceneX(), MOUSE_EVENT.getSceneY(), getSkinnable().getMarkers().get(SRC));
@@ -509,7 +563,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         } else if (SRC.equals(minMeasuredValue)) {
             if (MouseEvent.MOUSE_PRESSED == TYPE) {
                 unit.setText("Min");
-                value.setText(String.format(Locale.US, "%.1f", getSkinnable().getMinMeasuredValue()));
+                value.setText(formatter.format(getSkinnable().getMinMeasuredValue(), 1));
                 resizeUnitAndValue();
             } else if (MouseEvent.MOUSE_RELEASED == TYPE) {
                 fadeBackToInteractive();
@@ -517,7 +571,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         } else if (SRC.equals(maxMeasuredValue)) {
             if (MouseEvent.MOUSE_PRESSED == TYPE) {
                 unit.setText("Max");
-                value.setText(String.format(Locale.US, "%.1f", getSkinnable().getMaxMeasuredValue()));
+                value.setText(formatter.format(getSkinnable().getMaxMeasuredValue(), 1));
                 resizeUnitAndValue();
             } else if (MouseEvent.MOUSE_RELEASED == TYPE) {
                 fadeBackToInteractive();
@@ -531,7 +585,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         if (SRC.equals(threshold)) {
             if (TouchEvent.TOUCH_PRESSED == TYPE) {
                 unit.setText("Threshold");
-                value.setText(String.format(Locale.US, "%.1f", getSkinnable().getThreshold()));
+                value.setText(formatter.format(getSkinnable().getThreshold(), 1));
                 resizeUnitAndValue();
             } else if (TouchEvent.TOUCH_MOVED == TYPE) {
                 touchRotate(TOUCH_EVENT.getTouchPoint().getSceneX(), TOUCH_EVENT.getTouchPoint().getSceneY(), thresholdRotate);
@@ -542,7 +596,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         } else if (SRC instanceof Marker) {
             if (TouchEvent.TOUCH_PRESSED == TYPE) {
                 unit.setText(((Marker) SRC).getText());
-                value.setText(String.format(Locale.US, "%.1f", ((Marker) SRC).getValue()));
+                value.setText(formatter.format(((Marker) SRC).getValue(), 1));
                 resizeUnitAndValue();
             } else if (TouchEvent.TOUCH_MOVED == TYPE) {
                 touchRotate(TOUCH_EVENT.getTouchPoint().getSceneX(), TOUCH_EVENT.getTouchPoint().getSceneY(), getSkinnable().getMarkers().get(SRC));
@@ -553,7 +607,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         } else if (SRC.equals(minMeasuredValue)) {
             if (TouchEvent.TOUCH_PRESSED == TYPE) {
                 unit.setText("Min");
-                value.setText(String.format(Locale.US, "%.1f", getSkinnable().getMinMeasuredValue()));
+                value.setText(formatter.format(getSkinnable().getMinMeasuredValue(), 1));
                 resizeUnitAndValue();
             } else if (TouchEvent.TOUCH_RELEASED == TYPE) {
                 fadeBackToInteractive();
@@ -561,7 +615,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         } else if (SRC.equals(maxMeasuredValue)) {
             if (TouchEvent.TOUCH_PRESSED == TYPE) {
                 unit.setText("Max");
-                value.setText(String.format(Locale.US, "%.1f", getSkinnable().getMaxMeasuredValue()));
+                value.setText(formatter.format(getSkinnable().getMaxMeasuredValue(), 1));
                 resizeUnitAndValue();
             } else if (TouchEvent.TOUCH_RELEASED == TYPE) {
                 fadeBackToInteractive();
@@ -577,7 +631,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
                            (interactiveAngle - 180.0 + getSkinnable().getStartAngle() - 360) / angleStep;
         if (Double.compare(newValue, getSkinnable().getMinValue()) >= 0 && Double.compare(newValue, getSkinnable().getMaxValue()) <= 0) {
             ROTATE.setAngle(interactiveAngle);
-            value.setText(String.format(Locale.US, "%.1f", newValue));
+            value.setText(formatter.format(newValue, 1));
             resizeUnitAndValue();
         }
 
@@ -616,8 +670,19 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         double range       = (getSkinnable().getMaxValue() - getSkinnable().getMinValue());
         double angleRange  = getSkinnable().getAngleRange();
         angleStep          = angleRange / range;
-        double targetAngle = needleRotate.getAngle() + (getSkinnable().getValue() - getSkinnable().getOldValue()) * angleStep;
 
+        if (getSkinnable().isAnimated() && Gauge.NeedleBehavior.STANDARD != getSkinnable().getNeedleBehavior()) {
+            if (!needleFollower.isMoving()) {
+                timeline.stop();
+                needleFollower.reset(needleRotate.getAngle());
+            }
+            needleFollower.setTarget(needleFollower.getTarget() + (getSkinnable().getValue() - getSkinnable().getOldValue()) * angleStep);
+            if (null == needleMotion) needleMotion = PulseScheduler.subscribe(getSkinnable(), 0, (NOW, TICK) -> followNeedle(NOW));
+            return;
+        }
+        stopNeedleMotion();
+
+        double targetAngle = needleRotate.getAngle() + (getSkinnable().getValue() - getSkinnable().getOldValue()) * angleStep;
         if (getSkinnable().isAnimated()) {
             timeline.stop();
             final KeyValue KEY_VALUE = new KeyValue(needleRotate.angleProperty(), targetAngle, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
@@ -629,6 +694,24 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         }
     }
 
+    /**
+     * Moves the needle towards the target of the needle follower, will be
+     * called on every pulse until the needle has settled
+     * @param NOW
+     */
+    private void followNeedle(final long NOW) {
+        final boolean MOVING = needleFollower.update(NOW, getSkinnable().getNeedleBehavior(), getSkinnable().getAnimationDuration(), getSkinnable().getAngleRange());
+        needleRotate.setAngle(needleFollower.getPosition());
+        if (!MOVING) stopNeedleMotion();
+    }
+
+    private void stopNeedleMotion() {
+        if (null == needleMotion) return;
+        needleMotion.cancel();
+        needleMotion = null;
+        needleFollower.reset(needleRotate.getAngle());
+    }
+
     private void changeNeedle() {
         switch(getSkinnable().getNeedleType()) {
             default:
@@ -642,7 +725,8 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
             double wh;
             double step         = 0;
             double OFFSET       = 90 - getSkinnable().getStartAngle();
-            double ANGLE_EXTEND = (getSkinnable().getMaxValue()) * angleStep;
+            // The histogram grid spans the whole scale from minValue to maxValue
+            double ANGLE_EXTEND = (getSkinnable().getMaxValue() - getSkinnable().getMinValue()) * angleStep;
             CTX.setStroke(Color.rgb(200, 200, 200));
             CTX.setLineWidth(size * 0.001);
             CTX.setLineCap(StrokeLineCap.BUTT);
@@ -654,63 +738,66 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
             }
         }
 
-        double  sinValue;
-        double  cosValue;
-        double  startAngle = getSkinnable().getStartAngle();
-        double  orthText   = Gauge.TickLabelOrientation.ORTHOGONAL == getSkinnable().getTickLabelOrientation() ? 0.33 : 0.31;
-        Point2D center     = new Point2D(size * 0.5, size * 0.5);
-        for (double angle = 0, counter = getSkinnable().getMinValue() ; Double.compare(counter, getSkinnable().getMaxValue()) <= 0 ; angle -= angleStep, counter++) {
-            sinValue = Math.sin(Math.toRadians(angle + startAngle));
-            cosValue = Math.cos(Math.toRadians(angle + startAngle));
-
-            Point2D innerMainPoint   = new Point2D(center.getX() + size * 0.368 * sinValue, center.getY() + size * 0.368 * cosValue);
-            Point2D innerMediumPoint = new Point2D(center.getX() + size * 0.388 * sinValue, center.getY() + size * 0.388 * cosValue);
-            Point2D innerMinorPoint  = new Point2D(center.getX() + size * 0.3975 * sinValue, center.getY() + size * 0.3975 * cosValue);
-            Point2D outerPoint       = new Point2D(center.getX() + size * 0.432 * sinValue, center.getY() + size * 0.432 * cosValue);
-            Point2D textPoint        = new Point2D(center.getX() + size * orthText * sinValue, center.getY() + size * orthText * cosValue);
-
-            CTX.setStroke(getSkinnable().getTickMarkFill());
-            if (counter % getSkinnable().getMajorTickSpace() == 0) {
-                // Draw major tickmark
-                CTX.setLineWidth(size * 0.0055);
-                CTX.strokeLine(innerMainPoint.getX(), innerMainPoint.getY(), outerPoint.getX(), outerPoint.getY());
-
-                // Draw text
-                CTX.save();
-                CTX.translate(textPoint.getX(), textPoint.getY());
-                switch(getSkinnable().getTickLabelOrientation()) {
-                    case ORTHOGONAL:
-                        if ((360 - startAngle - angle) % 360 > 90 && (360 - startAngle - angle) % 360 < 270) {
-                            CTX.rotate((180 - startAngle - angle) % 360);
-                        } else {
-                            CTX.rotate((360 - startAngle - angle) % 360);
-                        }
-                        break;
-                    case TANGENT:
-                        if ((360 - startAngle - angle - 90) % 360 > 90 && (360 - startAngle - angle - 90) % 360 < 270) {
-                            CTX.rotate((90 - startAngle - angle) % 360);
-                        } else {
-                            CTX.rotate((270 - startAngle - angle) % 360);
-                        }
-                        break;
-                    case HORIZONTAL:
-                    default:
-                        break;
-                }
-                CTX.setFont(Font.font("Verdana", FontWeight.NORMAL, 0.045 * size));
-                CTX.setTextAlign(TextAlignment.CENTER);
-                CTX.setTextBaseline(VPos.CENTER);
-                CTX.setFill(getSkinnable().getTickLabelFill());
-                CTX.fillText(Integer.toString((int) counter), 0, 0);
-                CTX.restore();
-            } else if (getSkinnable().getMinorTickSpace() % 2 != 0 && counter % 5 == 0) {
-                CTX.setLineWidth(size * 0.0035);
-                CTX.strokeLine(innerMediumPoint.getX(), innerMediumPoint.getY(), outerPoint.getX(), outerPoint.getY());
-            } else if (counter % getSkinnable().getMinorTickSpace() == 0) {
-                CTX.setLineWidth(size * 0.00225);
-                CTX.strokeLine(innerMinorPoint.getX(), innerMinorPoint.getY(), outerPoint.getX(), outerPoint.getY());
+        tickMarks.update(getSkinnable(), size);
+        tickMarks.draw(CTX, getSkinnable().getTickMarkFill(), getSkinnable().getTickLabelFill());
+    }
+
+    /**
+     * Updates the wedges of the histogram path. If the histogram changed
+     * only once since the last update and the maximum did not change, only
+     * the wedge of the changed bin will be touched. The path elements will
+     * only be re-created if the number of bins has changed.
+     * @param FORCE if true all bins will be updated (e.g. after resizing)
+     */
+    private void updateHistogram(final boolean FORCE) {
+        final int NO_OF_BINS = getSkinnable().getNoOfHistogramBins();
+        boolean   updateAll  = FORCE;
+        if (NO_OF_BINS != histogramMoves.length) {
+            histogramMoves  = new MoveTo[NO_OF_BINS];
+            histogramLines  = new LineTo[NO_OF_BINS * 3];
+            final List<PathElement> ELEMENTS = new ArrayList<>(NO_OF_BINS * 5);
+            for (int i = 0 ; i < NO_OF_BINS ; i++) {
+                histogramMoves[i]         = new MoveTo();
+                histogramLines[i * 3]     = new LineTo();
+                histogramLines[i * 3 + 1] = new LineTo();
+                histogramLines[i * 3 + 2] = new LineTo();
+                ELEMENTS.add(histogramMoves[i]);
+                ELEMENTS.add(histogramLines[i * 3]);
+                ELEMENTS.add(histogramLines[i * 3 + 1]);
+                ELEMENTS.add(histogramLines[i * 3 + 2]);
+                ELEMENTS.add(new ClosePath());
             }
+            histogram.getElements().setAll(ELEMENTS);
+            updateAll = true;
         }
+        final long VERSION = getSkinnable().getHistogramVersion();
+        final int  BIN     = getSkinnable().getLastHistogramBin();
+        if (!updateAll && VERSION == histogramVersion + 1 && BIN >= 0 && BIN < NO_OF_BINS) {
+            updateHistogramBin(BIN, getSkinnable().getHistogramLevel(BIN));
+        } else if (updateAll || VERSION != histogramVersion) {
+            for (int i = 0 ; i < NO_OF_BINS ; i++) {
+                updateHistogramBin(i, getSkinnable().getHistogramLevel(i));
+            }
+        }
+        histogramVersion = VERSION;
+    }
+
+    private void updateHistogramBin(final int BIN, final double LEVEL) {
+        final double RANGE        = getSkinnable().getMaxValue() - getSkinnable().getMinValue();
+        final double START        = getSkinnable().getHistogramBinStart(BIN) - getSkinnable().getMinValue();
+        final double STOP         = Math.min(RANGE, START + getSkinnable().getHistogramBinWidth());
+        final double START_ANGLE  = Math.toRadians(getSkinnable().getStartAngle() - START * angleStep);
+        final double STOP_ANGLE   = Math.toRadians(getSkinnable().getStartAngle() - STOP * angleStep);
+        final double INNER_RADIUS = size * 0.2175;
+        final double OUTER_RADIUS = INNER_RADIUS + LEVEL * size * 0.15;
+        histogramMoves[BIN].setX(centerX + INNER_RADIUS * Math.sin(START_ANGLE));
+        histogramMoves[BIN].setY(centerY + INNER_RADIUS * Math.cos(START_ANGLE));
+        histogramLines[BIN * 3].setX(centerX + OUTER_RADIUS * Math.sin(START_ANGLE));
+        histogramLines[BIN * 3].setY(centerY + OUTER_RADIUS * Math.cos(START_ANGLE));
+        histogramLines[BIN * 3 + 1].setX(centerX + OUTER_RADIUS * Math.sin(STOP_ANGLE));
+        histogramLines[BIN * 3 + 1].setY(centerY + OUTER_RADIUS * Math.cos(STOP_ANGLE));
+        histogramLines[BIN * 3 + 2].setX(centerX + INNER_RADIUS * Math.sin(STOP_ANGLE));
+        histogramLines[BIN * 3 + 2].setY(centerY + INNER_RADIUS * Math.cos(STOP_ANGLE));
     }
 
     private final void drawSections(final GraphicsContext CTX) {
@@ -723,18 +810,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
             final double  ANGLE_START  = (SECTION.getStart() - MIN_VALUE) * angleStep;
             final double  ANGLE_EXTEND = (SECTION.getStop() - SECTION.getStart()) * angleStep;
             CTX.save();
-            switch(i) {
-                case 0: CTX.setStroke(getSkinnable().getSection0Fill()); break;
-                case 1: CTX.setStroke(getSkinnable().getSection1Fill()); break;
-                case 2: CTX.setStroke(getSkinnable().getSection2Fill()); break;
-                case 3: CTX.setStroke(getSkinnable().getSection3Fill()); break;
-                case 4: CTX.setStroke(getSkinnable().getSection4Fill()); break;
-                case 5: CTX.setStroke(getSkinnable().getSection5Fill()); break;
-                case 6: CTX.setStroke(getSkinnable().getSection6Fill()); break;
-                case 7: CTX.setStroke(getSkinnable().getSection7Fill()); break;
-                case 8: CTX.setStroke(getSkinnable().getSection8Fill()); break;
-                case 9: CTX.setStroke(getSkinnable().getSection9Fill()); break;
-            }
+            CTX.setStroke(getSkinnable().getSectionFill(i));
             CTX.setLineWidth(size * 0.037);
             CTX.setLineCap(StrokeLineCap.BUTT);
             CTX.strokeArc(xy, xy, wh, wh, -(OFFSET + ANGLE_START), -ANGLE_EXTEND, ArcType.OPEN);
@@ -752,6 +828,37 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         }
     }
 
+    /**
+     * The value of the min measured value indicator, the minimum of the
+     * statistics window if there is one, otherwise the all time minimum
+     * @return the value of the min measured value indicator
+     */
+    private double getMinIndicatorValue() {
+        return getSkinnable().getStatisticsWindow() > 0 ? getSkinnable().getWindowMinValue() : getSkinnable().getMinMeasuredValue();
+    }
+    private double getMaxIndicatorValue() {
+        return getSkinnable().getStatisticsWindow() > 0 ? getSkinnable().getWindowMaxValue() : getSkinnable().getMaxMeasuredValue();
+    }
+
+    /**
+     * Fills the value text with the fill of the section that contains the
+     * value, will only be called if the value moved into another section or
+     * the sections changed. If no section applies the fill of the css will
+     * be restored.
+     */
+    private void updateValueFill() {
+        final Paint FILL = getSkinnable().isValueColoredBySection() ? getSkinnable().getCurrentSectionFill() : null;
+        @SuppressWarnings("unchecked")
+        final StyleableProperty<Paint> VALUE_FILL = (StyleableProperty<Paint>) value.fillProperty();
+        if (null == FILL) {
+            // Hand the fill back to the css so that theme changes will be applied again
+            if (StyleOrigin.USER == VALUE_FILL.getStyleOrigin()) VALUE_FILL.applyStyle(StyleOrigin.USER_AGENT, themedValueFill);
+        } else {
+            if (StyleOrigin.USER != VALUE_FILL.getStyleOrigin()) themedValueFill = value.getFill();
+            value.setFill(FILL);
+        }
+    }
+
     private void resizeUnitAndValue() {
         unit.setFont(Font.font("Arial", FontWeight.NORMAL, size * 0.05));
         unit.setTranslateX((size - unit.getLayoutBounds().getWidth()) * 0.5);
@@ -787,17 +894,19 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
 
         drawMarkers();
 
+        updateHistogram(true);
+
         minMeasuredValue.setPrefSize(0.03 * size, 0.03 * size);
         minMeasuredValue.relocate((size - minMeasuredValue.getPrefWidth()) * 0.5, size * 0.11);
         minMeasuredValueRotate.setPivotX(minMeasuredValue.getPrefWidth() * 0.5);
         minMeasuredValueRotate.setPivotY(size * 0.39);
-        minMeasuredValueRotate.setAngle(getSkinnable().getMinMeasuredValue() * angleStep - 180 - getSkinnable().getStartAngle());
+        minMeasuredValueRotate.setAngle(getMinIndicatorValue() * angleStep - 180 - getSkinnable().getStartAngle());
 
         maxMeasuredValue.setPrefSize(0.03 * size, 0.03 * size);
         maxMeasuredValue.relocate((size - maxMeasuredValue.getPrefWidth()) * 0.5, size * 0.11);
         maxMeasuredValueRotate.setPivotX(maxMeasuredValue.getPrefWidth() * 0.5);
         maxMeasuredValueRotate.setPivotY(size * 0.39);
-        maxMeasuredValueRotate.setAngle(getSkinnable().getMaxMeasuredValue() * angleStep - 180 - getSkinnable().getStartAngle());
+        maxMeasuredValueRotate.setAngle(getMaxIndicatorValue() * angleStep - 180 - getSkinnable().getStartAngle());
 
         threshold.setPrefSize(0.03 * size, 0.0275 * size);
         threshold.relocate((size - threshold.getPrefWidth()) * 0.5, size * 0.11);
@@ -805,7 +914,7 @@ public class GaugeSkin extends SkinBase<Gauge> implements Skin<Gauge> {
         thresholdRotate.setPivotY(size * 0.39);
         thresholdRotate.setAngle(getSkinnable().getThreshold() * angleStep - 180 - getSkinnable().getStartAngle());
 
-        value.setText(String.format(Locale.US, "%.1f", (needleRotate.getAngle() + getSkinnable().getStartAngle() - 180) / angleStep));
+        value.setText(formatter.format((needleRotate.getAngle() + getSkinnable().getStartAngle() - 180) / angleStep, 1));
 
         switch (getSkinnable().getNeedleType()) {
             default:
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.gauge.skin;
+
+import eu.hansolo.enzo.gauge.Gauge;
+
+
+/**
+ * Moves a position towards a target on every pulse, either like a
+ * critically damped spring or with a limited velocity. A new target only
+ * replaces the old one, position and velocity are kept, so the needle
+ * never restarts its motion and no objects are created per update.
+ * The spring is integrated with its exact solution which makes it stable
+ * for any frame time.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 24.10.13
+ * Time: 16:18
+ */
+final class NeedleFollower {
+    private static final double SETTLING_FACTOR = 6.0;     // omega * duration, settles to 0.25% of the distance
+    private static final double MAX_FRAME_TIME  = 0.1;     // seconds
+    private static final double PRECISION       = 0.0005;  // fraction of the range
+    private double              position;
+    private double              velocity;
+    private double              target;
+    private long                lastUpdate;
+    private boolean             moving;
+
+
+    // ******************** Constructors **************************************
+    NeedleFollower() {
+        lastUpdate = -1;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Sets the position and stops the motion
+     * @param POSITION
+     */
+    void reset(final double POSITION) {
+        position   = POSITION;
+        target     = POSITION;
+        velocity   = 0;
+        lastUpdate = -1;
+        moving     = false;
+    }
+
+    /**
+     * Sets a new target, the motion continues with the current velocity
+     * @param TARGET
+     */
+    void setTarget(final double TARGET) {
+        target = TARGET;
+        moving = true;
+    }
+
+    double getTarget() {
+        return target;
+    }
+
+    double getPosition() {
+        return position;
+    }
+
+    boolean isMoving() {
+        return moving;
+    }
+
+    /**
+     * Advances the position to the given time
+     * @param NOW      the time of the pulse in nanoseconds
+     * @param BEHAVIOR SPRING or VELOCITY_LIMITED
+     * @param DURATION the animation duration in milliseconds
+     * @param RANGE    the distance that will be passed in one animation duration
+     * @return true if the position is still moving
+     */
+    boolean update(final long NOW, final Gauge.NeedleBehavior BEHAVIOR, final double DURATION, final double RANGE) {
+        if (!moving) return false;
+        if (lastUpdate < 0) {
+            lastUpdate = NOW;
+            return true;
+        }
+        final double DT      = Math.min(MAX_FRAME_TIME, (NOW - lastUpdate) / 1_000_000_000d);
+        final double SECONDS = Math.max(0.001, DURATION / 1000d);
+        lastUpdate = NOW;
+        if (DT <= 0) return true;
+
+        final double OFFSET = position - target;
+        if (Gauge.NeedleBehavior.VELOCITY_LIMITED == BEHAVIOR) {
+            final double STEP = Math.abs(RANGE) / SECONDS * DT;
+            position = Math.abs(OFFSET) <= STEP ? target : position - Math.signum(OFFSET) * STEP;
+            velocity = 0;
+        } else {
+            final double OMEGA = SETTLING_FACTOR / SECONDS;
+            final double DECAY = Math.exp(-OMEGA * DT);
+            final double C     = velocity + OMEGA * OFFSET;
+            position = target + (OFFSET + C * DT) * DECAY;
+            velocity = (velocity - OMEGA * C * DT) * DECAY;
+        }
+
+        final double EPSILON = Math.abs(RANGE) * PRECISION;
+        if (Math.abs(position - target) <= EPSILON && Math.abs(velocity) * SECONDS <= EPSILON) {
+            position   = target;
+            velocity   = 0;
+            lastUpdate = -1;
+            moving     = false;
+        }
+        return moving;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.gauge.skin;
+
+import eu.hansolo.enzo.common.NumberFormatter;
+import eu.hansolo.enzo.gauge.Gauge;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+
+/**
+ * Geometry of the tickmarks and tick labels of a Gauge. The ticks are
+ * created from the visible major and minor tick space of the gauge which
+ * means the number of ticks does not depend on the range of the gauge.
+ * The geometry will only be re-calculated if the size, the range, the
+ * angles, the tick spaces or the tick label orientation have changed,
+ * drawing only iterates over the cached coordinates.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 24.10.13
+ * Time: 13:26
+ */
+final class TickMarks {
+    private static final byte          MINOR  = 0;
+    private static final byte          MEDIUM = 1;
+    private static final byte          MAJOR  = 2;
+    private double                     size;
+    private double                     minValue;
+    private double                     maxValue;
+    private double                     startAngle;
+    private double                     angleRange;
+    private double                     majorTickSpace;
+    private double                     minorTickSpace;
+    private Gauge.TickLabelOrientation orientation;
+    private int                        noOfTicks;
+    private byte[]                     types;
+    private double[]                   innerX;
+    private double[]                   innerY;
+    private double[]                   outerX;
+    private double[]                   outerY;
+    private String[]                   labels;
+    private double[]                   labelX;
+    private double[]                   labelY;
+    private double[]                   labelRotation;
+    private Font                       font;
+    private NumberFormatter            formatter;
+
+
+    // ******************** Constructors **************************************
+    TickMarks() {
+        size      = -1;
+        formatter = new NumberFormatter();
+        ensureCapacity(64);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Re-calculates the geometry if one of the parameters that affect the
+     * tickmarks has changed since the last call.
+     * @param GAUGE
+     * @param SIZE
+     * @return true if the geometry has been re-calculated
+     */
+    boolean update(final Gauge GAUGE, final double SIZE) {
+        final double MIN_VALUE        = GAUGE.getMinValue();
+        final double MAX_VALUE        = GAUGE.getMaxValue();
+        final double START_ANGLE      = GAUGE.getStartAngle();
+        final double ANGLE_RANGE      = GAUGE.getAngleRange();
+        final double MAJOR_TICK_SPACE = GAUGE.getVisibleMajorTickSpace();
+        final double MINOR_TICK_SPACE = GAUGE.getVisibleMinorTickSpace();
+        final Gauge.TickLabelOrientation ORIENTATION = GAUGE.getTickLabelOrientation();
+        if (Double.compare(SIZE, size) == 0 && Double.compare(MIN_VALUE, minValue) == 0 && Double.compare(MAX_VALUE, maxValue) == 0 &&
+            Double.compare(START_ANGLE, startAngle) == 0 && Double.compare(ANGLE_RANGE, angleRange) == 0 &&
+            Double.compare(MAJOR_TICK_SPACE, majorTickSpace) == 0 && Double.compare(MINOR_TICK_SPACE, minorTickSpace) == 0 &&
+            ORIENTATION == orientation) return false;
+
+        size           = SIZE;
+        minValue       = MIN_VALUE;
+        maxValue       = MAX_VALUE;
+        startAngle     = START_ANGLE;
+        angleRange     = ANGLE_RANGE;
+        majorTickSpace = MAJOR_TICK_SPACE;
+        minorTickSpace = MINOR_TICK_SPACE;
+        orientation    = ORIENTATION;
+        font           = Font.font("Verdana", FontWeight.NORMAL, 0.045 * SIZE);
+        calculate();
+        return true;
+    }
+
+    /**
+     * Draws the cached tickmarks and labels into the given context
+     * @param CTX
+     * @param TICK_MARK_FILL
+     * @param TICK_LABEL_FILL
+     */
+    void draw(final GraphicsContext CTX, final Paint TICK_MARK_FILL, final Paint TICK_LABEL_FILL) {
+        CTX.save();
+        CTX.setStroke(TICK_MARK_FILL);
+        for (int i = 0 ; i < noOfTicks ; i++) {
+            switch(types[i]) {
+                case MAJOR : CTX.setLineWidth(size * 0.0055); break;
+                case MEDIUM: CTX.setLineWidth(size * 0.0035); break;
+                default    : CTX.setLineWidth(size * 0.00225); break;
+            }
+            CTX.strokeLine(innerX[i], innerY[i], outerX[i], outerY[i]);
+        }
+
+        CTX.setFont(font);
+        CTX.setTextAlign(TextAlignment.CENTER);
+        CTX.setTextBaseline(VPos.CENTER);
+        CTX.setFill(TICK_LABEL_FILL);
+        for (int i = 0 ; i < noOfTicks ; i++) {
+            if (MAJOR != types[i]) continue;
+            if (0 == labelRotation[i]) {
+                CTX.fillText(labels[i], labelX[i], labelY[i]);
+            } else {
+                CTX.save();
+                CTX.translate(labelX[i], labelY[i]);
+                CTX.rotate(labelRotation[i]);
+                CTX.fillText(labels[i], 0, 0);
+                CTX.restore();
+            }
+        }
+        CTX.restore();
+    }
+
+    int getNoOfTicks() {
+        return noOfTicks;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void calculate() {
+        final double  RANGE        = maxValue - minValue;
+        final double  ANGLE_STEP   = angleRange / RANGE;
+        final double  CENTER       = size * 0.5;
+        final double  ORTH_TEXT    = Gauge.TickLabelOrientation.ORTHOGONAL == orientation ? 0.33 : 0.31;
+        final double  EPSILON      = minorTickSpace * 1e-6;
+        final boolean MEDIUM_TICKS = Math.round(majorTickSpace / minorTickSpace) % 2 == 0;
+        final int     DECIMALS     = majorTickSpace >= 1 && Math.abs(majorTickSpace - Math.rint(majorTickSpace)) < EPSILON ?
+                                     0 : Math.max(0, (int) -Math.floor(Math.log10(majorTickSpace)));
+        final double  FIRST_TICK   = Math.ceil((minValue - EPSILON) / minorTickSpace) * minorTickSpace;
+        final int     NO_OF_TICKS  = Math.max(0, (int) Math.floor((maxValue + EPSILON - FIRST_TICK) / minorTickSpace) + 1);
+        ensureCapacity(NO_OF_TICKS);
+
+        noOfTicks = NO_OF_TICKS;
+        for (int i = 0 ; i < NO_OF_TICKS ; i++) {
+            final double VALUE = FIRST_TICK + i * minorTickSpace;
+            final double ANGLE = -(VALUE - minValue) * ANGLE_STEP;
+            final double SIN   = Math.sin(Math.toRadians(ANGLE + startAngle));
+            final double COS   = Math.cos(Math.toRadians(ANGLE + startAngle));
+            final double INNER;
+            if (isMultiple(VALUE, majorTickSpace, EPSILON)) {
+                types[i]         = MAJOR;
+                INNER            = 0.368;
+                labels[i]        = formatter.format(Math.abs(VALUE) < EPSILON ? 0 : VALUE, DECIMALS);
+                labelX[i]        = CENTER + size * ORTH_TEXT * SIN;
+                labelY[i]        = CENTER + size * ORTH_TEXT * COS;
+                labelRotation[i] = getLabelRotation(ANGLE);
+            } else if (MEDIUM_TICKS && isMultiple(VALUE, majorTickSpace * 0.5, EPSILON)) {
+                types[i] = MEDIUM;
+                INNER    = 0.388;
+            } else {
+                types[i] = MINOR;
+                INNER    = 0.3975;
+            }
+            innerX[i] = CENTER + size * INNER * SIN;
+            innerY[i] = CENTER + size * INNER * COS;
+            outerX[i] = CENTER + size * 0.432 * SIN;
+            outerY[i] = CENTER + size * 0.432 * COS;
+        }
+    }
+
+    private double getLabelRotation(final double ANGLE) {
+        switch(orientation) {
+            case ORTHOGONAL:
+                if ((360 - startAngle - ANGLE) % 360 > 90 && (360 - startAngle - ANGLE) % 360 < 270) {
+                    return (180 - startAngle - ANGLE) % 360;
+                } else {
+                    return (360 - startAngle - ANGLE) % 360;
+                }
+            case TANGENT:
+                if ((360 - startAngle - ANGLE - 90) % 360 > 90 && (360 - startAngle - ANGLE - 90) % 360 < 270) {
+                    return (90 - startAngle - ANGLE) % 360;
+                } else {
+                    return (270 - startAngle - ANGLE) % 360;
+                }
+            case HORIZONTAL:
+            default:
+                return 0;
+        }
+    }
+
+    private static boolean isMultiple(final double VALUE, final double SPACE, final double EPSILON) {
+        final double REMAINDER = Math.abs(VALUE - Math.rint(VALUE / SPACE) * SPACE);
+        return REMAINDER < EPSILON;
+    }
+
+    private void ensureCapacity(final int CAPACITY) {
+        if (null != types && types.length >= CAPACITY) return;
+        types         = new byte[CAPACITY];
+        innerX        = new double[CAPACITY];
+        innerY        = new double[CAPACITY];
+        outerX        = new double[CAPACITY];
+        outerY        = new double[CAPACITY];
+        labels        = new String[CAPACITY];
+        labelX        = new double[CAPACITY];
+        labelY        = new double[CAPACITY];
+        labelRotation = new double[CAPACITY];
+    }
+}
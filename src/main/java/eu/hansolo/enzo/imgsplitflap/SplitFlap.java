@@ -16,12 +16,15 @@
 
 package eu.hansolo.enzo.imgsplitflap;
 
-import javafx.animation.AnimationTimer;
+import eu.hansolo.enzo.common.GlyphAtlas;
+import eu.hansolo.enzo.common.GlyphAtlas.GlyphRenderer;
+import eu.hansolo.enzo.common.GlyphAtlas.Part;
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
-import javafx.geometry.VPos;
 import javafx.scene.CacheHint;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -31,7 +34,6 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.scene.text.TextAlignment;
 import javafx.scene.transform.Rotate;
 import javafx.util.Duration;
 
@@ -69,7 +71,21 @@ public class SplitFlap extends Region {
     private static final double    MINIMUM_HEIGHT = 5;
     private static final double    MAXIMUM_WIDTH  = 1024;
     private static final double    MAXIMUM_HEIGHT = 1024;
-    private static final double    MIN_FLIP_TIME  = 16_666_666.6666667; // 60 fps
+    private static final GlyphRenderer GLYPH_RENDERER = (CTX, GLYPH, PART, COLOR, WIDTH, HEIGHT) -> {
+        CTX.setFill(COLOR);
+        switch (PART) {
+            case UPPER:
+                CTX.fillText(GLYPH, WIDTH * 0.44, HEIGHT * 0.43);
+                break;
+            case LOWER:
+                CTX.fillText(GLYPH, WIDTH * 0.44, 0);
+                break;
+            case BACK:
+                CTX.scale(1, -1);
+                CTX.fillText(GLYPH, WIDTH * 0.44, -HEIGHT * 0.405);
+                break;
+        }
+    };
     private String[]               selection;
     private ArrayList<String>      selectedSet;
     private int                    currentSelectionIndex;
@@ -85,6 +101,7 @@ public class SplitFlap extends Region {
     private ImageView              background;
     private ImageView              flap;
     private Font                   font;
+    private GlyphAtlas             glyphAtlas;
     private Canvas                 upperBackgroundText;
     private GraphicsContext        ctxUpperBackgroundText;
     private Canvas                 lowerBackgroundText;
@@ -96,9 +113,9 @@ public class SplitFlap extends Region {
     private Rotate                 rotateFlap;
     private Duration               flipTime;
     private boolean                flipping;
-    private double                 angleStep;
+    private long                   flipStart;
     private double                 currentAngle;
-    private AnimationTimer         timer;
+    private Subscription           pulse;
 
 
     // ******************** Constructors **************************************
@@ -120,12 +137,6 @@ public class SplitFlap extends Region {
         rotateFlap.setAngle(0);
         flipTime               = Duration.millis(100);
         flipping               = false;
-        angleStep              = 180.0 / ((flipTime.toMillis() * 1_000_000) / (MIN_FLIP_TIME));
-        timer                  = new AnimationTimer() {
-            @Override public void handle(long now) {
-                flip(angleStep);
-            }
-        };
         init();
         initGraphics();
         registerListeners();
@@ -176,27 +187,19 @@ public class SplitFlap extends Region {
 
         upperBackgroundText    = new Canvas();
         ctxUpperBackgroundText = upperBackgroundText.getGraphicsContext2D();
-        ctxUpperBackgroundText.setTextBaseline(VPos.CENTER);
-        ctxUpperBackgroundText.setTextAlign(TextAlignment.CENTER);
 
         lowerBackgroundText    = new Canvas();
         ctxLowerBackgroundText = lowerBackgroundText.getGraphicsContext2D();
-        ctxLowerBackgroundText.setTextBaseline(VPos.CENTER);
-        ctxLowerBackgroundText.setTextAlign(TextAlignment.CENTER);
 
         flapTextFront = new Canvas();
         flapTextFront.getTransforms().add(rotateFlap);
         ctxTextFront  = flapTextFront.getGraphicsContext2D();
-        ctxTextFront.setTextBaseline(VPos.CENTER);
-        ctxTextFront.setTextAlign(TextAlignment.CENTER);
 
         flapTextBack  = new Canvas();
         flapTextBack.getTransforms().add(rotateFlap);
         flapTextBack.setOpacity(0);
 
         ctxTextBack   = flapTextBack.getGraphicsContext2D();
-        ctxTextBack.setTextBaseline(VPos.CENTER);
-        ctxTextBack.setTextAlign(TextAlignment.CENTER);
 
         pane.getChildren().setAll(background,
                                   upperBackgroundText,
@@ -212,6 +215,14 @@ public class SplitFlap extends Region {
     private void registerListeners() {
         widthProperty().addListener(observable -> resize() );
         heightProperty().addListener(observable -> resize() );
+        sceneProperty().addListener(observable -> {
+            updateGlyphAtlas();
+            refreshTextCtx();
+        });
+        textColorProperty().addListener(observable -> {
+            updateGlyphAtlas();
+            refreshTextCtx();
+        });
     }
 
 
@@ -229,8 +240,7 @@ public class SplitFlap extends Region {
         return flipTime.toMillis();
     }
     public void setFlipTime(final double FLIP_TIME) {
-        flipTime  = Duration.millis(FLIP_TIME);
-        angleStep = 180.0 / ((flipTime.toMillis() * 1_000_000) / (MIN_FLIP_TIME));
+        flipTime = Duration.millis(FLIP_TIME);
     }
 
     public final String getText() {
@@ -248,7 +258,10 @@ public class SplitFlap extends Region {
                 text.set(TEXT);
             }
             flipping = true;
-            timer.start();
+            if (null == pulse) {
+                flipStart = 0;
+                pulse     = PulseScheduler.subscribe(this, 0, (NOW, TICK) -> flip(NOW));
+            }
         } else {
             if (null == text) {
                 _text = selectedSet.get(0);
@@ -318,64 +331,84 @@ public class SplitFlap extends Region {
         return super.computeMaxHeight(Math.min(MAXIMUM_WIDTH, MAX_WIDTH - getInsets().getLeft() - getInsets().getRight()));
     }
 
-    private void flip(final double ANGLE_STEP) {
-        currentAngle += ANGLE_STEP;
-        if (Double.compare(currentAngle, 180) >= 0) {
+    /**
+     * Derives the angle of the flap from the time that passed since the
+     * current flap started, so the flip time is independent of the frame
+     * rate. If more than one flip time passed since the last pulse (e.g.
+     * under load) the intermediate characters will be skipped so that the
+     * flap is back in time instead of queueing the missed flips.
+     * @param NOW the timestamp of the current pulse in nanoseconds
+     */
+    private void flip(final long NOW) {
+        if (0 == flipStart) flipStart = NOW;
+        final double FLIP_NANOS = Math.max(1, flipTime.toMillis() * 1_000_000);
+        final long   FLIPS      = (long) ((NOW - flipStart) / FLIP_NANOS);
+        if (FLIPS > 0) {
+            final int TARGET_INDEX = Math.max(0, selectedSet.indexOf(getText()));
+            final int DISTANCE     = Math.floorMod(TARGET_INDEX - currentSelectionIndex, selectedSet.size());
+            final int STEPS        = (int) Math.min(FLIPS, DISTANCE);
+            flipStart   += (long) (STEPS * FLIP_NANOS);
             currentAngle = 0;
             flapTextBack.setOpacity(0);
             flapTextFront.setOpacity(1);
-            currentSelectionIndex++;
-            if (currentSelectionIndex >= selectedSet.size()) {
-                currentSelectionIndex = 0;
-            }
-            nextSelectionIndex = currentSelectionIndex + 1;
+            currentSelectionIndex = (currentSelectionIndex + STEPS) % selectedSet.size();
+            nextSelectionIndex    = currentSelectionIndex + 1;
             if (nextSelectionIndex >= selectedSet.size()) {
                 nextSelectionIndex = 0;
             }
-            if (selectedSet.get(currentSelectionIndex).equals(getText())) {
-                timer.stop();
+            if (currentSelectionIndex == TARGET_INDEX) {
+                pulse.cancel();
+                pulse    = null;
                 flipping = false;
                 rotateFlap.setAngle(currentAngle);
             }
             refreshTextCtx();
         }
-        if (currentAngle > 90) {
-            flapTextFront.setOpacity(0);
-            flapTextBack.setOpacity(1);
-        }
         if (flipping) {
+            currentAngle = Math.min(180, (NOW - flipStart) / FLIP_NANOS * 180.0);
+            if (currentAngle > 90) {
+                flapTextFront.setOpacity(0);
+                flapTextBack.setOpacity(1);
+            }
             rotateFlap.setAngle(currentAngle);
         }
     }
 
     private void refreshTextCtx() {
-        //double flapX      = flap.getTranslateX();
-        //double flapY      = flap.getTranslateY();
-        double flapWidth  = flap.getLayoutBounds().getWidth(); //flapTextFront.getWidth();
-        double flapHeight = flap.getLayoutBounds().getHeight(); //flapTextFront.getHeight();
-        
+        if (null == glyphAtlas) return;
+        double flapWidth  = flap.getLayoutBounds().getWidth();
+        double flapHeight = flap.getLayoutBounds().getHeight();
+
         // set the text on the upper background
-        ctxUpperBackgroundText.clearRect(0, 0, flapWidth, flapHeight);
-        ctxUpperBackgroundText.setFill(getTextColor());
-        ctxUpperBackgroundText.fillText(selectedSet.get(nextSelectionIndex), width * 0.44, height * 0.43);
+        drawGlyph(ctxUpperBackgroundText, selectedSet.get(nextSelectionIndex), Part.UPPER, flapWidth, flapHeight);
 
         // set the text on the lower background
-        ctxLowerBackgroundText.clearRect(0, 0, flapWidth, flapHeight);
-        ctxLowerBackgroundText.setFill(getTextColor());
-        ctxLowerBackgroundText.fillText(selectedSet.get(currentSelectionIndex), width * 0.44, 0);
+        drawGlyph(ctxLowerBackgroundText, selectedSet.get(currentSelectionIndex), Part.LOWER, flapWidth, flapHeight);
 
         // set the text on the flap front
-        ctxTextFront.clearRect(0, 0, flapWidth, flapHeight);
-        ctxTextFront.setFill(getTextColor());
-        ctxTextFront.fillText(selectedSet.get(currentSelectionIndex), width * 0.44, height * 0.43);
+        drawGlyph(ctxTextFront, selectedSet.get(currentSelectionIndex), Part.UPPER, flapWidth, flapHeight);
 
         // set the text on the flap back
-        ctxTextBack.clearRect(0, 0, flapWidth, flapHeight);
-        ctxTextBack.setFill(getTextColor());
-        ctxTextBack.save();
-        ctxTextBack.scale(1,-1);
-        ctxTextBack.fillText(selectedSet.get(nextSelectionIndex), width * 0.44, -height * 0.405);
-        ctxTextBack.restore();
+        drawGlyph(ctxTextBack, selectedSet.get(nextSelectionIndex), Part.BACK, flapWidth, flapHeight);
+    }
+
+    private void drawGlyph(final GraphicsContext CTX, final String GLYPH, final Part PART, final double FLAP_WIDTH, final double FLAP_HEIGHT) {
+        CTX.clearRect(0, 0, FLAP_WIDTH, FLAP_HEIGHT);
+        final Image IMAGE = glyphAtlas.getImage(GLYPH, PART);
+        if (null != IMAGE) CTX.drawImage(IMAGE, 0, 0);
+    }
+
+    /**
+     * Fetches the shared atlas for the current size and text color and
+     * releases the previous one. The atlas will be released when the
+     * split flap is removed from the scene.
+     */
+    private void updateGlyphAtlas() {
+        final GlyphAtlas PREVIOUS_ATLAS = glyphAtlas;
+        glyphAtlas = null == getScene() || width <= 0 || height <= 0 ? null :
+                     GlyphAtlas.acquire(GLYPH_RENDERER, selection, font, getTextColor(), width, height,
+                                        flap.getLayoutBounds().getWidth(), flap.getLayoutBounds().getHeight());
+        if (null != PREVIOUS_ATLAS) PREVIOUS_ATLAS.release();
     }
 
 
@@ -429,11 +462,7 @@ public class SplitFlap extends Region {
             flapTextBack.setTranslateX(flap.getTranslateX());
             flapTextBack.setTranslateY(flap.getTranslateY());
 
-            ctxUpperBackgroundText.setFont(font);
-            ctxLowerBackgroundText.setFont(font);
-            ctxTextFront.setFont(font);
-            ctxTextBack.setFont(font);
-
+            updateGlyphAtlas();
             refreshTextCtx();
         }
     }
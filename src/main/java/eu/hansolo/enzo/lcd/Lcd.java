@@ -16,15 +16,19 @@
 
 package eu.hansolo.enzo.lcd;
 
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import eu.hansolo.enzo.common.ValueIngest;
+import eu.hansolo.enzo.common.WindowStatistics;
 import eu.hansolo.enzo.lcd.skin.LcdSkin;
 import javafx.animation.Animation;
-import javafx.animation.AnimationTimer;
 import javafx.animation.Interpolator;
 import javafx.animation.Transition;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.DoublePropertyBase;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -123,6 +127,10 @@ public class Lcd extends Control {
     private String                       _text = "";
     private StringProperty               text;
     private DoubleProperty               value;
+    private ValueIngest                  valueIngest;
+    private double                       _statisticsWindow = 0;
+    private DoubleProperty               statisticsWindow;
+    private WindowStatistics             windowStatistics;
     private DoubleProperty               currentValue;
     private DoubleProperty               formerValue;
     private double                       _minValue = 0.0;
@@ -218,12 +226,8 @@ public class Lcd extends Control {
     private boolean                      _AlarmVisible = false;
     private BooleanProperty              alarmVisible;
     private Transition                   toValueAnimation;
-    private boolean                      toggleValue;
-    private boolean                      toggleThreshold;
     private long                         interval;
-    private long                         lastBlinkTimerCall;
-    private long                         lastThresholdTimerCall;
-    private AnimationTimer               timer;
+    private Subscription                 blinkSubscription;
 
 
     // ******************** Constructors **************************************
@@ -232,28 +236,12 @@ public class Lcd extends Control {
         value                     = new SimpleDoubleProperty(0);
         currentValue              = new SimpleDoubleProperty(0);
         formerValue               = new SimpleDoubleProperty(0);
+        valueIngest               = new ValueIngest(this, VALUE -> setValue(VALUE));
+        windowStatistics          = new WindowStatistics(this);
         initialized               = false;
         firstTime                 = true;
         keepAspect                = true;
-        toggleValue               = false;
-        toggleThreshold           = false;
         interval                  = 500_000_000l;
-        lastBlinkTimerCall        = System.nanoTime();
-        lastThresholdTimerCall    = System.nanoTime();
-        timer                     = new AnimationTimer() {
-            @Override public void handle(final long NOW) {
-                if (isBlinking() && NOW > lastBlinkTimerCall + interval) {
-                    toggleValue ^= true;
-                    setValueVisible(toggleValue);
-                    lastBlinkTimerCall = NOW;
-                }
-                if (isThresholdExceeded() && NOW > lastThresholdTimerCall + interval) {
-                    toggleThreshold ^= true;
-                    thresholdVisible.set(toggleThreshold);
-                    lastThresholdTimerCall = NOW;
-                }
-            }
-        };
         toValueAnimation           = new Transition() {
             {
                 setCycleDuration(Duration.millis(getAnimationDuration()));
@@ -357,11 +345,34 @@ public class Lcd extends Control {
     public final void setValue(final double VALUE) {
         formerValue.set(value.get());
         value.set(clamp(getMinValue(), getMaxValue(), VALUE));
+        windowStatistics.add(value.get());
     }
     public final ReadOnlyDoubleProperty valueProperty() {
         return value;
     }
 
+    /**
+     * Submits a new value, could be called from any thread. The values
+     * will be coalesced and set on the JavaFX application thread at most
+     * once per pulse.
+     * @param VALUE
+     */
+    public final void submitValue(final double VALUE) {
+        valueIngest.submit(VALUE);
+    }
+
+    /**
+     * Defines which of the submitted values will be set if more than one
+     * value was submitted within one pulse
+     * @return the aggregation of submitted values
+     */
+    public final ValueIngest.Aggregation getValueAggregation() {
+        return valueIngest.getAggregation();
+    }
+    public final void setValueAggregation(final ValueIngest.Aggregation AGGREGATION) {
+        valueIngest.setAggregation(AGGREGATION);
+    }
+
     public final double getCurrentValue() {
         return currentValue.get();
     }
@@ -501,6 +512,56 @@ public class Lcd extends Control {
         setMaxMeasuredValue(getValue());
     }
 
+    /**
+     * The length of the window in milliseconds for the min, max and
+     * average window values, 0 disables the window statistics. If a window
+     * is set the skin shows the minimum and maximum of the window instead
+     * of the all time min- and maxMeasuredValue.
+     * @return the length of the statistics window in milliseconds
+     */
+    public final double getStatisticsWindow() {
+        return null == statisticsWindow ? _statisticsWindow : statisticsWindow.get();
+    }
+    public final void setStatisticsWindow(final double STATISTICS_WINDOW) {
+        if (null == statisticsWindow) {
+            _statisticsWindow = Math.max(0, STATISTICS_WINDOW);
+            windowStatistics.setWindow(_statisticsWindow);
+        } else {
+            statisticsWindow.set(Math.max(0, STATISTICS_WINDOW));
+        }
+    }
+    public final DoubleProperty statisticsWindowProperty() {
+        if (null == statisticsWindow) {
+            statisticsWindow = new DoublePropertyBase(_statisticsWindow) {
+                @Override protected void invalidated() { windowStatistics.setWindow(get()); }
+                @Override public Object getBean() { return this; }
+                @Override public String getName() { return "statisticsWindow"; }
+            };
+        }
+        return statisticsWindow;
+    }
+
+    public final double getWindowMinValue() {
+        return windowStatistics.getMin();
+    }
+    public final ReadOnlyDoubleProperty windowMinValueProperty() {
+        return windowStatistics.minProperty();
+    }
+
+    public final double getWindowMaxValue() {
+        return windowStatistics.getMax();
+    }
+    public final ReadOnlyDoubleProperty windowMaxValueProperty() {
+        return windowStatistics.maxProperty();
+    }
+
+    public final double getWindowAverageValue() {
+        return windowStatistics.getAverage();
+    }
+    public final ReadOnlyDoubleProperty windowAverageValueProperty() {
+        return windowStatistics.averageProperty();
+    }
+
     public final double getThreshold() {
         return null == threshold ? _threshold : threshold.get();
     }
@@ -1023,9 +1084,14 @@ public class Lcd extends Control {
             blinking.set(BLINKING);
         }
         if (BLINKING) {
-            timer.start();
+            if (null == blinkSubscription) {
+                blinkSubscription = PulseScheduler.subscribe(this, interval, (NOW, TICK) -> blink(TICK));
+            }
         } else {
-            timer.stop();
+            if (null != blinkSubscription) {
+                blinkSubscription.cancel();
+                blinkSubscription = null;
+            }
             setValueVisible(true);
         }
     }
@@ -1209,6 +1275,16 @@ public class Lcd extends Control {
         }
     }
 
+    private void blink(final long TICK) {
+        final boolean TOGGLE = (TICK & 1) != 0;
+        if (isBlinking()) {
+            setValueVisible(TOGGLE);
+        }
+        if (isThresholdExceeded()) {
+            setThresholdVisible(TOGGLE);
+        }
+    }
+
 
     // ******************** Style related *************************************
     @Override protected Skin createDefaultSkin() {
@@ -81,6 +81,11 @@ public class LcdBuilder<B extends LcdBuilder<B>> {
         return this;
     }
 
+    public final LcdBuilder statisticsWindowInMs(final double STATISTICS_WINDOW_IN_MS) {
+        properties.put("statisticsWindow", new SimpleDoubleProperty(STATISTICS_WINDOW_IN_MS));
+        return this;
+    }
+
     public final LcdBuilder threshold(final double THRESHOLD) {
         properties.put("threshold", new SimpleDoubleProperty(THRESHOLD));
         return this;
@@ -372,6 +377,8 @@ public class LcdBuilder<B extends LcdBuilder<B>> {
                 CONTROL.setAnimated(((BooleanProperty) properties.get(key)).get());
             } else if ("animationDuration".equals(key)) {
                 CONTROL.setAnimationDuration(((DoubleProperty) properties.get(key)).get());
+            } else if ("statisticsWindow".equals(key)) {
+                CONTROL.setStatisticsWindow(((DoubleProperty) properties.get(key)).get());
             } else if("threshold".equals(key)) {
                 CONTROL.setThreshold(((DoubleProperty) properties.get(key)).get());
             } else if("decimals".equals(key)) {
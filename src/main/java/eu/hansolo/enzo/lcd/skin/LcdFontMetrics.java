@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.lcd.skin;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * The advance widths of the printable ascii chars of one font in one size.
+ * The widths are measured once per font and size, after that the width of
+ * a text like a formatted value or the background segments is a simple
+ * sum. The metrics of the most recently used fonts are kept in a small
+ * cache that is shared by all lcds, so lcds with the same font and size
+ * and resizing back and forth do not measure again.
+ * Chars outside of the table will be measured on demand.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 10:12
+ */
+final class LcdFontMetrics {
+    private static final int                       FIRST_CHAR = 32;
+    private static final int                       LAST_CHAR  = 126;
+    private static final int                       CACHE_SIZE = 16;
+    private static final Text                      MEASURE    = new Text();
+    private static final Map<Font, LcdFontMetrics> CACHE      = new LinkedHashMap<Font, LcdFontMetrics>(CACHE_SIZE, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Font, LcdFontMetrics> ELDEST) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final Font                             FONT;
+    private final double[]                         WIDTHS;
+    private final double                           HEIGHT;
+
+
+    // ******************** Constructors **************************************
+    private LcdFontMetrics(final Font FONT) {
+        this.FONT = FONT;
+        WIDTHS    = new double[LAST_CHAR - FIRST_CHAR + 1];
+        MEASURE.setFont(FONT);
+        for (int i = 0 ; i < WIDTHS.length ; i++) {
+            MEASURE.setText(String.valueOf((char) (FIRST_CHAR + i)));
+            WIDTHS[i] = MEASURE.getLayoutBounds().getWidth();
+        }
+        HEIGHT = MEASURE.getLayoutBounds().getHeight();
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * @param FONT
+     * @return the metrics of the given font, measured only if not cached
+     */
+    static LcdFontMetrics get(final Font FONT) {
+        LcdFontMetrics metrics = CACHE.get(FONT);
+        if (null == metrics) {
+            metrics = new LcdFontMetrics(FONT);
+            CACHE.put(FONT, metrics);
+        }
+        return metrics;
+    }
+
+    Font getFont() {
+        return FONT;
+    }
+
+    /**
+     * @return the height of one line of text in this font
+     */
+    double getHeight() {
+        return HEIGHT;
+    }
+
+    /**
+     * @param CHAR
+     * @return the advance width of the given char
+     */
+    double getWidth(final char CHAR) {
+        if (CHAR >= FIRST_CHAR && CHAR <= LAST_CHAR) return WIDTHS[CHAR - FIRST_CHAR];
+        MEASURE.setFont(FONT);
+        MEASURE.setText(String.valueOf(CHAR));
+        return MEASURE.getLayoutBounds().getWidth();
+    }
+
+    /**
+     * @param TEXT
+     * @return the width of the given text as the sum of its char widths
+     */
+    double getWidth(final CharSequence TEXT) {
+        double width = 0;
+        for (int i = 0 ; i < TEXT.length() ; i++) width += getWidth(TEXT.charAt(i));
+        return width;
+    }
+}
@@ -16,6 +16,8 @@
 
 package eu.hansolo.enzo.lcd.skin;
 
+import eu.hansolo.enzo.common.NoiseTexture;
+import eu.hansolo.enzo.common.NumberFormatter;
 import eu.hansolo.enzo.lcd.Lcd;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.VPos;
@@ -25,24 +27,16 @@ import javafx.scene.control.SkinBase;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.InnerShadow;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.image.PixelWriter;
-import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.SVGPath;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
-import java.util.Random;
-
 
 public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
     private static final double        PREFERRED_WIDTH    = 132;
@@ -52,19 +46,27 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
     private static final double        MAXIMUM_WIDTH      = 1024;
     private static final double        MAXIMUM_HEIGHT     = 1024;
     private static double              aspectRatio        = PREFERRED_HEIGHT / PREFERRED_WIDTH;
-    private static Text                oneSegment         = new Text("8");
-    private static final DecimalFormat DEC_FORMAT         = new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.US));
     private static final boolean       SCIFI_FORMAT       = false;
     private static final Color         DARK_NOISE_COLOR   = Color.rgb(100, 100, 100, 0.10);
     private static final Color         BRIGHT_NOISE_COLOR = Color.rgb(200, 200, 200, 0.05);
     private static final DropShadow    FOREGROUND_SHADOW  = new DropShadow();
+    private static final int           VALUE_DIRTY        = 1;
+    private static final int           TITLE_DIRTY        = 1 << 1;
+    private static final int           UPPER_LEFT_DIRTY   = 1 << 2;
+    private static final int           UPPER_RIGHT_DIRTY  = 1 << 3;
+    private static final int           LOWER_CENTER_DIRTY = 1 << 4;
+    private static final int           LOWER_RIGHT_DIRTY  = 1 << 5;
+    private static final int           BATTERY_DIRTY      = 1 << 6;
+    private static final int           SIGNAL_DIRTY       = 1 << 7;
+    private static final int           ALL_DIRTY          = 0xFF;
+    private static final String[]      BATTERY_STYLES     = { "battery-empty", "battery-almost-empty", "battery-25", "battery-50", "battery-75", "battery-almost-full", "battery-full" };
+    private static final String[]      SIGNAL_STYLES      = { "signal-0", "signal-25", "signal-50", "signal-75", "signal-100" };
     private double                     width;
     private double                     height;
     private Pane                       pane;
     private Region                     frame;
     private Region                     main;
-    private ImageView                  crystalOverlay;
-    private Image                      crystalImage;
+    private Rectangle                  crystalOverlay;
     private SVGPath                    mainClip;
     private InnerShadow                mainInnerShadow0;
     private InnerShadow                mainInnerShadow1;
@@ -92,13 +94,22 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
     private Font                       unitFont;
     private Font                       titleFont;
     private Font                       smallFont;
+    private LcdFontMetrics             valueFontMetrics;
+    private char                       oneSegment;
     private double                     oneSegmentWidth;
     private double                     widthOfDecimals;
     private double                     availableWidth;
     private int                        noOfSegments;
     private StringBuilder              backgroundTextBuilder;
-    private StringBuilder              decBuffer;
+    private LcdFontMetrics             backgroundFontMetrics;
+    private double                     backgroundAvailableWidth;
+    private double                     backgroundTextWidth;
+    private int                        backgroundDecimals;
+    private NumberFormatter            formatter;
     private Group                      shadowGroup;
+    private int                        dirty;
+    private int                        batteryBucket;
+    private int                        signalBucket;
 
 
     // ******************** Constructors **************************************
@@ -109,7 +120,10 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
         valueOffsetRight      = 0.0;
         digitalFontSizeFactor = 1.0;
         backgroundTextBuilder = new StringBuilder();
-        decBuffer             = new StringBuilder(16);
+        formatter             = new NumberFormatter();
+        dirty                 = ALL_DIRTY;
+        batteryBucket         = -1;
+        signalBucket          = -1;
         FOREGROUND_SHADOW.setOffsetX(0);
         FOREGROUND_SHADOW.setOffsetY(1);
         FOREGROUND_SHADOW.setColor(Color.rgb(0, 0, 0, 0.5));
@@ -185,8 +199,8 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
                             "C 131 5 131 43 131 43 C 131 45 129 47 127 47 C 127 47 5 47 5 47 " +
                             "C 3 47 1 45 1 43 C 1 43 1 5 1 5 Z");
 
-        crystalImage = createNoiseImage(132, 48, DARK_NOISE_COLOR, BRIGHT_NOISE_COLOR, 8);
-        crystalOverlay = new ImageView(crystalImage);
+        crystalOverlay = new Rectangle(0, 0, PREFERRED_WIDTH, PREFERRED_HEIGHT);
+        crystalOverlay.setFill(NoiseTexture.getPattern(DARK_NOISE_COLOR, BRIGHT_NOISE_COLOR, 8));
         crystalOverlay.setClip(mainClip);
         crystalOverlay.setOpacity(getSkinnable().isCrystalOverlayVisible() ? 1 : 0);
 
@@ -290,20 +304,27 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
     private void registerListeners() {
         getSkinnable().widthProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
         getSkinnable().heightProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
-        getSkinnable().titleProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
+        getSkinnable().titleProperty().addListener(observable -> handleControlPropertyChanged("TITLE") );
         getSkinnable().unitProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().lowerRightTextProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().numberSystemProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
+        getSkinnable().lowerRightTextProperty().addListener(observable -> handleControlPropertyChanged("LOWER_RIGHT") );
+        getSkinnable().numberSystemProperty().addListener(observable -> handleControlPropertyChanged("NUMBER_SYSTEM") );
         getSkinnable().textModeProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
         getSkinnable().textProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().currentValueProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().lowerCenterTextProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().minMeasuredValueProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().maxMeasuredValueProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().upperLeftTextProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().upperRightTextProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().batteryChargeProperty().addListener(observable -> handleControlPropertyChanged("UPDATE") );
-        getSkinnable().signalStrengthProperty().addListener(observable -> handleControlPropertyChanged("UPDATE"));
+        getSkinnable().currentValueProperty().addListener(observable -> handleControlPropertyChanged("VALUE") );
+        getSkinnable().lowerCenterTextProperty().addListener(observable -> handleControlPropertyChanged("LOWER_CENTER") );
+        getSkinnable().minMeasuredValueProperty().addListener(observable -> handleControlPropertyChanged("MIN_MEASURED_VALUE") );
+        getSkinnable().maxMeasuredValueProperty().addListener(observable -> handleControlPropertyChanged("MAX_MEASURED_VALUE") );
+        getSkinnable().windowMinValueProperty().addListener(observable -> handleControlPropertyChanged("MIN_MEASURED_VALUE") );
+        getSkinnable().windowMaxValueProperty().addListener(observable -> handleControlPropertyChanged("MAX_MEASURED_VALUE") );
+        getSkinnable().statisticsWindowProperty().addListener(observable -> handleControlPropertyChanged("STATISTICS_WINDOW") );
+        getSkinnable().upperLeftTextProperty().addListener(observable -> handleControlPropertyChanged("UPPER_LEFT") );
+        getSkinnable().upperRightTextProperty().addListener(observable -> handleControlPropertyChanged("UPPER_RIGHT") );
+        getSkinnable().batteryChargeProperty().addListener(observable -> handleControlPropertyChanged("BATTERY") );
+        getSkinnable().signalStrengthProperty().addListener(observable -> handleControlPropertyChanged("SIGNAL"));
+        getSkinnable().formerValueProperty().addListener(observable -> handleControlPropertyChanged("FORMER_VALUE") );
+        getSkinnable().decimalsProperty().addListener(observable -> handleControlPropertyChanged("DECIMALS") );
+        getSkinnable().minMeasuredValueDecimalsProperty().addListener(observable -> handleControlPropertyChanged("UPPER_LEFT") );
+        getSkinnable().maxMeasuredValueDecimalsProperty().addListener(observable -> handleControlPropertyChanged("UPPER_RIGHT") );
         getSkinnable().prefWidthProperty().addListener(observable -> handleControlPropertyChanged("PREF_SIZE") );
         getSkinnable().prefHeightProperty().addListener(observable -> handleControlPropertyChanged("PREF_SIZE") );
         getSkinnable().valueFontProperty().addListener(observable -> handleControlPropertyChanged("FONT") );
@@ -331,7 +352,7 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
         getSkinnable().getStyleClass().addListener(new ListChangeListener<String>() {
             @Override public void onChanged(Change<? extends String> change) {
                 resize();
-                updateLcd();
+                updateLcd(ALL_DIRTY);
             }
         });
     }
@@ -340,10 +361,38 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
     // ******************** Methods *******************************************
     protected void handleControlPropertyChanged(final String PROPERTY) {    
         if ("UPDATE".equals(PROPERTY)) {
-            updateLcd();
+            updateLcd(ALL_DIRTY);
+        } else if ("VALUE".equals(PROPERTY)) {
+            updateLcd(VALUE_DIRTY);
+        } else if ("DECIMALS".equals(PROPERTY)) {
+            updateLcd(VALUE_DIRTY | LOWER_CENTER_DIRTY | LOWER_RIGHT_DIRTY);
+        } else if ("NUMBER_SYSTEM".equals(PROPERTY)) {
+            updateLcd(VALUE_DIRTY | LOWER_RIGHT_DIRTY);
+        } else if ("TITLE".equals(PROPERTY)) {
+            updateLcd(TITLE_DIRTY | UPPER_LEFT_DIRTY | UPPER_RIGHT_DIRTY);
+        } else if ("UPPER_LEFT".equals(PROPERTY)) {
+            updateLcd(UPPER_LEFT_DIRTY);
+        } else if ("UPPER_RIGHT".equals(PROPERTY)) {
+            updateLcd(UPPER_RIGHT_DIRTY);
+        } else if ("MIN_MEASURED_VALUE".equals(PROPERTY)) {
+            if (getSkinnable().isMinMeasuredValueVisible()) updateLcd(UPPER_LEFT_DIRTY);
+        } else if ("MAX_MEASURED_VALUE".equals(PROPERTY)) {
+            if (getSkinnable().isMaxMeasuredValueVisible()) updateLcd(UPPER_RIGHT_DIRTY);
+        } else if ("STATISTICS_WINDOW".equals(PROPERTY)) {
+            updateLcd(UPPER_LEFT_DIRTY | UPPER_RIGHT_DIRTY);
+        } else if ("LOWER_CENTER".equals(PROPERTY)) {
+            updateLcd(LOWER_CENTER_DIRTY | LOWER_RIGHT_DIRTY);
+        } else if ("FORMER_VALUE".equals(PROPERTY)) {
+            if (getSkinnable().isFormerValueVisible()) updateLcd(LOWER_CENTER_DIRTY | LOWER_RIGHT_DIRTY);
+        } else if ("LOWER_RIGHT".equals(PROPERTY)) {
+            updateLcd(LOWER_RIGHT_DIRTY);
+        } else if ("BATTERY".equals(PROPERTY)) {
+            updateLcd(BATTERY_DIRTY);
+        } else if ("SIGNAL".equals(PROPERTY)) {
+            updateLcd(SIGNAL_DIRTY);
         } else if ("RESIZE".equals(PROPERTY)) {
             resize();
-            updateLcd();
+            updateLcd(ALL_DIRTY);
         } else if ("PREF_SIZE".equals(PROPERTY)) {
             aspectRatio = getSkinnable().getPrefHeight() / getSkinnable().getPrefWidth();
         } else if ("BACKGROUND_VISIBLE".equals(PROPERTY)) {
@@ -363,18 +412,23 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
             }
         } else if ("FONT".equals(PROPERTY)) {
             updateFonts();
+            updateLcd(ALL_DIRTY);
         } else if ("VALUE_VISIBLE".equals(PROPERTY)) {
             text.setOpacity(getSkinnable().isValueVisible() ? 1 : 0);
         } else if ("UNIT_VISIBLE".equals(PROPERTY)) {
             unitText.setOpacity(getSkinnable().isUnitVisible() ? 1 : 0);
+            updateLcd(VALUE_DIRTY);
         } else if ("FORMER_VALUE_VISIBLE".equals(PROPERTY)) {
             lowerCenterText.setOpacity(getSkinnable().isFormerValueVisible() ? 1 : 0);
+            updateLcd(LOWER_CENTER_DIRTY | LOWER_RIGHT_DIRTY);
         } else if ("MAX_MEASURED_VISIBLE".equals(PROPERTY)) {
             upperRightText.setOpacity(getSkinnable().isMaxMeasuredValueVisible() ? 1 : 0);
+            updateLcd(UPPER_RIGHT_DIRTY);
         } else if ("MIN_MEASURED_VISIBLE".equals(PROPERTY)) {
             upperLeftText.setOpacity(getSkinnable().isMinMeasuredValueVisible() ? 1 : 0);
+            updateLcd(UPPER_LEFT_DIRTY);
         } else if ("NUMBER_SYSTEM_VISIBLE".equals(PROPERTY)) {
-            updateLcd();
+            updateLcd(LOWER_RIGHT_DIRTY);
         } else if ("LOWER_RIGHT_VISIBLE".equals(PROPERTY)) {
             lowerRightText.setOpacity(getSkinnable().isLowerRightTextVisible() ? 1 : 0);
         } else if ("UPPER_LEFT_VISIBLE".equals(PROPERTY)) {
@@ -423,52 +477,35 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
     // ******************** Private Methods ***********************************
     private boolean isNoOfDigitsInvalid() {
         final double AVAILABLE_WIDTH = width - 2 - valueOffsetLeft - valueOffsetRight;
-        final double NEEDED_WIDTH    = text.getLayoutBounds().getWidth();
+        final double NEEDED_WIDTH    = getValueFontMetrics().getWidth(text.getText());
 
         return Double.compare(AVAILABLE_WIDTH, NEEDED_WIDTH) < 0;
     }
 
-    private String formatLcdValue(final double VALUE, final int DECIMALS) {
-        decBuffer.setLength(0);
-        decBuffer.append("0");
-
-        if (DECIMALS > 0) {
-            decBuffer.append(".");
-        }
-
-        for (int i = 0; i < DECIMALS; i++) {
-            decBuffer.append("0");
+    /**
+     * @return the glyph metrics of the current value font
+     */
+    private LcdFontMetrics getValueFontMetrics() {
+        if (null == valueFontMetrics || valueFontMetrics.getFont() != text.getFont()) {
+            valueFontMetrics = LcdFontMetrics.get(text.getFont());
         }
+        return valueFontMetrics;
+    }
 
-        if (SCIFI_FORMAT) {
-            decBuffer.append("E0");
-        }
-        decBuffer.trimToSize();
-
-        DEC_FORMAT.applyPattern(decBuffer.toString());
-        return DEC_FORMAT.format(VALUE);
+    private String formatLcdValue(final double VALUE, final int DECIMALS) {
+        return SCIFI_FORMAT ? formatter.formatScientific(VALUE, DECIMALS) : formatter.format(VALUE, DECIMALS);
     }
 
-    private Image createNoiseImage(final double WIDTH, final double HEIGHT, final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
-        int width  = WIDTH <= 0 ? (int) PREFERRED_WIDTH : (int) WIDTH;
-        int height = HEIGHT <= 0 ? (int) PREFERRED_HEIGHT : (int) HEIGHT;
-        double alphaVariationInPercent      = getSkinnable().clamp(0, 100, ALPHA_VARIATION_IN_PERCENT);
-        final WritableImage IMAGE           = new WritableImage(width, height);
-        final PixelWriter   PIXEL_WRITER    = IMAGE.getPixelWriter();
-        final Random        BW_RND          = new Random();
-        final Random        ALPHA_RND       = new Random();
-        final double        ALPHA_START     = alphaVariationInPercent / 100 / 2;
-        final double        ALPHA_VARIATION = alphaVariationInPercent / 100;
-        Color noiseColor;
-        double noiseAlpha;
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                noiseColor = BW_RND.nextBoolean() == true ? BRIGHT_COLOR : DARK_COLOR;
-                noiseAlpha = getSkinnable().clamp(0, 1, ALPHA_START + ALPHA_RND.nextDouble() * ALPHA_VARIATION);
-                PIXEL_WRITER.setColor(x, y, Color.color(noiseColor.getRed(), noiseColor.getGreen(), noiseColor.getBlue(), noiseAlpha));
-            }
-        }
-        return IMAGE;
+    /**
+     * The value of the upper left text, the minimum of the statistics
+     * window if there is one, otherwise the all time minimum
+     * @return the value of the min measured value text
+     */
+    private double getMinIndicatorValue() {
+        return getSkinnable().getStatisticsWindow() > 0 ? getSkinnable().getWindowMinValue() : getSkinnable().getMinMeasuredValue();
+    }
+    private double getMaxIndicatorValue() {
+        return getSkinnable().getStatisticsWindow() > 0 ? getSkinnable().getWindowMaxValue() : getSkinnable().getMaxMeasuredValue();
     }
 
     private void updateFonts() {
@@ -570,142 +607,197 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
     }
 
     private void updateBackgroundText() {
+        final LcdFontMetrics METRICS  = getValueFontMetrics();
+        final char           SEGMENT;
+        switch (getSkinnable().getValueFont()) {
+            case DIGITAL:
+            case DIGITAL_BOLD:
+            case ELEKTRA:
+                SEGMENT = '_';
+                break;
+            case LCD:
+            default:
+                SEGMENT = '8';
+                break;
+        }
+        final int    DECIMALS        = getSkinnable().getDecimals();
+        final double AVAILABLE_WIDTH = width - 2 - valueOffsetRight;
+
+        // Only rebuild the background text if width, decimals or font have changed
+        if (METRICS == backgroundFontMetrics && SEGMENT == oneSegment && DECIMALS == backgroundDecimals &&
+            Double.compare(AVAILABLE_WIDTH, backgroundAvailableWidth) == 0) {
+            return;
+        }
+        backgroundFontMetrics    = METRICS;
+        oneSegment               = SEGMENT;
+        backgroundDecimals       = DECIMALS;
+        backgroundAvailableWidth = AVAILABLE_WIDTH;
+
         // Setup the semitransparent background text
         backgroundText.setTextOrigin(VPos.BASELINE);
         backgroundText.setTextAlignment(TextAlignment.RIGHT);
 
-        // Setup the semitransparent background text
         // Width of one segment
-        oneSegment.setFont(valueFont);
-        if (Lcd.LcdFont.LCD == getSkinnable().getValueFont()) {
-            oneSegment.setText("8");
-        } else if (Lcd.LcdFont.DIGITAL == getSkinnable().getValueFont()) {
-            oneSegment.setText("_");
-        } else if (Lcd.LcdFont.DIGITAL_BOLD == getSkinnable().getValueFont()) {
-            oneSegment.setText("_");
-        } else if (Lcd.LcdFont.ELEKTRA == getSkinnable().getValueFont()) {
-            oneSegment.setText("_");
-        }
-        oneSegmentWidth = oneSegment.getLayoutBounds().getWidth();
+        oneSegmentWidth = METRICS.getWidth(SEGMENT);
 
         // Width of decimals
-        widthOfDecimals = getSkinnable().getDecimals() == 0 ? 0 : getSkinnable().getDecimals() * oneSegmentWidth + oneSegmentWidth;
+        widthOfDecimals = DECIMALS == 0 ? 0 : DECIMALS * oneSegmentWidth + oneSegmentWidth;
 
         // Available width
-        availableWidth = width - 2 - valueOffsetRight - widthOfDecimals;
+        availableWidth = AVAILABLE_WIDTH - widthOfDecimals;
 
         // Number of segments
-        noOfSegments = (int) Math.floor(availableWidth / oneSegmentWidth);
+        noOfSegments = oneSegmentWidth > 0 ? Math.max(0, (int) Math.floor(availableWidth / oneSegmentWidth)) : 0;
 
         // Add segments to background text
         backgroundTextBuilder.setLength(0);
-        for (int i = 0 ; i < getSkinnable().getDecimals() ; i++) {
-            backgroundTextBuilder.append(oneSegment.getText());
+        for (int i = 0 ; i < noOfSegments ; i++) {
+            backgroundTextBuilder.append(SEGMENT);
         }
-        if (getSkinnable().getDecimals() != 0) {
-            backgroundTextBuilder.insert(0, ".");
+        if (DECIMALS != 0) {
+            backgroundTextBuilder.append('.');
         }
-
-        for (int i = 0 ; i < noOfSegments ; i++) {
-            backgroundTextBuilder.insert(0, oneSegment.getText());
+        for (int i = 0 ; i < DECIMALS ; i++) {
+            backgroundTextBuilder.append(SEGMENT);
         }
+        backgroundTextWidth = METRICS.getWidth(backgroundTextBuilder);
         backgroundText.setText(backgroundTextBuilder.toString());
     }
 
+    /**
+     * Marks the given parts of the lcd as dirty and updates all dirty
+     * parts, so a new value only touches the value text and the style
+     * classes of battery and signal only change if their bucket changed
+     * @param DIRTY the parts that have to be updated
+     */
+    private void updateLcd(final int DIRTY) {
+        dirty |= DIRTY;
+        updateLcd();
+    }
+
     private void updateLcd() {
-        switch (getSkinnable().getNumberSystem()) {
-            case HEXADECIMAL:
-                text.setText(Integer.toHexString((int) getSkinnable().getCurrentValue()).toUpperCase());
-                break;
-            case OCTAL:
-                text.setText(Integer.toOctalString((int) getSkinnable().getCurrentValue()).toUpperCase());
-                break;
-            case DECIMAL:
-            default:
-                text.setText(formatLcdValue(getSkinnable().getCurrentValue(), getSkinnable().getDecimals()));
-                break;
-        }
+        if ((dirty & VALUE_DIRTY) != 0) {
+            switch (getSkinnable().getNumberSystem()) {
+                case HEXADECIMAL:
+                    text.setText(Integer.toHexString((int) getSkinnable().getCurrentValue()).toUpperCase());
+                    break;
+                case OCTAL:
+                    text.setText(Integer.toOctalString((int) getSkinnable().getCurrentValue()).toUpperCase());
+                    break;
+                case DECIMAL:
+                default:
+                    text.setText(formatLcdValue(getSkinnable().getCurrentValue(), getSkinnable().getDecimals()));
+                    break;
+            }
 
-        if (isNoOfDigitsInvalid()) {
-            text.setText("-E-");
-        }
+            if (isNoOfDigitsInvalid()) {
+                text.setText("-E-");
+            }
 
-        updateBackgroundText();
+            updateBackgroundText();
 
-        // Visualize the lcd semitransparent background text
-        if (getSkinnable().isUnitVisible()) {
-            backgroundText.setX(width - 2 - backgroundText.getLayoutBounds().getWidth() - valueOffsetRight);
-        } else {
-            backgroundText.setX((width - backgroundText.getLayoutBounds().getWidth()) - valueOffsetRight);
-        }
-        backgroundText.setY(height - (backgroundText.getLayoutBounds().getHeight() * digitalFontSizeFactor) * 0.5);
+            // Visualize the lcd semitransparent background text
+            if (getSkinnable().isUnitVisible()) {
+                backgroundText.setX(width - 2 - backgroundTextWidth - valueOffsetRight);
+            } else {
+                backgroundText.setX((width - backgroundTextWidth) - valueOffsetRight);
+            }
+            backgroundText.setY(height - (getValueFontMetrics().getHeight() * digitalFontSizeFactor) * 0.5);
 
-        if (getSkinnable().isUnitVisible()) {
-            text.setX((width - 2 - text.getLayoutBounds().getWidth()) - valueOffsetRight);
-        } else {
-            text.setX((width - text.getLayoutBounds().getWidth()) - valueOffsetRight);
+            if (getSkinnable().isUnitVisible()) {
+                text.setX((width - 2 - text.getLayoutBounds().getWidth()) - valueOffsetRight);
+            } else {
+                text.setX((width - text.getLayoutBounds().getWidth()) - valueOffsetRight);
+            }
         }
 
         // Update the title
-        title.setText(getSkinnable().getTitle());
-        title.setX((width - title.getLayoutBounds().getWidth()) * 0.5);
+        if ((dirty & TITLE_DIRTY) != 0) {
+            title.setText(getSkinnable().getTitle());
+            title.setX((width - title.getLayoutBounds().getWidth()) * 0.5);
+        }
 
         // Update the upper left text
-        upperLeftText.setText(getSkinnable().isMinMeasuredValueVisible() ? formatLcdValue(getSkinnable().getMinMeasuredValue(), getSkinnable().getMinMeasuredValueDecimals()) : getSkinnable().getUpperLeftText());
-        if (upperLeftText.getX() + upperLeftText.getLayoutBounds().getWidth() > title.getX()) {
-            upperLeftText.setText("...");
+        if ((dirty & UPPER_LEFT_DIRTY) != 0) {
+            upperLeftText.setText(getSkinnable().isMinMeasuredValueVisible() ? formatLcdValue(getMinIndicatorValue(), getSkinnable().getMinMeasuredValueDecimals()) : getSkinnable().getUpperLeftText());
+            if (upperLeftText.getX() + upperLeftText.getLayoutBounds().getWidth() > title.getX()) {
+                upperLeftText.setText("...");
+            }
         }
 
         // Update the upper right text
-        upperRightText.setText(getSkinnable().isMaxMeasuredValueVisible() ? formatLcdValue(getSkinnable().getMaxMeasuredValue(), getSkinnable().getMaxMeasuredValueDecimals()) : getSkinnable().getUpperRightText());
-        upperRightText.setX(width - upperRightText.getLayoutBounds().getWidth() - 0.0416666667 * height);
-        if (upperRightText.getX() < title.getX() + title.getLayoutBounds().getWidth()) {
-            upperRightText.setText("...");
+        if ((dirty & UPPER_RIGHT_DIRTY) != 0) {
+            upperRightText.setText(getSkinnable().isMaxMeasuredValueVisible() ? formatLcdValue(getMaxIndicatorValue(), getSkinnable().getMaxMeasuredValueDecimals()) : getSkinnable().getUpperRightText());
             upperRightText.setX(width - upperRightText.getLayoutBounds().getWidth() - 0.0416666667 * height);
+            if (upperRightText.getX() < title.getX() + title.getLayoutBounds().getWidth()) {
+                upperRightText.setText("...");
+                upperRightText.setX(width - upperRightText.getLayoutBounds().getWidth() - 0.0416666667 * height);
+            }
         }
 
         // Update the lower center text
-        lowerCenterText.setText(getSkinnable().isFormerValueVisible() ? formatLcdValue(getSkinnable().getFormerValue(), getSkinnable().getDecimals()) : getSkinnable().getLowerCenterText());
-        lowerCenterText.setX((width - lowerCenterText.getLayoutBounds().getWidth()) * 0.5);
+        if ((dirty & LOWER_CENTER_DIRTY) != 0) {
+            lowerCenterText.setText(getSkinnable().isFormerValueVisible() ? formatLcdValue(getSkinnable().getFormerValue(), getSkinnable().getDecimals()) : getSkinnable().getLowerCenterText());
+            lowerCenterText.setX((width - lowerCenterText.getLayoutBounds().getWidth()) * 0.5);
+        }
 
         // Update the lower right text
-        lowerRightText.setText(getSkinnable().isNumberSystemVisible() ? getSkinnable().getNumberSystem().toString() : getSkinnable().getLowerRightText());
-        lowerRightText.setX(width - lowerRightText.getLayoutBounds().getWidth() - 0.0416666667 * height);
-        lowerRightText.setY(main.getLayoutY() + height - 1 - 0.0416666667 * height);
-        if (lowerRightText.getX() < lowerCenterText.getX() + lowerCenterText.getLayoutBounds().getWidth()) {
-            lowerRightText.setText("...");
+        if ((dirty & LOWER_RIGHT_DIRTY) != 0) {
+            lowerRightText.setText(getSkinnable().isNumberSystemVisible() ? getSkinnable().getNumberSystem().toString() : getSkinnable().getLowerRightText());
             lowerRightText.setX(width - lowerRightText.getLayoutBounds().getWidth() - 0.0416666667 * height);
+            lowerRightText.setY(main.getLayoutY() + height - 1 - 0.0416666667 * height);
+            if (lowerRightText.getX() < lowerCenterText.getX() + lowerCenterText.getLayoutBounds().getWidth()) {
+                lowerRightText.setText("...");
+                lowerRightText.setX(width - lowerRightText.getLayoutBounds().getWidth() - 0.0416666667 * height);
+            }
         }
 
         // Update battery charge
-        if (getSkinnable().getBatteryCharge() < 0.01) {
-            battery.getStyleClass().setAll("battery-empty");
-        } else if (getSkinnable().getBatteryCharge() < 0.06) {
-            battery.getStyleClass().setAll("battery-almost-empty");
-        } else if (getSkinnable().getBatteryCharge() < 0.26) {
-            battery.getStyleClass().setAll("battery-25");
-        } else if (getSkinnable().getBatteryCharge() < 0.51) {
-            battery.getStyleClass().setAll("battery-50");
-        } else if (getSkinnable().getBatteryCharge() < 0.76) {
-            battery.getStyleClass().setAll("battery-75");
-        } else if (getSkinnable().getBatteryCharge() < 0.96) {
-            battery.getStyleClass().setAll("battery-almost-full");
-        } else {
-            battery.getStyleClass().setAll("battery-full");
+        if ((dirty & BATTERY_DIRTY) != 0) {
+            final double CHARGE = getSkinnable().getBatteryCharge();
+            final int    BUCKET;
+            if (CHARGE < 0.01) {
+                BUCKET = 0;
+            } else if (CHARGE < 0.06) {
+                BUCKET = 1;
+            } else if (CHARGE < 0.26) {
+                BUCKET = 2;
+            } else if (CHARGE < 0.51) {
+                BUCKET = 3;
+            } else if (CHARGE < 0.76) {
+                BUCKET = 4;
+            } else if (CHARGE < 0.96) {
+                BUCKET = 5;
+            } else {
+                BUCKET = 6;
+            }
+            if (BUCKET != batteryBucket) {
+                batteryBucket = BUCKET;
+                battery.getStyleClass().setAll(BATTERY_STYLES[BUCKET]);
+            }
         }
 
         // Update signal strength
-        if (getSkinnable().getSignalStrength() < 0.06) {
-            signal.getStyleClass().setAll("signal", "signal-0");
-        } else if (getSkinnable().getSignalStrength() < 0.26) {
-            signal.getStyleClass().setAll("signal", "signal-25");
-        } else if (getSkinnable().getSignalStrength() < 0.51) {
-            signal.getStyleClass().setAll("signal", "signal-50");
-        } else if (getSkinnable().getSignalStrength() < 0.85) {
-            signal.getStyleClass().setAll("signal", "signal-75");
-        } else {
-            signal.getStyleClass().setAll("signal", "signal-100");
+        if ((dirty & SIGNAL_DIRTY) != 0) {
+            final double STRENGTH = getSkinnable().getSignalStrength();
+            final int    BUCKET;
+            if (STRENGTH < 0.06) {
+                BUCKET = 0;
+            } else if (STRENGTH < 0.26) {
+                BUCKET = 1;
+            } else if (STRENGTH < 0.51) {
+                BUCKET = 2;
+            } else if (STRENGTH < 0.85) {
+                BUCKET = 3;
+            } else {
+                BUCKET = 4;
+            }
+            if (BUCKET != signalBucket) {
+                signalBucket = BUCKET;
+                signal.getStyleClass().setAll("signal", SIGNAL_STYLES[BUCKET]);
+            }
         }
+        dirty = 0;
     }
 
     private void resize() {
@@ -733,8 +825,8 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
                 mainClip.setScaleY(height / (PREFERRED_HEIGHT - 2.0));
                 mainClip.setTranslateX((width - PREFERRED_WIDTH - 2) * 0.5);
                 mainClip.setTranslateY((height - PREFERRED_HEIGHT - 2) * 0.5);
-                crystalOverlay.setImage(createNoiseImage(width, height, DARK_NOISE_COLOR, BRIGHT_NOISE_COLOR, 8));
-                crystalOverlay.setCache(true);
+                crystalOverlay.setWidth(width);
+                crystalOverlay.setHeight(height);
             }
 
             threshold.setPrefSize(0.20 * height, 0.20 * height);
@@ -803,11 +895,11 @@ public class LcdSkin extends SkinBase<Lcd> implements Skin<Lcd> {
             updateBackgroundText();
 
             if (getSkinnable().isUnitVisible()) {
-                backgroundText.setX(width - 2 - backgroundText.getLayoutBounds().getWidth() - valueOffsetRight);
+                backgroundText.setX(width - 2 - backgroundTextWidth - valueOffsetRight);
             } else {
-                backgroundText.setX((width - backgroundText.getLayoutBounds().getWidth()) - valueOffsetRight);
+                backgroundText.setX((width - backgroundTextWidth) - valueOffsetRight);
             }
-            backgroundText.setY(height - (backgroundText.getLayoutBounds().getHeight() * digitalFontSizeFactor) * 0.5);
+            backgroundText.setY(height - (getValueFontMetrics().getHeight() * digitalFontSizeFactor) * 0.5);
 
             // Setup the font for the lcd title, number system, min measured, max measure and former value
             // Title
@@ -18,14 +18,15 @@ package eu.hansolo.enzo.led;
 
 import com.sun.javafx.css.converters.EnumConverter;
 import com.sun.javafx.css.converters.PaintConverter;
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
 import eu.hansolo.enzo.led.skin.LedSkin;
-import javafx.animation.AnimationTimer;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.LongProperty;
+import javafx.beans.property.LongPropertyBase;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleLongProperty;
 import javafx.css.CssMetaData;
 import javafx.css.PseudoClass;
 import javafx.css.Styleable;
@@ -86,27 +87,14 @@ public class Led extends Control {
     private BooleanProperty         blink;
     private boolean                 _frameVisible = true;
     private BooleanProperty         frameVisible;
-    private boolean                 toggle;
-    private long                    lastTimerCall;
     private long                    _interval = 500_000_000l;
     private LongProperty            interval;
-    private AnimationTimer          timer;
+    private Subscription            blinkSubscription;
 
 
     // ******************** Constructors **************************************
     public Led() {
         getStyleClass().add("led");
-        toggle        = false;
-        lastTimerCall = System.nanoTime();
-        timer         = new AnimationTimer() {
-            @Override public void handle(final long NOW) {
-                if (NOW > lastTimerCall + getInterval()) {
-                    toggle ^= true;
-                    setOn(toggle);
-                    lastTimerCall = NOW;
-                }
-            }
-        };
     }
 
 
@@ -139,9 +127,15 @@ public class Led extends Control {
             blink.set(BLINK);
         }
         if (BLINK) {
-            timer.start();
+            if (null == blinkSubscription) {
+                // all leds with the same interval toggle in phase
+                blinkSubscription = PulseScheduler.subscribe(this, getInterval(), (NOW, TICK) -> setOn((TICK & 1) != 0));
+            }
         } else {
-            timer.stop();
+            if (null != blinkSubscription) {
+                blinkSubscription.cancel();
+                blinkSubscription = null;
+            }
             setOn(false);
         }
     }
@@ -161,10 +155,19 @@ public class Led extends Control {
         } else {
             interval.set(clamp(50_000_000l, 5_000_000_000l, INTERVAL));
         }
+        if (null != blinkSubscription) {
+            blinkSubscription.setInterval(getInterval());
+        }
     }
     public final LongProperty intervalProperty() {
         if (null == interval) {
-            interval = new SimpleLongProperty(this, "interval", _interval);
+            interval = new LongPropertyBase(_interval) {
+                @Override protected void invalidated() {
+                    if (null != blinkSubscription) blinkSubscription.setInterval(get());
+                }
+                @Override public Object getBean() { return Led.this; }
+                @Override public String getName() { return "interval"; }
+            };
         }
         return interval;
     }
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.led;
+
+import eu.hansolo.enzo.led.skin.LedMatrixSkin;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.IntegerPropertyBase;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+import javafx.scene.paint.Color;
+
+import java.util.BitSet;
+
+
+/**
+ * A grid of leds that will be drawn into one canvas instead of using one
+ * Led control per light, e.g. for status walls with thousands of leds.
+ * The state of each led is an int, 0 means off and a value n > 0 means
+ * on with the color n - 1 of the led colors. States could be set one by
+ * one or in bulk from a BitSet or an int array. Only the leds that really
+ * changed will be marked and all changes within one pulse will be drawn
+ * at once by the skin.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 13:40
+ */
+public class LedMatrix extends Control {
+    public static final int             LED_OFF           = 0;
+    public static final int             LED_ON            = 1;
+    public static final Color           DEFAULT_LED_COLOR = Color.RED;
+    private int                         _columns          = 16;
+    private IntegerProperty             columns;
+    private int                         _rows             = 16;
+    private IntegerProperty             rows;
+    private Led.LedType                 _ledType          = Led.DEFAULT_LED_TYPE;
+    private ObjectProperty<Led.LedType> ledType;
+    private boolean                     _frameVisible     = true;
+    private BooleanProperty             frameVisible;
+    private boolean                     _glowEnabled      = true;
+    private BooleanProperty             glowEnabled;
+    private ObservableList<Color>       ledColors;
+    private LongProperty                stateRevision;
+    private int[]                       states;
+    private int                         stateColumns;
+    private BitSet                      changedLeds;
+
+
+    // ******************** Constructors **************************************
+    public LedMatrix() {
+        this(16, 16);
+    }
+    public LedMatrix(final int COLUMNS, final int ROWS) {
+        getStyleClass().add("led-matrix");
+        _columns      = Math.max(1, COLUMNS);
+        _rows         = Math.max(1, ROWS);
+        ledColors     = FXCollections.observableArrayList(DEFAULT_LED_COLOR);
+        stateRevision = new SimpleLongProperty(this, "stateRevision", 0);
+        states        = new int[_columns * _rows];
+        stateColumns  = _columns;
+        changedLeds   = new BitSet(states.length);
+    }
+
+
+    // ******************** Methods *******************************************
+    public final int getColumns() {
+        return null == columns ? _columns : columns.get();
+    }
+    public final void setColumns(final int COLUMNS) {
+        if (null == columns) {
+            _columns = Math.max(1, COLUMNS);
+            resizeStates(_columns, getRows());
+        } else {
+            columns.set(Math.max(1, COLUMNS));
+        }
+    }
+    public final IntegerProperty columnsProperty() {
+        if (null == columns) {
+            columns = new IntegerPropertyBase(_columns) {
+                @Override protected void invalidated() { resizeStates(get(), getRows()); }
+                @Override public Object getBean() { return LedMatrix.this; }
+                @Override public String getName() { return "columns"; }
+            };
+        }
+        return columns;
+    }
+
+    public final int getRows() {
+        return null == rows ? _rows : rows.get();
+    }
+    public final void setRows(final int ROWS) {
+        if (null == rows) {
+            _rows = Math.max(1, ROWS);
+            resizeStates(getColumns(), _rows);
+        } else {
+            rows.set(Math.max(1, ROWS));
+        }
+    }
+    public final IntegerProperty rowsProperty() {
+        if (null == rows) {
+            rows = new IntegerPropertyBase(_rows) {
+                @Override protected void invalidated() { resizeStates(getColumns(), get()); }
+                @Override public Object getBean() { return LedMatrix.this; }
+                @Override public String getName() { return "rows"; }
+            };
+        }
+        return rows;
+    }
+
+    public final Led.LedType getLedType() {
+        return null == ledType ? _ledType : ledType.get();
+    }
+    public final void setLedType(final Led.LedType LED_TYPE) {
+        if (null == ledType) {
+            _ledType = LED_TYPE;
+        } else {
+            ledType.set(LED_TYPE);
+        }
+    }
+    public final ObjectProperty<Led.LedType> ledTypeProperty() {
+        if (null == ledType) {
+            ledType = new SimpleObjectProperty<>(this, "ledType", _ledType);
+        }
+        return ledType;
+    }
+
+    public final boolean isFrameVisible() {
+        return null == frameVisible ? _frameVisible : frameVisible.get();
+    }
+    public final void setFrameVisible(final boolean FRAME_VISIBLE) {
+        if (null == frameVisible) {
+            _frameVisible = FRAME_VISIBLE;
+        } else {
+            frameVisible.set(FRAME_VISIBLE);
+        }
+    }
+    public final BooleanProperty frameVisibleProperty() {
+        if (null == frameVisible) {
+            frameVisible = new SimpleBooleanProperty(this, "frameVisible", _frameVisible);
+        }
+        return frameVisible;
+    }
+
+    public final boolean isGlowEnabled() {
+        return null == glowEnabled ? _glowEnabled : glowEnabled.get();
+    }
+    public final void setGlowEnabled(final boolean GLOW_ENABLED) {
+        if (null == glowEnabled) {
+            _glowEnabled = GLOW_ENABLED;
+        } else {
+            glowEnabled.set(GLOW_ENABLED);
+        }
+    }
+    public final BooleanProperty glowEnabledProperty() {
+        if (null == glowEnabled) {
+            glowEnabled = new SimpleBooleanProperty(this, "glowEnabled", _glowEnabled);
+        }
+        return glowEnabled;
+    }
+
+    /**
+     * The colors of the leds, a led with the state n > 0 will be drawn with
+     * the color n - 1, states beyond the list use the last color. Leds that
+     * are off will be drawn with the first color.
+     * @return the list of led colors
+     */
+    public final ObservableList<Color> getLedColors() {
+        return ledColors;
+    }
+    public final void setLedColors(final Color... LED_COLORS) {
+        ledColors.setAll(LED_COLORS);
+    }
+
+    public final int getNoOfLeds() {
+        return states.length;
+    }
+
+    public final int getState(final int COLUMN, final int ROW) {
+        return states[index(COLUMN, ROW)];
+    }
+    public final int getState(final int INDEX) {
+        return states[INDEX];
+    }
+    public final void setState(final int COLUMN, final int ROW, final int STATE) {
+        setState(index(COLUMN, ROW), STATE);
+    }
+    public final void setState(final int INDEX, final int STATE) {
+        final int NEW_STATE = Math.max(LED_OFF, STATE);
+        if (states[INDEX] == NEW_STATE) return;
+        states[INDEX] = NEW_STATE;
+        markChanged(INDEX);
+    }
+
+    public final boolean isOn(final int COLUMN, final int ROW) {
+        return LED_OFF != getState(COLUMN, ROW);
+    }
+    public final void setOn(final int COLUMN, final int ROW, final boolean ON) {
+        if (!ON) {
+            setState(COLUMN, ROW, LED_OFF);
+        } else if (LED_OFF == getState(COLUMN, ROW)) {
+            setState(COLUMN, ROW, LED_ON);
+        }
+    }
+
+    /**
+     * Sets the state of all leds from the given bits, the led with the
+     * index column + row * columns will be switched on if its bit is set.
+     * Leds that are already on keep their color.
+     * @param BITS
+     */
+    public final void setStates(final BitSet BITS) {
+        for (int i = 0 ; i < states.length ; i++) {
+            if (BITS.get(i)) {
+                if (LED_OFF == states[i]) setState(i, LED_ON);
+            } else {
+                setState(i, LED_OFF);
+            }
+        }
+    }
+
+    /**
+     * Sets the states of the leds starting at index 0 from the given array
+     * @param STATES
+     */
+    public final void setStates(final int[] STATES) {
+        final int LENGTH = Math.min(STATES.length, states.length);
+        for (int i = 0 ; i < LENGTH ; i++) setState(i, STATES[i]);
+    }
+
+    public final void clear() {
+        for (int i = 0 ; i < states.length ; i++) setState(i, LED_OFF);
+    }
+
+    /**
+     * Adds the indices of all leds that changed since the last call to the
+     * given set, will be used by the skin to redraw only these leds
+     * @param TARGET
+     */
+    public final void pollChangedLeds(final BitSet TARGET) {
+        TARGET.or(changedLeds);
+        changedLeds.clear();
+    }
+
+    /**
+     * Will be incremented if leds change after the changes have been
+     * polled, so listeners will be notified once per batch of changes
+     * @return the revision of the led states
+     */
+    public final ReadOnlyLongProperty stateRevisionProperty() {
+        return stateRevision;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private int index(final int COLUMN, final int ROW) {
+        if (COLUMN < 0 || COLUMN >= getColumns() || ROW < 0 || ROW >= getRows()) {
+            throw new IndexOutOfBoundsException("Led " + COLUMN + ", " + ROW + " is outside of the " + getColumns() + " x " + getRows() + " matrix");
+        }
+        return COLUMN + ROW * getColumns();
+    }
+
+    private void markChanged(final int INDEX) {
+        final boolean FIRST_CHANGE = changedLeds.isEmpty();
+        changedLeds.set(INDEX);
+        if (FIRST_CHANGE) stateRevision.set(stateRevision.get() + 1);
+    }
+
+    /**
+     * Copies the states row by row into an array of the new size so that
+     * every led keeps its column and row
+     * @param COLUMNS
+     * @param ROWS
+     */
+    private void resizeStates(final int COLUMNS, final int ROWS) {
+        if (null == states || (COLUMNS == stateColumns && COLUMNS * ROWS == states.length)) return;
+        final int[] NEW_STATES   = new int[COLUMNS * ROWS];
+        final int   COPY_COLUMNS = Math.min(stateColumns, COLUMNS);
+        final int   COPY_ROWS    = Math.min(states.length / stateColumns, ROWS);
+        for (int row = 0 ; row < COPY_ROWS ; row++) {
+            System.arraycopy(states, row * stateColumns, NEW_STATES, row * COLUMNS, COPY_COLUMNS);
+        }
+        states       = NEW_STATES;
+        stateColumns = COLUMNS;
+        changedLeds.clear();
+        stateRevision.set(stateRevision.get() + 1);
+    }
+
+
+    // ******************** Style related *************************************
+    @Override protected Skin createDefaultSkin() {
+        return new LedMatrixSkin(this);
+    }
+}
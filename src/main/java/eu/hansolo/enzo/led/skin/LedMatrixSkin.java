@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.led.skin;
+
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import eu.hansolo.enzo.led.Led;
+import eu.hansolo.enzo.led.LedMatrix;
+import javafx.collections.ListChangeListener;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Skin;
+import javafx.scene.control.SkinBase;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.InnerShadow;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
+
+import java.util.BitSet;
+import java.util.List;
+
+
+/**
+ * Skin of the LedMatrix that draws all leds into one Canvas. Each led
+ * color is pre-rendered as sprites (off, on and on with glow) in the size
+ * of one cell, the sprites will only be re-created on resize and if the
+ * led type, the frame or the colors change. The glow of a sprite stays
+ * within its cell, so a led could be redrawn without touching its
+ * neighbours and only the leds that changed since the last pulse will be
+ * drawn again.
+ * The shapes and colors follow the css of the Led control.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 14:15
+ */
+public class LedMatrixSkin extends SkinBase<LedMatrix> implements Skin<LedMatrix> {
+    private static final double   PREFERRED_SIZE = 256;
+    private static final double   MINIMUM_SIZE   = 16;
+    private static final double   MAXIMUM_SIZE   = 4096;
+    private static final int      SPRITE_OFF     = 0;
+    private static final int      SPRITE_ON      = 1;
+    private static final int      SPRITE_GLOW    = 2;
+    // frame x, y, w, h, led x, y, w, h, highlight x, y, w, h relative to the cell size, same as in the LedSkin
+    private static final double[][] BOUNDS = {
+        { 0, 0, 1, 1,          0.14, 0.14, 0.72, 0.72,    0.21, 0.21, 0.58, 0.58 },    // ROUND
+        { 0, 0, 1, 1,          0.14, 0.14, 0.72, 0.72,    0.17, 0.17, 0.66, 0.23 },    // SQUARE
+        { 0.22, 0, 0.56, 1,    0.36, 0.14, 0.28, 0.72,    0.39, 0.17, 0.22, 0.23 },    // VERTICAL
+        { 0, 0.22, 1, 0.56,    0.14, 0.36, 0.72, 0.28,    0.16, 0.38, 0.68, 0.12 },    // HORIZONTAL
+        { 0, 0, 1, 1,          0.152, 0.2, 0.696, 0.7,    0.152, 0.2, 0.696, 0.7 },    // TRIANGLE_UP
+        { 0, 0, 1, 1,          0.1, 0.152, 0.7, 0.696,    0.1, 0.152, 0.7, 0.696 },    // TRIANGLE_RIGHT
+        { 0, 0, 1, 1,          0.152, 0.1, 0.696, 0.7,    0.152, 0.1, 0.696, 0.7 },    // TRIANGLE_DOWN
+        { 0, 0, 1, 1,          0.2, 0.152, 0.7, 0.696,    0.2, 0.152, 0.7, 0.696 }     // TRIANGLE_LEFT
+    };
+    private static final Paint    FRAME_FILL     = new LinearGradient(0.14, 0.14, 0.84, 0.84, true, CycleMethod.NO_CYCLE,
+                                                                      new Stop(0.0, Color.rgb(20, 20, 20, 0.64706)),
+                                                                      new Stop(0.15, Color.rgb(20, 20, 20, 0.64706)),
+                                                                      new Stop(0.26, Color.rgb(41, 41, 41, 0.64706)),
+                                                                      new Stop(0.85, Color.rgb(200, 200, 200, 0.40631)),
+                                                                      new Stop(1.0, Color.rgb(200, 200, 200, 0.3451)));
+    private double                cellSize;
+    private Canvas                canvas;
+    private GraphicsContext       ctx;
+    private Image[][]             sprites;
+    private BitSet                changedLeds;
+    private Subscription          redraw;
+
+
+    // ******************** Constructors **************************************
+    public LedMatrixSkin(final LedMatrix CONTROL) {
+        super(CONTROL);
+        sprites     = new Image[0][];
+        changedLeds = new BitSet();
+        init();
+        initGraphics();
+        registerListeners();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void init() {
+        if (Double.compare(getSkinnable().getPrefWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getPrefHeight(), 0.0) <= 0 ||
+            Double.compare(getSkinnable().getWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getHeight(), 0.0) <= 0) {
+            if (getSkinnable().getPrefWidth() > 0 && getSkinnable().getPrefHeight() > 0) {
+                getSkinnable().setPrefSize(getSkinnable().getPrefWidth(), getSkinnable().getPrefHeight());
+            } else {
+                getSkinnable().setPrefSize(PREFERRED_SIZE, PREFERRED_SIZE);
+            }
+        }
+
+        if (Double.compare(getSkinnable().getMinWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMinHeight(), 0.0) <= 0) {
+            getSkinnable().setMinSize(MINIMUM_SIZE, MINIMUM_SIZE);
+        }
+
+        if (Double.compare(getSkinnable().getMaxWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMaxHeight(), 0.0) <= 0) {
+            getSkinnable().setMaxSize(MAXIMUM_SIZE, MAXIMUM_SIZE);
+        }
+    }
+
+    private void initGraphics() {
+        canvas = new Canvas(PREFERRED_SIZE, PREFERRED_SIZE);
+        ctx    = canvas.getGraphicsContext2D();
+        getChildren().setAll(canvas);
+        resize();
+    }
+
+    private void registerListeners() {
+        getSkinnable().widthProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().heightProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().columnsProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().rowsProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().ledTypeProperty().addListener(observable -> handleControlPropertyChanged("SPRITES") );
+        getSkinnable().frameVisibleProperty().addListener(observable -> handleControlPropertyChanged("SPRITES") );
+        getSkinnable().glowEnabledProperty().addListener(observable -> handleControlPropertyChanged("GLOW") );
+        getSkinnable().stateRevisionProperty().addListener(observable -> handleControlPropertyChanged("STATE") );
+        getSkinnable().getLedColors().addListener(new ListChangeListener<Color>() {
+            @Override public void onChanged(Change<? extends Color> change) {
+                handleControlPropertyChanged("SPRITES");
+            }
+        });
+    }
+
+
+    // ******************** Methods *******************************************
+    protected void handleControlPropertyChanged(final String PROPERTY) {
+        if ("RESIZE".equals(PROPERTY)) {
+            resize();
+        } else if ("SPRITES".equals(PROPERTY)) {
+            createSprites();
+            drawMatrix();
+        } else if ("GLOW".equals(PROPERTY)) {
+            drawMatrix();
+        } else if ("STATE".equals(PROPERTY)) {
+            // draw all changes of this pulse at once
+            if (null == redraw) {
+                redraw = PulseScheduler.subscribe(getSkinnable(), 0, (NOW, TICK) -> drawChangedLeds());
+            }
+        }
+    }
+
+    @Override public void dispose() {
+        if (null != redraw) {
+            redraw.cancel();
+            redraw = null;
+        }
+        super.dispose();
+    }
+
+    @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinWidth(Math.max(MINIMUM_SIZE, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMinHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinHeight(Math.max(MINIMUM_SIZE, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computeMaxWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxWidth(Math.min(MAXIMUM_SIZE, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMaxHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxHeight(Math.min(MAXIMUM_SIZE, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computePrefWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefHeight = PREFERRED_SIZE;
+        if (HEIGHT != -1) {
+            prefHeight = Math.max(0, HEIGHT - TOP_INSET - BOTTOM_INSET);
+        }
+        return super.computePrefWidth(prefHeight, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computePrefHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefWidth = PREFERRED_SIZE;
+        if (WIDTH != -1) {
+            prefWidth = Math.max(0, WIDTH - LEFT_INSET - RIGHT_INSET);
+        }
+        return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+
+    // ******************** Drawing *******************************************
+    private void drawMatrix() {
+        if (0 == sprites.length) return;
+        ctx.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        // pending changes will be drawn with all other leds
+        getSkinnable().pollChangedLeds(changedLeds);
+        changedLeds.clear();
+        final int NO_OF_LEDS = getSkinnable().getNoOfLeds();
+        for (int i = 0 ; i < NO_OF_LEDS ; i++) drawLed(i);
+    }
+
+    private void drawChangedLeds() {
+        redraw.cancel();
+        redraw = null;
+        getSkinnable().pollChangedLeds(changedLeds);
+        if (0 == sprites.length) {
+            changedLeds.clear();
+            return;
+        }
+        final int NO_OF_LEDS = getSkinnable().getNoOfLeds();
+        for (int i = changedLeds.nextSetBit(0) ; i >= 0 && i < NO_OF_LEDS ; i = changedLeds.nextSetBit(i + 1)) {
+            ctx.clearRect(ledX(i), ledY(i), cellSize, cellSize);
+            drawLed(i);
+        }
+        changedLeds.clear();
+    }
+
+    private void drawLed(final int INDEX) {
+        final int     STATE  = getSkinnable().getState(INDEX);
+        final Image[] SPRITE = sprites[Math.min(Math.max(0, STATE - 1), sprites.length - 1)];
+        final Image   IMAGE;
+        if (LedMatrix.LED_OFF == STATE) {
+            IMAGE = SPRITE[SPRITE_OFF];
+        } else {
+            IMAGE = getSkinnable().isGlowEnabled() ? SPRITE[SPRITE_GLOW] : SPRITE[SPRITE_ON];
+        }
+        ctx.drawImage(IMAGE, ledX(INDEX), ledY(INDEX));
+    }
+
+    private double ledX(final int INDEX) {
+        return (INDEX % getSkinnable().getColumns()) * cellSize;
+    }
+
+    private double ledY(final int INDEX) {
+        return (INDEX / getSkinnable().getColumns()) * cellSize;
+    }
+
+
+    // ******************** Sprites *******************************************
+    private void createSprites() {
+        final List<Color> COLORS = getSkinnable().getLedColors();
+        if (cellSize <= 0 || COLORS.isEmpty()) {
+            sprites = new Image[0][];
+            return;
+        }
+        final Canvas             SPRITE     = new Canvas(cellSize, cellSize);
+        final GraphicsContext    CTX        = SPRITE.getGraphicsContext2D();
+        final SnapshotParameters PARAMETERS = new SnapshotParameters();
+        PARAMETERS.setFill(Color.TRANSPARENT);
+
+        sprites = new Image[COLORS.size()][];
+        for (int i = 0 ; i < COLORS.size() ; i++) {
+            sprites[i] = new Image[3];
+            for (int state = SPRITE_OFF ; state <= SPRITE_GLOW ; state++) {
+                CTX.clearRect(0, 0, cellSize, cellSize);
+                drawSprite(CTX, COLORS.get(i), state);
+                sprites[i][state] = SPRITE.snapshot(PARAMETERS, null);
+            }
+        }
+    }
+
+    private void drawSprite(final GraphicsContext CTX, final Color COLOR, final int STATE) {
+        final Led.LedType TYPE   = getSkinnable().getLedType();
+        final double[]    BOUNDS = LedMatrixSkin.BOUNDS[TYPE.ordinal()];
+        final double      SIZE   = cellSize;
+
+        if (getSkinnable().isFrameVisible()) {
+            CTX.setFill(FRAME_FILL);
+            fillShape(CTX, TYPE, BOUNDS[0] * SIZE, BOUNDS[1] * SIZE, BOUNDS[2] * SIZE, BOUNDS[3] * SIZE);
+        }
+
+        // same colors as derive(-led-color, ...) in the led css
+        if (SPRITE_OFF == STATE) {
+            CTX.setFill(new LinearGradient(0.15, 0.15, 0.83, 0.83, true, CycleMethod.NO_CYCLE,
+                                           new Stop(0.0, COLOR.deriveColor(0, 1, 0.2, 1)),
+                                           new Stop(0.49, COLOR.deriveColor(0, 1, 0.13, 1)),
+                                           new Stop(1.0, COLOR.deriveColor(0, 1, 0.2, 1))));
+            CTX.setEffect(new InnerShadow(BlurType.TWO_PASS_BOX, Color.BLACK, 0.07 * SIZE, 0, 0, 0));
+        } else {
+            CTX.setFill(new LinearGradient(0.15, 0.15, 0.83, 0.83, true, CycleMethod.NO_CYCLE,
+                                           new Stop(0.0, COLOR.deriveColor(0, 1, 0.77, 1)),
+                                           new Stop(0.49, COLOR.deriveColor(0, 1, 0.5, 1)),
+                                           new Stop(1.0, COLOR)));
+            // the glow has to stay within the cell
+            if (SPRITE_GLOW == STATE) CTX.setEffect(new DropShadow(BlurType.TWO_PASS_BOX, COLOR, 0.14 * SIZE, 0, 0, 0));
+        }
+        fillShape(CTX, TYPE, BOUNDS[4] * SIZE, BOUNDS[5] * SIZE, BOUNDS[6] * SIZE, BOUNDS[7] * SIZE);
+        CTX.setEffect(null);
+
+        if (Led.LedType.ROUND == TYPE) {
+            CTX.setFill(new RadialGradient(0, 0, 0.15, 0.15, 0.5, true, CycleMethod.NO_CYCLE,
+                                           new Stop(0.0, Color.rgb(200, 200, 200, 0.8)),
+                                           new Stop(1.0, Color.TRANSPARENT)));
+        } else {
+            CTX.setFill(new LinearGradient(0, 0, 0, 0.69, true, CycleMethod.NO_CYCLE,
+                                           new Stop(0.0, Color.rgb(200, 200, 200, 0.8)),
+                                           new Stop(1.0, Color.TRANSPARENT)));
+        }
+        fillShape(CTX, TYPE, BOUNDS[8] * SIZE, BOUNDS[9] * SIZE, BOUNDS[10] * SIZE, BOUNDS[11] * SIZE);
+    }
+
+    private void fillShape(final GraphicsContext CTX, final Led.LedType TYPE, final double X, final double Y, final double W, final double H) {
+        switch (TYPE) {
+            case SQUARE:
+            case VERTICAL:
+            case HORIZONTAL:
+                final double ARC = 0.14 * Math.min(W, H);
+                CTX.fillRoundRect(X, Y, W, H, ARC, ARC);
+                break;
+            case TRIANGLE_UP:
+                CTX.fillPolygon(new double[] { X + 0.5 * W, X + W, X }, new double[] { Y, Y + H, Y + H }, 3);
+                break;
+            case TRIANGLE_RIGHT:
+                CTX.fillPolygon(new double[] { X, X + W, X }, new double[] { Y, Y + 0.5 * H, Y + H }, 3);
+                break;
+            case TRIANGLE_DOWN:
+                CTX.fillPolygon(new double[] { X, X + W, X + 0.5 * W }, new double[] { Y, Y, Y + H }, 3);
+                break;
+            case TRIANGLE_LEFT:
+                CTX.fillPolygon(new double[] { X + W, X + W, X }, new double[] { Y, Y + H, Y + 0.5 * H }, 3);
+                break;
+            case ROUND:
+            default:
+                CTX.fillOval(X, Y, W, H);
+                break;
+        }
+    }
+
+
+    // ******************** Resizing ******************************************
+    private void resize() {
+        final double WIDTH  = getSkinnable().getWidth();
+        final double HEIGHT = getSkinnable().getHeight();
+        cellSize = Math.floor(Math.min(WIDTH / getSkinnable().getColumns(), HEIGHT / getSkinnable().getRows()));
+
+        if (cellSize > 0) {
+            canvas.setWidth(cellSize * getSkinnable().getColumns());
+            canvas.setHeight(cellSize * getSkinnable().getRows());
+            canvas.relocate((WIDTH - canvas.getWidth()) * 0.5, (HEIGHT - canvas.getHeight()) * 0.5);
+
+            createSprites();
+            drawMatrix();
+        }
+    }
+}
@@ -16,16 +16,24 @@
 
 package eu.hansolo.enzo.led.skin;
 
+import eu.hansolo.enzo.common.PaintCache;
 import eu.hansolo.enzo.common.Util;
 import eu.hansolo.enzo.led.Led;
+import javafx.geometry.Insets;
 import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.InnerShadow;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
 
 
 /**
@@ -35,16 +43,38 @@ import javafx.scene.paint.Color;
  * Time: 09:01
  */
 public class LedSkin extends SkinBase<Led> implements Skin<Led> {
-    private static final double PREFERRED_SIZE = 16;
-    private static final double MINIMUM_SIZE   = 8;
-    private static final double MAXIMUM_SIZE   = 1024;
-    private double              size;
-    private Pane                pane;
-    private Region              frame;
-    private Region              led;
-    private Region              highlight;
-    private InnerShadow         innerShadow;
-    private DropShadow          glow;
+    private static final double                   PREFERRED_SIZE  = 16;
+    private static final double                   MINIMUM_SIZE    = 8;
+    private static final double                   MAXIMUM_SIZE    = 1024;
+    // start x, y, end x, y of the off and on gradients of each led type, same as in the css
+    private static final double[][]               OFF_GRADIENTS   = {
+        { 0.15, 0.15, 0.83, 0.83 },    // ROUND
+        { 0, 0, 0.99, 0.99 },          // SQUARE
+        { 0, 0, 0, 1 },                // VERTICAL
+        { 0, 0, 1, 1 },                // HORIZONTAL
+        { 0, 0, 1, 0 },                // TRIANGLE_UP
+        { 0, 0, 0, 1 },                // TRIANGLE_RIGHT
+        { 0, 0, 1, 0 },                // TRIANGLE_DOWN
+        { 0, 0, 0, 1 }                 // TRIANGLE_LEFT
+    };
+    private static final double[][]               ON_GRADIENTS    = {
+        { 0.15, 0.15, 0.83, 0.83 },    // ROUND
+        { 0.02, 0.02, 0.96, 0.96 },    // SQUARE
+        { 0, 0, 1, 1 },                // VERTICAL
+        { 0, 0, 1, 1 },                // HORIZONTAL
+        { 0, 0, 1, 0 },                // TRIANGLE_UP
+        { 0, 0, 0, 1 },                // TRIANGLE_RIGHT
+        { 0, 0, 1, 0 },                // TRIANGLE_DOWN
+        { 0, 0, 0, 1 }                 // TRIANGLE_LEFT
+    };
+    private static final PaintCache<Background[]> LED_BACKGROUNDS = new PaintCache<>(64, LedSkin::createLedBackgrounds);
+    private double                                size;
+    private Pane                                  pane;
+    private Region                                frame;
+    private Region                                led;
+    private Region                                highlight;
+    private InnerShadow                           innerShadow;
+    private DropShadow                            glow;
 
 
     // ******************** Constructors **************************************
@@ -82,7 +112,6 @@ public class LedSkin extends SkinBase<Led> implements Skin<Led> {
         frame.setOpacity(getSkinnable().isFrameVisible() ? 1 : 0);
 
         led = new Region();
-        led.setStyle("-led-color: " + Util.colorToCss((Color) getSkinnable().getLedColor()) + ";");
 
         innerShadow = new InnerShadow();
         innerShadow.setColor(Color.rgb(0, 0, 0, 0.65));
@@ -121,11 +150,12 @@ public class LedSkin extends SkinBase<Led> implements Skin<Led> {
         if ("RESIZE".equals(PROPERTY)) {
             resize();
         } else if ("COLOR".equals(PROPERTY)) {
-            led.setStyle("-led-color: " + Util.colorToCss((Color) getSkinnable().getLedColor()) + ";");
-            changeStyle();
+            glow.setColor((Color) getSkinnable().getLedColor());
+            updateLedBackground();
         } else if ("STYLE".equals(PROPERTY)) {
             changeStyle();
         } else if ("ON".equals(PROPERTY)) {
+            updateLedBackground();
             led.setEffect(getSkinnable().isOn() ? glow : innerShadow);
         } else if ("FRAME_VISIBLE".equals(PROPERTY)) {
             frame.setOpacity(getSkinnable().isFrameVisible() ? 1.0 : 0.0);
@@ -209,11 +239,43 @@ public class LedSkin extends SkinBase<Led> implements Skin<Led> {
         }
 
         glow.setColor((Color) getSkinnable().getLedColor());
+        updateLedBackground();
         led.setEffect(getSkinnable().isOn() ? glow : innerShadow);
 
         resize();
     }
 
+    /**
+     * Sets the gradient of the led directly instead of deriving it from
+     * an inline -led-color style, the gradients of a color will be
+     * created once and shared by all leds
+     */
+    private void updateLedBackground() {
+        final Background[] BACKGROUNDS = LED_BACKGROUNDS.get((Color) getSkinnable().getLedColor());
+        led.setBackground(BACKGROUNDS[2 * getSkinnable().getLedType().ordinal() + (getSkinnable().isOn() ? 1 : 0)]);
+    }
+
+    private static Background[] createLedBackgrounds(final Color COLOR) {
+        // same colors as derive(-led-color, ...) in the css
+        final Stop[]       OFF_STOPS   = { new Stop(0.0, Util.deriveColor(COLOR, -0.8)),
+                                           new Stop(0.49, Util.deriveColor(COLOR, -0.87)),
+                                           new Stop(1.0, Util.deriveColor(COLOR, -0.8)) };
+        final Stop[]       ON_STOPS    = { new Stop(0.0, Util.deriveColor(COLOR, -0.23)),
+                                           new Stop(0.49, Util.deriveColor(COLOR, -0.5)),
+                                           new Stop(1.0, COLOR) };
+        final Background[] BACKGROUNDS = new Background[2 * Led.LedType.values().length];
+        for (int i = 0 ; i < OFF_GRADIENTS.length ; i++) {
+            BACKGROUNDS[2 * i]     = createBackground(OFF_GRADIENTS[i], OFF_STOPS);
+            BACKGROUNDS[2 * i + 1] = createBackground(ON_GRADIENTS[i], ON_STOPS);
+        }
+        return BACKGROUNDS;
+    }
+
+    private static Background createBackground(final double[] GRADIENT, final Stop[] STOPS) {
+        return new Background(new BackgroundFill(new LinearGradient(GRADIENT[0], GRADIENT[1], GRADIENT[2], GRADIENT[3], true, CycleMethod.NO_CYCLE, STOPS),
+                                                 CornerRadii.EMPTY, Insets.EMPTY));
+    }
+
     private void resize() {
         size = getSkinnable().getWidth() < getSkinnable().getHeight() ? getSkinnable().getWidth() : getSkinnable().getHeight();
         if (size > 0) {
@@ -16,6 +16,7 @@
 
 package eu.hansolo.enzo.ledbargraph;
 
+import eu.hansolo.enzo.common.ValueIngest;
 import eu.hansolo.enzo.led.Led;
 import eu.hansolo.enzo.ledbargraph.skin.LedBargraphSkin;
 import javafx.beans.property.BooleanProperty;
@@ -44,6 +45,11 @@ import java.util.List;
  * Time: 11:29
  */
 public class LedBargraph extends Control {
+    public static enum Ballistics {
+        NONE,   // shows the value as it is
+        VU,     // integrates the value, reaches 99% of a step after 300 ms
+        PPM     // fast attack within a few ms, slow linear release
+    }
     private Led.LedType _ledType = Led.LedType.ROUND;
     private ObjectProperty<Led.LedType>    ledType;
     private boolean                     _frameVisible = false;
@@ -57,14 +63,20 @@ public class LedBargraph extends Control {
     private ListProperty<Color>         ledColors;
     private boolean                     _peakValueVisible = false;
     private BooleanProperty             peakValueVisible;
+    private Ballistics                  _ballistics = Ballistics.NONE;
+    private ObjectProperty<Ballistics>  ballistics;
+    private double                      _peakFallRate = 0;
+    private DoubleProperty              peakFallRate;
     private DoubleProperty              value;
+    private ValueIngest                 valueIngest;
 
 
     // ******************** Constructors **************************************
     public LedBargraph() {
         getStyleClass().add("bargraph");
-        ledColors = new SimpleListProperty(this, "ledColors", FXCollections.<Color>observableArrayList());
-        value     = new SimpleDoubleProperty(this, "value", 0);
+        ledColors   = new SimpleListProperty(this, "ledColors", FXCollections.<Color>observableArrayList());
+        value       = new SimpleDoubleProperty(this, "value", 0);
+        valueIngest = new ValueIngest(this, VALUE -> setValue(VALUE));
 
         for (int i = 0 ; i < getNoOfLeds() ; i++) {
             if (i < 11) {
@@ -220,6 +232,52 @@ public class LedBargraph extends Control {
         return peakValueVisible;
     }
 
+    /**
+     * Defines how the leds follow the value. VU and PPM will be computed on
+     * every pulse from the value, so values that are submitted with
+     * submitValue() and an aggregation of MAX will not miss short peaks.
+     * @return the ballistics of the bargraph
+     */
+    public final Ballistics getBallistics() {
+        return null == ballistics ? _ballistics : ballistics.get();
+    }
+    public final void setBallistics(final Ballistics BALLISTICS) {
+        if (null == ballistics) {
+            _ballistics = BALLISTICS;
+        } else {
+            ballistics.set(BALLISTICS);
+        }
+    }
+    public final ObjectProperty<Ballistics> ballisticsProperty() {
+        if (null == ballistics) {
+            ballistics = new SimpleObjectProperty<>(this, "ballistics", _ballistics);
+        }
+        return ballistics;
+    }
+
+    /**
+     * The rate in full scale per second the peak falls after it has been
+     * held, 0 means the peak will be switched off after the hold time
+     * @return the fall rate of the peak
+     */
+    public final double getPeakFallRate() {
+        return null == peakFallRate ? _peakFallRate : peakFallRate.get();
+    }
+    public final void setPeakFallRate(final double PEAK_FALL_RATE) {
+        double rate = PEAK_FALL_RATE < 0 ? 0 : PEAK_FALL_RATE;
+        if (null == peakFallRate) {
+            _peakFallRate = rate;
+        } else {
+            peakFallRate.set(rate);
+        }
+    }
+    public final DoubleProperty peakFallRateProperty() {
+        if (null == peakFallRate) {
+            peakFallRate = new SimpleDoubleProperty(this, "peakFallRate", _peakFallRate);
+        }
+        return peakFallRate;
+    }
+
     public final double getValue() {
         return value.get();
     }
@@ -231,6 +289,28 @@ public class LedBargraph extends Control {
         return value;
     }
 
+    /**
+     * Submits a new value, could be called from any thread. The values
+     * will be coalesced and set on the JavaFX application thread at most
+     * once per pulse.
+     * @param VALUE
+     */
+    public final void submitValue(final double VALUE) {
+        valueIngest.submit(VALUE);
+    }
+
+    /**
+     * Defines which of the submitted values will be set if more than one
+     * value was submitted within one pulse
+     * @return the aggregation of submitted values
+     */
+    public final ValueIngest.Aggregation getValueAggregation() {
+        return valueIngest.getAggregation();
+    }
+    public final void setValueAggregation(final ValueIngest.Aggregation AGGREGATION) {
+        valueIngest.setAggregation(AGGREGATION);
+    }
+
 
     // ******************** Stylesheet handling *******************************
     @Override protected Skin createDefaultSkin() {
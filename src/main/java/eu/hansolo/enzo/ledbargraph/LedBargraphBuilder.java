@@ -73,6 +73,16 @@ public class LedBargraphBuilder<B extends LedBargraphBuilder<B>> {
         return this;
     }
 
+    public final LedBargraphBuilder ballistics(final LedBargraph.Ballistics BALLISTICS) {
+        properties.put("ballistics", new SimpleObjectProperty<LedBargraph.Ballistics>(BALLISTICS));
+        return this;
+    }
+
+    public final LedBargraphBuilder peakFallRate(final double PEAK_FALL_RATE) {
+        properties.put("peakFallRate", new SimpleDoubleProperty(PEAK_FALL_RATE));
+        return this;
+    }
+
     public final LedBargraphBuilder ledSize(final double LED_SIZE) {
         properties.put("ledSize", new SimpleDoubleProperty(LED_SIZE));
         return this;
@@ -191,6 +201,10 @@ public class LedBargraphBuilder<B extends LedBargraphBuilder<B>> {
                 CONTROL.setOrientation(((ObjectProperty<Orientation>) properties.get(key)).get());
             } else if ("peakValueVisible".equals(key)) {
                 CONTROL.setPeakValueVisible(((BooleanProperty) properties.get(key)).get());
+            } else if ("ballistics".equals(key)) {
+                CONTROL.setBallistics(((ObjectProperty<LedBargraph.Ballistics>) properties.get(key)).get());
+            } else if ("peakFallRate".equals(key)) {
+                CONTROL.setPeakFallRate(((DoubleProperty) properties.get(key)).get());
             } else if ("ledSize".equals(key)) {
                 CONTROL.setLedSize(((DoubleProperty) properties.get(key)).get());
             } else if ("ledColors".equals(key)) {
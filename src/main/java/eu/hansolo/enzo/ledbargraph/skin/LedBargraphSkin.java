@@ -16,10 +16,11 @@
 
 package eu.hansolo.enzo.ledbargraph.skin;
 
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
 import eu.hansolo.enzo.led.Led;
 import eu.hansolo.enzo.led.LedBuilder;
 import eu.hansolo.enzo.ledbargraph.LedBargraph;
-import javafx.animation.AnimationTimer;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.collections.ListChangeListener;
@@ -48,10 +49,11 @@ public class LedBargraphSkin extends SkinBase<LedBargraph> implements Skin<LedBa
     public static final long    PEAK_TIMEOUT   = 1_500_000_000l;
     private Pane                bargraph;
     private List<Led>           ledList;
-    private long                lastTimerCall;
     private DoubleProperty      stepSize;
     private int                 peakLedIndex;
-    private AnimationTimer      timer;
+    private int                 noOfLitLeds;
+    private MeterBallistics     meter;
+    private Subscription        meterMotion;
 
 
     // ******************** Constructors **************************************
@@ -59,17 +61,9 @@ public class LedBargraphSkin extends SkinBase<LedBargraph> implements Skin<LedBa
         super(CONTROL);
         ledList         = new ArrayList<>(getSkinnable().getNoOfLeds());
         stepSize        = new SimpleDoubleProperty(1.0 / getSkinnable().getNoOfLeds());
-        lastTimerCall   = 0l;
         peakLedIndex    = 0;
-        timer           = new AnimationTimer() {
-            @Override public void handle(final long NOW) {
-                if (NOW > lastTimerCall + PEAK_TIMEOUT) {
-                    ledList.get(peakLedIndex).setOn(false);
-                    peakLedIndex = 0;
-                    timer.stop();
-                }
-            }
-        };
+        noOfLitLeds     = 0;
+        meter           = new MeterBallistics();
 
         init();
         initGraphics();
@@ -99,12 +93,13 @@ public class LedBargraphSkin extends SkinBase<LedBargraph> implements Skin<LedBa
                                 .prefHeight(getSkinnable().getLedSize())
                                 .build();
             ledList.add(led);
-            if (getSkinnable().getValue() > 0) {
-                if (Double.compare(i * stepSize.doubleValue(), getSkinnable().getValue()) <= 0) {
-                    ledList.get(i).setOn(true);
-                } else {
-                    ledList.get(i).setOn(false);
-                }
+        }
+        if (getSkinnable().getValue() > 0) {
+            meter.setInput(getSkinnable().getValue(), LedBargraph.Ballistics.NONE, System.nanoTime());
+            meter.resetPeak();
+            noOfLitLeds = getNoOfLitLeds(getSkinnable().getValue());
+            for (int i = 0 ; i < noOfLitLeds ; i++) {
+                ledList.get(i).setOn(true);
             }
         }
 
@@ -136,6 +131,8 @@ public class LedBargraphSkin extends SkinBase<LedBargraph> implements Skin<LedBa
         getSkinnable().widthProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
         getSkinnable().heightProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
         getSkinnable().valueProperty().addListener(observable -> handleControlPropertyChanged("VALUE") );
+        getSkinnable().ballisticsProperty().addListener(observable -> handleControlPropertyChanged("VALUE") );
+        getSkinnable().peakFallRateProperty().addListener(observable -> handleControlPropertyChanged("VALUE") );
         getSkinnable().ledTypeProperty().addListener(observable -> handleControlPropertyChanged("LED_TYPE") );
         getSkinnable().frameVisibleProperty().addListener(observable -> handleControlPropertyChanged("FRAME_VISIBLE") );
         getSkinnable().ledSizeProperty().addListener(observable -> handleControlPropertyChanged("LED_SIZE") );
@@ -152,24 +149,11 @@ public class LedBargraphSkin extends SkinBase<LedBargraph> implements Skin<LedBa
     // ******************** Methods *******************************************
     protected void handleControlPropertyChanged(final String PROPERTY) {
         if ("VALUE".equals(PROPERTY)) {
-            int currentLedPeakIndex = 0;
-            for (int i = 0 ; i < getSkinnable().getNoOfLeds() ; i++) {
-                if (Double.compare(i * stepSize.doubleValue(), getSkinnable().getValue()) <= 0) {
-                    ledList.get(i).setOn(true);
-                    currentLedPeakIndex = i;
-                } else {
-                    ledList.get(i).setOn(false);
-                }
-                ledList.get(peakLedIndex).setOn(true);
-            }
-            // PeakValue
-            if (getSkinnable().isPeakValueVisible()) {
-                if (currentLedPeakIndex > peakLedIndex) {
-                    peakLedIndex = currentLedPeakIndex;
-                    timer.stop();
-                    lastTimerCall = System.nanoTime();
-                    timer.start();
-                }
+            meter.setInput(getSkinnable().getValue(), getSkinnable().getBallistics(), System.nanoTime());
+            if (LedBargraph.Ballistics.NONE == getSkinnable().getBallistics()) updateLeds();
+            // Level and peak will follow the value on the pulse
+            if (null == meterMotion) {
+                meterMotion = PulseScheduler.subscribe(getSkinnable(), 0, (NOW, TICK) -> followMeter(NOW));
             }
         } else if ("FRAME_VISIBLE".equals(PROPERTY)) {
             for (Led led : ledList) {
@@ -191,6 +175,14 @@ public class LedBargraphSkin extends SkinBase<LedBargraph> implements Skin<LedBa
         }
     }
 
+    @Override public void dispose() {
+        if (null != meterMotion) {
+            meterMotion.cancel();
+            meterMotion = null;
+        }
+        super.dispose();
+    }
+
     @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
         return super.computeMinWidth(Math.max(MINIMUM_SIZE, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
     }
@@ -222,6 +214,55 @@ public class LedBargraphSkin extends SkinBase<LedBargraph> implements Skin<LedBa
 
 
     // ******************** Private Methods ***********************************
+    /**
+     * Returns the number of leds that are on at the given value, these
+     * are all leds with i * stepSize <= VALUE
+     * @param VALUE
+     * @return the number of leds that are on
+     */
+    private int getNoOfLitLeds(final double VALUE) {
+        final int    NO_OF_LEDS = ledList.size();
+        final double STEP_SIZE  = stepSize.get();
+        if (NO_OF_LEDS == 0 || Double.isNaN(VALUE) || VALUE < 0) return 0;
+        int litLeds = (int) Math.min(NO_OF_LEDS, Math.floor(VALUE / STEP_SIZE) + 1);
+        // Correct rounding errors of the division
+        while (litLeds > 0 && Double.compare((litLeds - 1) * STEP_SIZE, VALUE) > 0) litLeds--;
+        while (litLeds < NO_OF_LEDS && Double.compare(litLeds * STEP_SIZE, VALUE) <= 0) litLeds++;
+        return litLeds;
+    }
+
+    private void followMeter(final long NOW) {
+        final boolean MOVING = meter.update(NOW, getSkinnable().getBallistics(),
+                                            getSkinnable().isPeakValueVisible() ? PEAK_TIMEOUT : 0,
+                                            getSkinnable().getPeakFallRate());
+        updateLeds();
+        if (!MOVING) {
+            meterMotion.cancel();
+            meterMotion = null;
+        }
+    }
+
+    /**
+     * Switches only the leds between the last and the current level of the
+     * meter and moves the peak led if the peak changed
+     */
+    private void updateLeds() {
+        final int NO_OF_LIT_LEDS = getNoOfLitLeds(meter.getLevel());
+        final int PEAK_LED_INDEX = getSkinnable().isPeakValueVisible() ? Math.max(0, getNoOfLitLeds(meter.getPeak()) - 1) : 0;
+        for (int i = noOfLitLeds ; i < NO_OF_LIT_LEDS ; i++) {
+            ledList.get(i).setOn(true);
+        }
+        for (int i = NO_OF_LIT_LEDS ; i < noOfLitLeds ; i++) {
+            if (i != PEAK_LED_INDEX) ledList.get(i).setOn(false);
+        }
+        if (PEAK_LED_INDEX != peakLedIndex && peakLedIndex >= NO_OF_LIT_LEDS) {
+            ledList.get(peakLedIndex).setOn(false);
+        }
+        noOfLitLeds  = NO_OF_LIT_LEDS;
+        peakLedIndex = PEAK_LED_INDEX;
+        ledList.get(peakLedIndex).setOn(true);
+    }
+
     private final void setLedSizes() {
         for (Led led : ledList) {
             led.setPrefSize(getSkinnable().getLedSize(), getSkinnable().getLedSize());
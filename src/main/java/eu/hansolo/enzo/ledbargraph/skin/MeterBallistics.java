@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.ledbargraph.skin;
+
+import eu.hansolo.enzo.ledbargraph.LedBargraph;
+
+
+/**
+ * The level and the peak of a meter that follow an input with the
+ * ballistics of a VU meter or a peak programme meter. The input is
+ * sampled on every pulse and the state consists of a few primitives,
+ * so a meter does not create any objects while it is moving.
+ * The VU meter is a first order lowpass that reaches 99% of a step after
+ * 300 ms, the PPM rises with a time constant of 5 ms and falls linearly
+ * by the full scale in 1.7 s. Both approximate the standards on a linear
+ * scale of 0 - 1.
+ * The peak follows the level up, is held for the hold time and then
+ * either falls with the fall rate or drops to the level at once.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 12:20
+ */
+final class MeterBallistics {
+    private static final double VU_TIME_CONSTANT         = 0.3 / Math.log(100);  // seconds
+    private static final double PPM_ATTACK_TIME_CONSTANT = 0.005;                // seconds
+    private static final double PPM_RELEASE_RATE         = 1.0 / 1.7;            // full scale per second
+    private static final double MAX_FRAME_TIME           = 0.1;                  // seconds
+    private static final double PRECISION                = 0.0005;               // full scale
+    private double              input;
+    private double              level;
+    private double              peak;
+    private long                peakTime;
+    private long                lastUpdate;
+
+
+    // ******************** Constructors **************************************
+    MeterBallistics() {
+        lastUpdate = -1;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Sets the value the level will follow, without ballistics the level
+     * will be set immediately
+     * @param INPUT
+     * @param BALLISTICS
+     * @param NOW the time in nanoseconds
+     */
+    void setInput(final double INPUT, final LedBargraph.Ballistics BALLISTICS, final long NOW) {
+        input = INPUT;
+        if (LedBargraph.Ballistics.NONE == BALLISTICS) {
+            level = INPUT;
+            if (level >= peak) {
+                peak     = level;
+                peakTime = NOW;
+            }
+        }
+    }
+
+    double getLevel() {
+        return level;
+    }
+
+    double getPeak() {
+        return peak;
+    }
+
+    void resetPeak() {
+        peak = level;
+    }
+
+    /**
+     * Advances the level and the peak to the given time
+     * @param NOW            the time of the pulse in nanoseconds
+     * @param BALLISTICS     the ballistics of the level
+     * @param PEAK_HOLD_TIME the time in nanoseconds the peak will be held
+     * @param PEAK_FALL_RATE full scale per second, 0 drops the peak after the hold time
+     * @return true if the level or the peak are still moving
+     */
+    boolean update(final long NOW, final LedBargraph.Ballistics BALLISTICS, final long PEAK_HOLD_TIME, final double PEAK_FALL_RATE) {
+        if (lastUpdate < 0) lastUpdate = NOW;
+        final double DT = Math.min(MAX_FRAME_TIME, (NOW - lastUpdate) / 1_000_000_000d);
+        lastUpdate = NOW;
+
+        switch (BALLISTICS) {
+            case VU:
+                level = input + (level - input) * Math.exp(-DT / VU_TIME_CONSTANT);
+                break;
+            case PPM:
+                if (input > level) {
+                    level = input + (level - input) * Math.exp(-DT / PPM_ATTACK_TIME_CONSTANT);
+                } else {
+                    level = Math.max(input, level - PPM_RELEASE_RATE * DT);
+                }
+                break;
+            case NONE:
+            default:
+                level = input;
+                break;
+        }
+        if (Math.abs(level - input) <= PRECISION) level = input;
+
+        if (level >= peak) {
+            peak     = level;
+            peakTime = NOW;
+        } else if (NOW - peakTime >= PEAK_HOLD_TIME) {
+            peak = PEAK_FALL_RATE > 0 ? Math.max(level, peak - PEAK_FALL_RATE * DT) : level;
+        }
+
+        final boolean MOVING = level != input || peak > level;
+        if (!MOVING) lastUpdate = -1;
+        return MOVING;
+    }
+}
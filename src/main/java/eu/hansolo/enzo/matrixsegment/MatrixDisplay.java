@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.matrixsegment;
+
+import eu.hansolo.enzo.matrixsegment.skin.MatrixDisplaySkin;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+import javafx.scene.paint.Color;
+
+
+/**
+ * A dot matrix display that shows a whole text in one control instead
+ * of using one MatrixSegment per character. The characters are taken
+ * from the default dot mapping of the MatrixSegment where each character
+ * is 5 dot columns wide followed by one empty dot column.
+ * The number of columns defines the number of visible dot columns.
+ * If scrolling is enabled the text will move from right to left with
+ * the given scroll speed in dot columns per second.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 22.10.13
+ * Time: 15:21
+ */
+public class MatrixDisplay extends Control {
+    public static final int       CHARACTER_WIDTH = 6;
+    public static final int       ROWS            = 7;
+    private Color                 _color          = Color.RED;
+    private ObjectProperty<Color> color;
+    private String                _text           = "";
+    private StringProperty        text;
+    private int                   _columns        = 60;
+    private IntegerProperty       columns;
+    private boolean               _scrolling      = false;
+    private BooleanProperty       scrolling;
+    private double                _scrollSpeed    = 20;
+    private DoubleProperty        scrollSpeed;
+
+
+    // ******************** Constructors **************************************
+    public MatrixDisplay() {
+        this("", 60, Color.RED);
+    }
+    public MatrixDisplay(final String TEXT) {
+        this(TEXT, 60, Color.RED);
+    }
+    public MatrixDisplay(final String TEXT, final int COLUMNS) {
+        this(TEXT, COLUMNS, Color.RED);
+    }
+    public MatrixDisplay(final String TEXT, final int COLUMNS, final Color COLOR) {
+        getStyleClass().add("matrix-display");
+        _text    = TEXT;
+        _columns = Math.max(1, COLUMNS);
+        _color   = COLOR;
+    }
+
+
+    // ******************** Methods *******************************************
+    public final Color getColor() {
+        return null == color ? _color : color.get();
+    }
+    public final void setColor(final Color COLOR) {
+        if (null == color) {
+            _color = COLOR;
+        } else {
+            color.set(COLOR);
+        }
+    }
+    public final ObjectProperty<Color> colorProperty() {
+        if (null == color) {
+            color = new SimpleObjectProperty<>(this, "color", _color);
+        }
+        return color;
+    }
+
+    public final String getText() {
+        return null == text ? _text : text.get();
+    }
+    public final void setText(final String TEXT) {
+        if (null == text) {
+            _text = TEXT;
+        } else {
+            text.set(TEXT);
+        }
+    }
+    public final StringProperty textProperty() {
+        if (null == text) {
+            text = new SimpleStringProperty(this, "text", _text);
+        }
+        return text;
+    }
+
+    /**
+     * Returns the number of visible dot columns
+     * @return the number of visible dot columns
+     */
+    public final int getColumns() {
+        return null == columns ? _columns : columns.get();
+    }
+    public final void setColumns(final int COLUMNS) {
+        if (null == columns) {
+            _columns = Math.max(1, COLUMNS);
+        } else {
+            columns.set(Math.max(1, COLUMNS));
+        }
+    }
+    public final IntegerProperty columnsProperty() {
+        if (null == columns) {
+            columns = new SimpleIntegerProperty(this, "columns", _columns);
+        }
+        return columns;
+    }
+
+    public final boolean isScrolling() {
+        return null == scrolling ? _scrolling : scrolling.get();
+    }
+    public final void setScrolling(final boolean SCROLLING) {
+        if (null == scrolling) {
+            _scrolling = SCROLLING;
+        } else {
+            scrolling.set(SCROLLING);
+        }
+    }
+    public final BooleanProperty scrollingProperty() {
+        if (null == scrolling) {
+            scrolling = new SimpleBooleanProperty(this, "scrolling", _scrolling);
+        }
+        return scrolling;
+    }
+
+    /**
+     * Returns the scroll speed in dot columns per second
+     * @return the scroll speed in dot columns per second
+     */
+    public final double getScrollSpeed() {
+        return null == scrollSpeed ? _scrollSpeed : scrollSpeed.get();
+    }
+    public final void setScrollSpeed(final double SCROLL_SPEED) {
+        if (null == scrollSpeed) {
+            _scrollSpeed = SCROLL_SPEED;
+        } else {
+            scrollSpeed.set(SCROLL_SPEED);
+        }
+    }
+    public final DoubleProperty scrollSpeedProperty() {
+        if (null == scrollSpeed) {
+            scrollSpeed = new SimpleDoubleProperty(this, "scrollSpeed", _scrollSpeed);
+        }
+        return scrollSpeed;
+    }
+
+    /**
+     * Returns the dot columns of the current text where bit n of each
+     * byte is set if the dot in row n of that column is on.
+     * @return the dot columns of the current text
+     */
+    public final byte[] getDotColumns() {
+        final String TEXT    = null == getText() ? "" : getText();
+        final byte[] COLUMNS = new byte[TEXT.length() * CHARACTER_WIDTH];
+        for (int i = 0 ; i < TEXT.length() ; i++) {
+            final long MASK = MatrixSegment.getDefaultDotMask(Character.toUpperCase(TEXT.charAt(i)));
+            for (int x = 0 ; x < CHARACTER_WIDTH - 1 ; x++) {
+                int bits = 0;
+                for (int y = 0 ; y < ROWS ; y++) {
+                    if ((MASK & (1l << (y * (CHARACTER_WIDTH - 1) + x))) != 0) bits |= 1 << y;
+                }
+                COLUMNS[i * CHARACTER_WIDTH + x] = (byte) bits;
+            }
+        }
+        return COLUMNS;
+    }
+
+
+    // ******************** Style related *************************************
+    @Override protected Skin createDefaultSkin() {
+        return new MatrixDisplaySkin(this);
+    }
+
+    @Override protected String getUserAgentStylesheet() {
+        return getClass().getResource(getClass().getSimpleName().toLowerCase() + ".css").toExternalForm();
+    }
+}
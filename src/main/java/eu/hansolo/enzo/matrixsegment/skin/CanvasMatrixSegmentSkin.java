@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.matrixsegment.skin;
+
+import eu.hansolo.enzo.matrixsegment.MatrixSegment;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Skin;
+import javafx.scene.control.SkinBase;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.InnerShadow;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
+
+import static eu.hansolo.enzo.matrixsegment.MatrixSegment.Dot;
+
+
+/**
+ * Alternative skin for the MatrixSegment that draws the background and
+ * all 35 dots into one Canvas instead of using 70 styled Regions with
+ * effects. The dots are pre-rendered as sprites (off, on and on with
+ * glow) which will only be re-created on resize and color changes.
+ * The canvas will only be redrawn if the visible state changes.
+ *
+ * Usage: segment.setSkin(new CanvasMatrixSegmentSkin(segment));
+ *
+ * Created by
+ * User: hansolo
+ * Date: 22.10.13
+ * Time: 07:35
+ */
+public class CanvasMatrixSegmentSkin extends SkinBase<MatrixSegment> implements Skin<MatrixSegment> {
+    private static final double PREFERRED_WIDTH  = 71;
+    private static final double PREFERRED_HEIGHT = 100;
+    private static final double MINIMUM_WIDTH    = 5;
+    private static final double MINIMUM_HEIGHT   = 5;
+    private static final double MAXIMUM_WIDTH    = 1024;
+    private static final double MAXIMUM_HEIGHT   = 1024;
+    private static final int    COLUMNS          = 5;
+    private static final Dot[]  DOTS             = Dot.values();
+    private double              aspectRatio;
+    private double              width;
+    private double              height;
+    private double              dotWidth;
+    private double              dotHeight;
+    private double              spriteMargin;
+    private Canvas              canvas;
+    private GraphicsContext     ctx;
+    private LinearGradient      backgroundFill;
+    private Image               dotOffSprite;
+    private Image               dotOnSprite;
+    private Image               dotGlowSprite;
+    private long                dotMask;
+
+
+    // ******************** Constructors **************************************
+    public CanvasMatrixSegmentSkin(final MatrixSegment CONTROL) {
+        super(CONTROL);
+        aspectRatio = PREFERRED_HEIGHT / PREFERRED_WIDTH;
+        dotMask     = -1;
+        init();
+        initGraphics();
+        registerListeners();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void init() {
+        if (Double.compare(getSkinnable().getPrefWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getPrefHeight(), 0.0) <= 0 ||
+            Double.compare(getSkinnable().getWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getHeight(), 0.0) <= 0) {
+            if (getSkinnable().getPrefWidth() > 0 && getSkinnable().getPrefHeight() > 0) {
+                getSkinnable().setPrefSize(getSkinnable().getPrefWidth(), getSkinnable().getPrefHeight());
+            } else {
+                getSkinnable().setPrefSize(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+            }
+        }
+
+        if (Double.compare(getSkinnable().getMinWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMinHeight(), 0.0) <= 0) {
+            getSkinnable().setMinSize(MINIMUM_WIDTH, MINIMUM_HEIGHT);
+        }
+
+        if (Double.compare(getSkinnable().getMaxWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMaxHeight(), 0.0) <= 0) {
+            getSkinnable().setMaxSize(MAXIMUM_WIDTH, MAXIMUM_HEIGHT);
+        }
+
+        if (getSkinnable().getPrefWidth() != PREFERRED_WIDTH || getSkinnable().getPrefHeight() != PREFERRED_HEIGHT) {
+            aspectRatio = getSkinnable().getPrefHeight() / getSkinnable().getPrefWidth();
+        }
+    }
+
+    private void initGraphics() {
+        canvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+        ctx    = canvas.getGraphicsContext2D();
+        getChildren().setAll(canvas);
+        resize();
+    }
+
+    private void registerListeners() {
+        getSkinnable().widthProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().heightProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().prefWidthProperty().addListener(observable -> handleControlPropertyChanged("PREF_SIZE") );
+        getSkinnable().prefHeightProperty().addListener(observable -> handleControlPropertyChanged("PREF_SIZE") );
+        getSkinnable().colorProperty().addListener(observable -> handleControlPropertyChanged("COLOR") );
+        getSkinnable().backgroundVisibleProperty().addListener(observable -> handleControlPropertyChanged("BACKGROUND") );
+        getSkinnable().highlightsVisibleProperty().addListener(observable -> handleControlPropertyChanged("HIGHLIGHTS") );
+        getSkinnable().characterProperty().addListener(observable -> handleControlPropertyChanged("CHARACTER") );
+        getSkinnable().customDotMappingProperty().addListener(observable -> handleControlPropertyChanged("CHARACTER") );
+        getSkinnable().glowEnabledProperty().addListener(observable -> handleControlPropertyChanged("GLOW") );
+    }
+
+
+    // ******************** Methods *******************************************
+    protected void handleControlPropertyChanged(final String PROPERTY) {
+        if ("RESIZE".equals(PROPERTY)) {
+            resize();
+        } else if ("PREF_SIZE".equals(PROPERTY)) {
+            aspectRatio = getSkinnable().getPrefHeight() / getSkinnable().getPrefWidth();
+        } else if ("COLOR".equals(PROPERTY)) {
+            createOnSprites();
+            drawMatrix();
+        } else if ("BACKGROUND".equals(PROPERTY)) {
+            drawMatrix();
+        } else if ("HIGHLIGHTS".equals(PROPERTY)) {
+            createSprites();
+            drawMatrix();
+        } else if ("CHARACTER".equals(PROPERTY)) {
+            if (updateDots()) drawMatrix();
+        } else if ("GLOW".equals(PROPERTY)) {
+            drawMatrix();
+        }
+    }
+
+    @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinWidth(Math.max(MINIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMinHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinHeight(Math.max(MINIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computeMaxWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxWidth(Math.min(MAXIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMaxHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxHeight(Math.min(MAXIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computePrefWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefHeight = PREFERRED_HEIGHT;
+        if (HEIGHT != -1) {
+            prefHeight = Math.max(0, HEIGHT - TOP_INSET - BOTTOM_INSET);
+        }
+        return super.computePrefWidth(prefHeight, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computePrefHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefWidth = PREFERRED_WIDTH;
+        if (WIDTH != -1) {
+            prefWidth = Math.max(0, WIDTH - LEFT_INSET - RIGHT_INSET);
+        }
+        return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+
+    // ******************** Update ********************************************
+
+    /**
+     * Fetches the precompiled dot mask of the current character
+     * @return true if the dot mask was changed since the last call
+     */
+    private boolean updateDots() {
+        final long MASK = getSkinnable().getDotMask();
+        if (MASK == dotMask) return false;
+        dotMask = MASK;
+        return true;
+    }
+
+    private void drawMatrix() {
+        if (null == dotOffSprite) return;
+        ctx.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        if (getSkinnable().isBackgroundVisible()) {
+            ctx.setFill(backgroundFill);
+            ctx.fillRect(0, 0, width, height);
+        }
+
+        final Image ON_SPRITE = getSkinnable().isGlowEnabled() ? dotGlowSprite : dotOnSprite;
+        // first all dots that are off, then the dots that are on so that the glow is on top
+        for (int i = 0 ; i < DOTS.length ; i++) {
+            if ((dotMask & (1l << i)) == 0) ctx.drawImage(dotOffSprite, dotX(i) - spriteMargin, dotY(i) - spriteMargin);
+        }
+        for (int i = 0 ; i < DOTS.length ; i++) {
+            if ((dotMask & (1l << i)) != 0) ctx.drawImage(ON_SPRITE, dotX(i) - spriteMargin, dotY(i) - spriteMargin);
+        }
+    }
+
+    private double dotX(final int INDEX) {
+        return (10 + 62 * (INDEX % COLUMNS)) / 310.0 * width;
+    }
+
+    private double dotY(final int INDEX) {
+        return (10 + 62 * (INDEX / COLUMNS)) / 434.0 * height;
+    }
+
+
+    // ******************** Sprites *******************************************
+    private void createSprites() {
+        if (width <= 0 || height <= 0) return;
+        dotOffSprite = createDotSprite(Color.rgb(86, 83, 87), Color.rgb(15, 15, 18), false);
+        createOnSprites();
+    }
+
+    private void createOnSprites() {
+        if (width <= 0 || height <= 0) return;
+        final Color COLOR = getSkinnable().getColor();
+        // same colors as the dots of the MatrixSegmentSkin
+        final Color BRIGHT = MatrixSegmentSkin.getDotOnInnerColor(COLOR);
+        final Color DARK   = MatrixSegmentSkin.getDotOnOuterColor(COLOR);
+        dotOnSprite   = createDotSprite(BRIGHT, DARK, false);
+        dotGlowSprite = createDotSprite(BRIGHT, DARK, true);
+    }
+
+    private Image createDotSprite(final Color INNER_COLOR, final Color OUTER_COLOR, final boolean GLOW) {
+        final Canvas          SPRITE = new Canvas(dotWidth + 2 * spriteMargin, dotHeight + 2 * spriteMargin);
+        final GraphicsContext CTX    = SPRITE.getGraphicsContext2D();
+
+        final InnerShadow INNER_SHADOW = new InnerShadow(BlurType.TWO_PASS_BOX, Color.rgb(0, 0, 0, 0.65), 0.025 * width, 0, 0, 0);
+        if (GLOW) {
+            final DropShadow GLOW_EFFECT = new DropShadow(BlurType.TWO_PASS_BOX, getSkinnable().getColor(), 0.032 * width, 0, 0, 0);
+            GLOW_EFFECT.setInput(INNER_SHADOW);
+            CTX.setEffect(GLOW_EFFECT);
+        } else {
+            CTX.setEffect(INNER_SHADOW);
+        }
+        CTX.setFill(new RadialGradient(0, 0.2, 0.5, 0.6, 0.5, true, CycleMethod.NO_CYCLE,
+                                       new Stop(0.0, INNER_COLOR),
+                                       new Stop(0.31, INNER_COLOR),
+                                       new Stop(1.0, OUTER_COLOR)));
+        CTX.fillOval(spriteMargin, spriteMargin, dotWidth, dotHeight);
+        CTX.setEffect(null);
+
+        if (getSkinnable().isHighlightsVisible()) {
+            CTX.setFill(new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+                                           new Stop(0.0, Color.rgb(255, 255, 255, 0.64706)),
+                                           new Stop(1.0, Color.rgb(255, 255, 255, 0.04706))));
+            CTX.fillOval(spriteMargin + 9.0 / 42.0 * dotWidth, spriteMargin + 4.0 / 42.0 * dotHeight,
+                         24.0 / 42.0 * dotWidth, 15.0 / 42.0 * dotHeight);
+        }
+
+        final SnapshotParameters PARAMETERS = new SnapshotParameters();
+        PARAMETERS.setFill(Color.TRANSPARENT);
+        return SPRITE.snapshot(PARAMETERS, null);
+    }
+
+
+    // ******************** Resizing ******************************************
+    private void resize() {
+        width  = getSkinnable().getWidth();
+        height = getSkinnable().getHeight();
+
+        if (aspectRatio * width > height) {
+            width  = 1 / (aspectRatio / height);
+        } else if (1 / (aspectRatio / height) > width) {
+            height = aspectRatio * width;
+        }
+
+        if (width > 0 && height > 0) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+
+            dotWidth     = 42.0 / 310.0 * width;
+            dotHeight    = 42.0 / 434.0 * height;
+            spriteMargin = Math.ceil(0.032 * width);
+
+            backgroundFill = new LinearGradient(0, 0, 0, height, false, CycleMethod.NO_CYCLE,
+                                                new Stop(0.0, Color.rgb(50, 67, 57)),
+                                                new Stop(1.0, Color.rgb(48, 57, 50)));
+
+            createSprites();
+            updateDots();
+            drawMatrix();
+        }
+    }
+}
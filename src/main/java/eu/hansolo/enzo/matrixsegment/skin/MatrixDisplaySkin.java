@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.matrixsegment.skin;
+
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import eu.hansolo.enzo.matrixsegment.MatrixDisplay;
+import javafx.scene.control.Skin;
+import javafx.scene.control.SkinBase;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import static eu.hansolo.enzo.matrixsegment.MatrixDisplay.ROWS;
+
+
+/**
+ * Skin for the MatrixDisplay that renders all dots into one int[] pixel
+ * buffer which will be uploaded to a WritableImage. The buffer contains
+ * one dot column more than visible so that the text could be moved by
+ * fractions of a dot column by translating the image.
+ * When scrolling, the buffer will be shifted by whole dot columns and
+ * only the newly exposed columns will be rasterized.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 22.10.13
+ * Time: 15:48
+ */
+public class MatrixDisplaySkin extends SkinBase<MatrixDisplay> implements Skin<MatrixDisplay> {
+    private static final int    PREFERRED_CELL = 10;
+    private static final int    MINIMUM_CELL   = 2;
+    private static final double MINIMUM_WIDTH  = 5;
+    private static final double MINIMUM_HEIGHT = 5;
+    private static final double MAXIMUM_WIDTH  = 4096;
+    private static final double MAXIMUM_HEIGHT = 1024;
+    private Pane                pane;
+    private Rectangle           clip;
+    private ImageView           view;
+    private WritableImage       image;
+    private int[]               buffer;
+    private int                 cell;
+    private int                 bufferColumns;
+    private int                 bufferWidth;
+    private int                 bufferHeight;
+    private int[]               dotOnSprite;
+    private int[]               dotOffSprite;
+    private byte[]              dotColumns;
+    private double              offset;
+    private int                 firstColumn;
+    private long                lastPulse;
+    private Subscription        pulse;
+
+
+    // ******************** Constructors **************************************
+    public MatrixDisplaySkin(final MatrixDisplay CONTROL) {
+        super(CONTROL);
+        dotColumns = CONTROL.getDotColumns();
+        init();
+        initGraphics();
+        registerListeners();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void init() {
+        if (Double.compare(getSkinnable().getPrefWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getPrefHeight(), 0.0) <= 0 ||
+            Double.compare(getSkinnable().getWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getHeight(), 0.0) <= 0) {
+            if (getSkinnable().getPrefWidth() > 0 && getSkinnable().getPrefHeight() > 0) {
+                getSkinnable().setPrefSize(getSkinnable().getPrefWidth(), getSkinnable().getPrefHeight());
+            } else {
+                getSkinnable().setPrefSize(getSkinnable().getColumns() * PREFERRED_CELL, ROWS * PREFERRED_CELL);
+            }
+        }
+
+        if (Double.compare(getSkinnable().getMinWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMinHeight(), 0.0) <= 0) {
+            getSkinnable().setMinSize(MINIMUM_WIDTH, MINIMUM_HEIGHT);
+        }
+
+        if (Double.compare(getSkinnable().getMaxWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMaxHeight(), 0.0) <= 0) {
+            getSkinnable().setMaxSize(MAXIMUM_WIDTH, MAXIMUM_HEIGHT);
+        }
+    }
+
+    private void initGraphics() {
+        view = new ImageView();
+        view.setSmooth(false);
+
+        clip = new Rectangle();
+
+        pane = new Pane(view);
+        pane.setClip(clip);
+
+        getChildren().setAll(pane);
+        resize();
+        if (getSkinnable().isScrolling()) startScrolling();
+    }
+
+    private void registerListeners() {
+        getSkinnable().widthProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().heightProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().columnsProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().colorProperty().addListener(observable -> handleControlPropertyChanged("COLOR") );
+        getSkinnable().textProperty().addListener(observable -> handleControlPropertyChanged("TEXT") );
+        getSkinnable().scrollingProperty().addListener(observable -> handleControlPropertyChanged("SCROLLING") );
+    }
+
+
+    // ******************** Methods *******************************************
+    protected void handleControlPropertyChanged(final String PROPERTY) {
+        if ("RESIZE".equals(PROPERTY)) {
+            resize();
+        } else if ("COLOR".equals(PROPERTY)) {
+            createSprites();
+            drawColumns(firstColumn);
+        } else if ("TEXT".equals(PROPERTY)) {
+            dotColumns = getSkinnable().getDotColumns();
+            offset     = getSkinnable().isScrolling() ? wrap(offset) : 0;
+            drawColumns((int) offset);
+            view.setTranslateX(-(offset - firstColumn) * cell);
+        } else if ("SCROLLING".equals(PROPERTY)) {
+            if (getSkinnable().isScrolling()) {
+                startScrolling();
+            } else {
+                stopScrolling();
+            }
+        }
+    }
+
+    @Override public void dispose() {
+        if (null != pulse) {
+            pulse.cancel();
+            pulse = null;
+        }
+        super.dispose();
+    }
+
+    @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinWidth(Math.max(MINIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMinHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinHeight(Math.max(MINIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computeMaxWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxWidth(Math.min(MAXIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMaxHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxHeight(Math.min(MAXIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computePrefWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefHeight = ROWS * PREFERRED_CELL;
+        if (HEIGHT != -1) {
+            prefHeight = Math.max(0, HEIGHT - TOP_INSET - BOTTOM_INSET);
+        }
+        return super.computePrefWidth(prefHeight, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computePrefHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefWidth = getSkinnable().getColumns() * PREFERRED_CELL;
+        if (WIDTH != -1) {
+            prefWidth = Math.max(0, WIDTH - LEFT_INSET - RIGHT_INSET);
+        }
+        return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+
+    // ******************** Scrolling *****************************************
+    private void startScrolling() {
+        if (null != pulse) return;
+        lastPulse = 0;
+        pulse     = PulseScheduler.subscribe(getSkinnable(), 0, (NOW, TICK) -> scroll(NOW));
+    }
+
+    private void stopScrolling() {
+        if (null != pulse) {
+            pulse.cancel();
+            pulse = null;
+        }
+        offset = 0;
+        drawColumns(0);
+        view.setTranslateX(0);
+    }
+
+    private void scroll(final long NOW) {
+        if (0 == lastPulse) {
+            lastPulse = NOW;
+            return;
+        }
+        offset    = wrap(offset + Math.max(0, getSkinnable().getScrollSpeed()) * (NOW - lastPulse) / 1_000_000_000.0);
+        lastPulse = NOW;
+
+        final int FIRST = (int) offset;
+        if (FIRST != firstColumn) {
+            final int SHIFT = Math.floorMod(FIRST - firstColumn, getLength());
+            if (SHIFT < bufferColumns) {
+                shiftColumns(FIRST, SHIFT);
+            } else {
+                drawColumns(FIRST);
+            }
+        }
+        view.setTranslateX(-(offset - FIRST) * cell);
+    }
+
+    /**
+     * Returns the length of one scroll cycle in dot columns which is the
+     * text followed by one screen of empty columns
+     * @return the length of one scroll cycle in dot columns
+     */
+    private int getLength() {
+        return dotColumns.length + getSkinnable().getColumns();
+    }
+
+    private double wrap(final double OFFSET) {
+        final int LENGTH = getLength();
+        return OFFSET - Math.floor(OFFSET / LENGTH) * LENGTH;
+    }
+
+    private int getDotColumn(final int COLUMN) {
+        final int INDEX = getSkinnable().isScrolling() ? Math.floorMod(COLUMN, getLength()) : COLUMN;
+        return INDEX < dotColumns.length ? dotColumns[INDEX] : 0;
+    }
+
+
+    // ******************** Drawing related ***********************************
+    private void drawColumns(final int FIRST) {
+        if (null == buffer) return;
+        for (int i = 0 ; i < bufferColumns ; i++) {
+            drawColumn(i, getDotColumn(FIRST + i));
+        }
+        firstColumn = FIRST;
+        upload();
+    }
+
+    /**
+     * Moves the content of the buffer SHIFT columns to the left and only
+     * rasterizes the columns that became visible on the right side.
+     * @param FIRST the dot column that will be the first in the buffer
+     * @param SHIFT the number of dot columns to move
+     */
+    private void shiftColumns(final int FIRST, final int SHIFT) {
+        if (null == buffer) return;
+        final int SHIFT_PIXELS = SHIFT * cell;
+        for (int y = 0 ; y < bufferHeight ; y++) {
+            System.arraycopy(buffer, y * bufferWidth + SHIFT_PIXELS, buffer, y * bufferWidth, bufferWidth - SHIFT_PIXELS);
+        }
+        for (int i = bufferColumns - SHIFT ; i < bufferColumns ; i++) {
+            drawColumn(i, getDotColumn(FIRST + i));
+        }
+        firstColumn = FIRST;
+        upload();
+    }
+
+    private void drawColumn(final int BUFFER_COLUMN, final int DOTS) {
+        final int X = BUFFER_COLUMN * cell;
+        for (int row = 0 ; row < ROWS ; row++) {
+            final int[] SPRITE = (DOTS & (1 << row)) != 0 ? dotOnSprite : dotOffSprite;
+            for (int y = 0 ; y < cell ; y++) {
+                System.arraycopy(SPRITE, y * cell, buffer, (row * cell + y) * bufferWidth + X, cell);
+            }
+        }
+    }
+
+    private void upload() {
+        image.getPixelWriter().setPixels(0, 0, bufferWidth, bufferHeight, PixelFormat.getIntArgbPreInstance(), buffer, 0, bufferWidth);
+    }
+
+
+    // ******************** Sprites *******************************************
+    private void createSprites() {
+        if (cell <= 0) return;
+        final Color COLOR = getSkinnable().getColor();
+        // same colors as the dots of the MatrixSegment
+        dotOnSprite  = createDotSprite(MatrixSegmentSkin.getDotOnInnerColor(COLOR), MatrixSegmentSkin.getDotOnOuterColor(COLOR));
+        dotOffSprite = createDotSprite(Color.rgb(86, 83, 87), Color.rgb(15, 15, 18));
+    }
+
+    /**
+     * Creates an anti-aliased dot with a radial shading from INNER_COLOR
+     * to OUTER_COLOR as premultiplied argb pixels of size cell x cell
+     * @param INNER_COLOR
+     * @param OUTER_COLOR
+     * @return the premultiplied argb pixels of the dot
+     */
+    private int[] createDotSprite(final Color INNER_COLOR, final Color OUTER_COLOR) {
+        final int[]  SPRITE = new int[cell * cell];
+        final double CENTER = cell * 0.5;
+        final double RADIUS = cell * 21.0 / 62.0;
+        for (int y = 0 ; y < cell ; y++) {
+            for (int x = 0 ; x < cell ; x++) {
+                final double DX       = x + 0.5 - CENTER;
+                final double DY       = y + 0.5 - CENTER;
+                final double DISTANCE = Math.sqrt(DX * DX + DY * DY);
+                final double ALPHA    = clamp(0, 1, RADIUS - DISTANCE + 0.5);
+                if (ALPHA <= 0) continue;
+                // light source is slightly above the center like in the css gradients
+                final double FRACTION = clamp(0, 1, Math.sqrt(DX * DX + (DY + 0.2 * RADIUS) * (DY + 0.2 * RADIUS)) / RADIUS);
+                final double RED      = INNER_COLOR.getRed()   + (OUTER_COLOR.getRed()   - INNER_COLOR.getRed())   * FRACTION;
+                final double GREEN    = INNER_COLOR.getGreen() + (OUTER_COLOR.getGreen() - INNER_COLOR.getGreen()) * FRACTION;
+                final double BLUE     = INNER_COLOR.getBlue()  + (OUTER_COLOR.getBlue()  - INNER_COLOR.getBlue())  * FRACTION;
+                SPRITE[y * cell + x] = ((int) Math.round(ALPHA * 255)) << 24 |
+                                       ((int) Math.round(RED   * ALPHA * 255)) << 16 |
+                                       ((int) Math.round(GREEN * ALPHA * 255)) << 8 |
+                                       ((int) Math.round(BLUE  * ALPHA * 255));
+            }
+        }
+        return SPRITE;
+    }
+
+    private static double clamp(final double MIN, final double MAX, final double VALUE) {
+        return VALUE < MIN ? MIN : (VALUE > MAX ? MAX : VALUE);
+    }
+
+
+    // ******************** Resizing ******************************************
+    private void resize() {
+        final double WIDTH   = getSkinnable().getWidth();
+        final double HEIGHT  = getSkinnable().getHeight();
+        final int    COLUMNS = getSkinnable().getColumns();
+        if (WIDTH <= 0 || HEIGHT <= 0) return;
+
+        final int CELL = Math.max(MINIMUM_CELL, (int) Math.min(WIDTH / COLUMNS, HEIGHT / ROWS));
+        if (CELL != cell || COLUMNS + 1 != bufferColumns) {
+            cell          = CELL;
+            bufferColumns = COLUMNS + 1;
+            bufferWidth   = bufferColumns * cell;
+            bufferHeight  = ROWS * cell;
+            buffer        = new int[bufferWidth * bufferHeight];
+            image         = new WritableImage(bufferWidth, bufferHeight);
+            view.setImage(image);
+            createSprites();
+            if (getSkinnable().isScrolling()) offset = wrap(offset);
+            drawColumns((int) offset);
+            view.setTranslateX(-(offset - firstColumn) * cell);
+        }
+
+        clip.setWidth(COLUMNS * cell);
+        clip.setHeight(bufferHeight);
+        pane.relocate((WIDTH - COLUMNS * cell) * 0.5, (HEIGHT - bufferHeight) * 0.5);
+    }
+}
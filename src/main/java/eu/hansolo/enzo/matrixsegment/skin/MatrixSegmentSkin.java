@@ -16,16 +16,25 @@
 
 package eu.hansolo.enzo.matrixsegment.skin;
 
+import eu.hansolo.enzo.common.PaintCache;
+import eu.hansolo.enzo.common.Util;
 import eu.hansolo.enzo.matrixsegment.MatrixSegment;
 import javafx.collections.ListChangeListener;
+import javafx.geometry.Insets;
 import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.InnerShadow;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -42,6 +51,9 @@ public class MatrixSegmentSkin extends SkinBase<MatrixSegment> implements Skin<M
     private static final double            MINIMUM_HEIGHT   = 5;
     private static final double            MAXIMUM_WIDTH    = 1024;
     private static final double            MAXIMUM_HEIGHT   = 1024;
+    // same gradients as the dot-off and dot-on css classes, shared with the SquareMatrixSegmentSkin
+    static final Background                DOT_OFF_BACKGROUND = createDotBackground(Color.rgb(86, 83, 87), Color.rgb(15, 15, 18));
+    static final PaintCache<Background>    DOT_ON_BACKGROUNDS = new PaintCache<>(32, COLOR -> createDotBackground(getDotOnInnerColor(COLOR), getDotOnOuterColor(COLOR)));
     private static double                  aspectRatio;
     private Map<MatrixSegment.Dot, Region> dotMap;
     private List<Region>                   highlights;
@@ -54,6 +66,8 @@ public class MatrixSegmentSkin extends SkinBase<MatrixSegment> implements Skin<M
     private InnerShadow                    backgroundInnerHighlight;
     private InnerShadow                    dotInnerShadow;
     private DropShadow                     glow;
+    private Region[]                       dots;
+    private long                           dotMask;
     private Region        d57;
     private Region        d47;
     private Region        d37;
@@ -511,6 +525,11 @@ public class MatrixSegmentSkin extends SkinBase<MatrixSegment> implements Skin<M
         d11h.getStyleClass().add("dot-highlight");
         highlights.add(d11h);
 
+        dots = new Region[Dot.values().length];
+        for (Dot dot : Dot.values()) {
+            dots[dot.ordinal()] = dotMap.get(dot);
+        }
+
         pane.getChildren().setAll(background,
                                   d57, d47, d37, d27, d17,
                                   d56, d46, d36, d26, d16,
@@ -546,6 +565,7 @@ public class MatrixSegmentSkin extends SkinBase<MatrixSegment> implements Skin<M
         getSkinnable().backgroundVisibleProperty().addListener(observable -> handleControlPropertyChanged("BACKGROUND") );
         getSkinnable().highlightsVisibleProperty().addListener(observable -> handleControlPropertyChanged("HIGHLIGHTS") );
         getSkinnable().characterProperty().addListener(observable -> handleControlPropertyChanged("CHARACTER") );
+        getSkinnable().customDotMappingProperty().addListener(observable -> handleControlPropertyChanged("CHARACTER") );
         getSkinnable().glowEnabledProperty().addListener(observable -> handleControlPropertyChanged("GLOW") );
 
         getSkinnable().getStyleClass().addListener(new ListChangeListener<String>() {
@@ -573,7 +593,7 @@ public class MatrixSegmentSkin extends SkinBase<MatrixSegment> implements Skin<M
         } else if ("CHARACTER".equals(PROPERTY)) {
             updateMatrix();
         } else if ("GLOW".equals(PROPERTY)) {
-            updateMatrix();
+            updateGlow();
         }
     }
 
@@ -607,57 +627,65 @@ public class MatrixSegmentSkin extends SkinBase<MatrixSegment> implements Skin<M
     }
 
 
-    // ******************** Utility methods ***********************************
-    private String colorToCss(final Color COLOR) {
-        StringBuilder cssColor = new StringBuilder();
-        cssColor.append("rgba(")
-                .append((int) (COLOR.getRed() * 255)).append(", ")
-                .append((int) (COLOR.getGreen() * 255)).append(", ")
-                .append((int) (COLOR.getBlue() * 255)).append(", ")
-                .append(COLOR.getOpacity()).append(")");
-        return cssColor.toString();
-    }
-
-
     // ******************** Update ********************************************
     public void updateMatrixColor() {
-        getSkinnable().setStyle("-dot-on-color: " + colorToCss(getSkinnable().getColor()) + ";");
+        final Background DOT_ON = DOT_ON_BACKGROUNDS.get(getSkinnable().getColor());
+        long on = dotMask;
+        while (on != 0) {
+            dots[Long.numberOfTrailingZeros(on)].setBackground(DOT_ON);
+            on &= on - 1;
+        }
         glow.setColor(getSkinnable().getColor());
     }
 
     public void updateMatrix() {
-        final int ASCII = getSkinnable().getCharacter().isEmpty() ? 20 : getSkinnable().getCharacter().toUpperCase().charAt(0);
-
-        if (getSkinnable().getCustomDotMapping().isEmpty()) {
-            for (Dot dot : dotMap.keySet()) {
-                if (getSkinnable().getDotMapping().containsKey(ASCII)) {
-                    if (getSkinnable().getDotMapping().get(ASCII).contains(dot)) {
-                        dotMap.get(dot).getStyleClass().setAll("dot-on");
-                        dotMap.get(dot).setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
-                    } else {
-                        dotMap.get(dot).getStyleClass().setAll("dot-off");
-                        dotMap.get(dot).setEffect(dotInnerShadow);
-                    }
-                } else {
-                    dotMap.get(dot).getStyleClass().setAll("dot-off");
-                    dotMap.get(dot).setEffect(dotInnerShadow);
-                }
-            }
-        } else {
-            for (Dot dot : dotMap.keySet()) {
-                if (getSkinnable().getCustomDotMapping().containsKey(ASCII)) {
-                    if (getSkinnable().getCustomDotMapping().get(ASCII).contains(dot)) {
-                        dotMap.get(dot).getStyleClass().setAll("dot-on");
-                        dotMap.get(dot).setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
-                    } else {
-                        dotMap.get(dot).getStyleClass().setAll("dot-off");
-                        dotMap.get(dot).setEffect(dotInnerShadow);
-                    }
-                } else {
-                    dotMap.get(dot).getStyleClass().setAll("dot-off");
-                    dotMap.get(dot).setEffect(dotInnerShadow);
-                }
+        final long       MASK   = getSkinnable().getDotMask();
+        final Background DOT_ON = DOT_ON_BACKGROUNDS.get(getSkinnable().getColor());
+        // only touch the dots that flip, the dots keep their style class for the shape
+        long flipped = MASK ^ dotMask;
+        while (flipped != 0) {
+            final int INDEX = Long.numberOfTrailingZeros(flipped);
+            if ((MASK & (1l << INDEX)) != 0) {
+                dots[INDEX].setBackground(DOT_ON);
+                dots[INDEX].setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
+            } else {
+                dots[INDEX].setBackground(DOT_OFF_BACKGROUND);
+                dots[INDEX].setEffect(dotInnerShadow);
             }
+            flipped &= flipped - 1;
+        }
+        dotMask = MASK;
+    }
+
+    /**
+     * @param COLOR the dot on color
+     * @return the same color as derive(-dot-on-color, 50%) in the css
+     */
+    static Color getDotOnInnerColor(final Color COLOR) {
+        return Util.deriveColor(COLOR, 0.5);
+    }
+
+    /**
+     * @param COLOR the dot on color
+     * @return the same color as derive(-dot-on-color, -10%) in the css
+     */
+    static Color getDotOnOuterColor(final Color COLOR) {
+        return Util.deriveColor(COLOR, -0.1);
+    }
+
+    static Background createDotBackground(final Color INNER_COLOR, final Color OUTER_COLOR) {
+        return new Background(new BackgroundFill(new RadialGradient(0, 0.2, 0.5, 0.6, 0.5, true, CycleMethod.NO_CYCLE,
+                                                                    new Stop(0.0, INNER_COLOR),
+                                                                    new Stop(0.31, INNER_COLOR),
+                                                                    new Stop(1.0, OUTER_COLOR)),
+                                                 CornerRadii.EMPTY, Insets.EMPTY));
+    }
+
+    private void updateGlow() {
+        long on = dotMask;
+        while (on != 0) {
+            dots[Long.numberOfTrailingZeros(on)].setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
+            on &= on - 1;
         }
     }
 
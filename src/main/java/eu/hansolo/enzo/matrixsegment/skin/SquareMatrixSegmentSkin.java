@@ -23,6 +23,7 @@ import javafx.scene.control.SkinBase;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.InnerShadow;
+import javafx.scene.layout.Background;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
@@ -54,6 +55,8 @@ public class SquareMatrixSegmentSkin extends SkinBase<SquareMatrixSegment> imple
     private InnerShadow                          backgroundInnerHighlight;
     private InnerShadow                          dotInnerShadow;
     private DropShadow                           glow;
+    private Region[]                             dots;
+    private long                                 dotMask;
     private Region        d67;
     private Region        d57;
     private Region        d47;
@@ -666,6 +669,11 @@ public class SquareMatrixSegmentSkin extends SkinBase<SquareMatrixSegment> imple
         d01h.getStyleClass().add("dot-highlight");
         highlights.add(d01h);
 
+        dots = new Region[Dot.values().length];
+        for (Dot dot : Dot.values()) {
+            dots[dot.ordinal()] = dotMap.get(dot);
+        }
+
         pane.getChildren().setAll(background,
                                   d67, d57, d47, d37, d27, d17, d07,
                                   d66, d56, d46, d36, d26, d16, d06,
@@ -701,6 +709,7 @@ public class SquareMatrixSegmentSkin extends SkinBase<SquareMatrixSegment> imple
         getSkinnable().backgroundVisibleProperty().addListener(observable -> handleControlPropertyChanged("BACKGROUND") );
         getSkinnable().highlightsVisibleProperty().addListener(observable -> handleControlPropertyChanged("HIGHLIGHTS") );
         getSkinnable().characterProperty().addListener(observable -> handleControlPropertyChanged("CHARACTER") );
+        getSkinnable().customDotMappingProperty().addListener(observable -> handleControlPropertyChanged("CHARACTER") );
         getSkinnable().glowEnabledProperty().addListener(observable -> handleControlPropertyChanged("GLOW") );
 
         getSkinnable().getStyleClass().addListener(new ListChangeListener<String>() {
@@ -728,7 +737,7 @@ public class SquareMatrixSegmentSkin extends SkinBase<SquareMatrixSegment> imple
         } else if ("CHARACTER".equals(PROPERTY)) {
             updateMatrix();
         } else if ("GLOW".equals(PROPERTY)) {
-            updateMatrix();
+            updateGlow();
         }
     }
 
@@ -762,57 +771,41 @@ public class SquareMatrixSegmentSkin extends SkinBase<SquareMatrixSegment> imple
     }
 
 
-    // ******************** Utility methods ***********************************
-    private String colorToCss(final Color COLOR) {
-        StringBuilder cssColor = new StringBuilder();
-        cssColor.append("rgba(")
-                .append((int) (COLOR.getRed() * 255)).append(", ")
-                .append((int) (COLOR.getGreen() * 255)).append(", ")
-                .append((int) (COLOR.getBlue() * 255)).append(", ")
-                .append(COLOR.getOpacity()).append(")");
-        return cssColor.toString();
-    }
-
-
     // ******************** Update ********************************************
     public void updateMatrixColor() {
-        getSkinnable().setStyle("-dot-on-color: " + colorToCss(getSkinnable().getColor()) + ";");
+        final Background DOT_ON = MatrixSegmentSkin.DOT_ON_BACKGROUNDS.get(getSkinnable().getColor());
+        long on = dotMask;
+        while (on != 0) {
+            dots[Long.numberOfTrailingZeros(on)].setBackground(DOT_ON);
+            on &= on - 1;
+        }
         glow.setColor(getSkinnable().getColor());
     }
 
     public void updateMatrix() {
-        final int ASCII = getSkinnable().getCharacter().isEmpty() ? 20 : getSkinnable().getCharacter().toUpperCase().charAt(0);
-
-        if (getSkinnable().getCustomDotMapping().isEmpty()) {
-            for (SquareMatrixSegment.Dot dot : dotMap.keySet()) {
-                if (getSkinnable().getDotMapping().containsKey(ASCII)) {
-                    if (getSkinnable().getDotMapping().get(ASCII).contains(dot)) {
-                        dotMap.get(dot).getStyleClass().setAll("dot-on");
-                        dotMap.get(dot).setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
-                    } else {
-                        dotMap.get(dot).getStyleClass().setAll("dot-off");
-                        dotMap.get(dot).setEffect(dotInnerShadow);
-                    }
-                } else {
-                    dotMap.get(dot).getStyleClass().setAll("dot-off");
-                    dotMap.get(dot).setEffect(dotInnerShadow);
-                }
-            }
-        } else {
-            for (SquareMatrixSegment.Dot dot : dotMap.keySet()) {
-                if (getSkinnable().getCustomDotMapping().containsKey(ASCII)) {
-                    if (getSkinnable().getCustomDotMapping().get(ASCII).contains(dot)) {
-                        dotMap.get(dot).getStyleClass().setAll("dot-on");
-                        dotMap.get(dot).setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
-                    } else {
-                        dotMap.get(dot).getStyleClass().setAll("dot-off");
-                        dotMap.get(dot).setEffect(dotInnerShadow);
-                    }
-                } else {
-                    dotMap.get(dot).getStyleClass().setAll("dot-off");
-                    dotMap.get(dot).setEffect(dotInnerShadow);
-                }
+        final long       MASK   = getSkinnable().getDotMask();
+        final Background DOT_ON = MatrixSegmentSkin.DOT_ON_BACKGROUNDS.get(getSkinnable().getColor());
+        // only touch the dots that flip, the dots keep their style class for the shape
+        long flipped = MASK ^ dotMask;
+        while (flipped != 0) {
+            final int INDEX = Long.numberOfTrailingZeros(flipped);
+            if ((MASK & (1l << INDEX)) != 0) {
+                dots[INDEX].setBackground(DOT_ON);
+                dots[INDEX].setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
+            } else {
+                dots[INDEX].setBackground(MatrixSegmentSkin.DOT_OFF_BACKGROUND);
+                dots[INDEX].setEffect(dotInnerShadow);
             }
+            flipped &= flipped - 1;
+        }
+        dotMask = MASK;
+    }
+
+    private void updateGlow() {
+        long on = dotMask;
+        while (on != 0) {
+            dots[Long.numberOfTrailingZeros(on)].setEffect(getSkinnable().isGlowEnabled() ? glow : dotInnerShadow);
+            on &= on - 1;
         }
     }
 
@@ -17,9 +17,10 @@
 package eu.hansolo.enzo.qlocktwo.skin;
 
 import eu.hansolo.enzo.common.BrushedMetalPaint;
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
 import eu.hansolo.enzo.qlocktwo.QlockTwo;
 import eu.hansolo.enzo.qlocktwo.QlockWord;
-import javafx.animation.AnimationTimer;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
@@ -70,8 +71,7 @@ public class QlockTwoSkin extends SkinBase<QlockTwo> implements Skin<QlockTwo> {
     private double                startY;
     private double                stepX;
     private double                stepY;
-    private long                  lastTimerCall;
-    private AnimationTimer        timer;
+    private Subscription          pulse;
 
 
     // ******************** Constructors **************************************
@@ -88,44 +88,10 @@ public class QlockTwoSkin extends SkinBase<QlockTwo> implements Skin<QlockTwo> {
         texture = new BrushedMetalPaint(Color.web("#888888"));
         stainlessBackground = new ImageView();
         pane                 = new Pane();
-        lastTimerCall        = System.nanoTime();
-        timer = new AnimationTimer() {
-            @Override public void handle(long now) {
-                if (now > lastTimerCall + 1_000_000_000l) {
-                    Calendar cal = Calendar.getInstance();
-
-                    // Hours
-                    hour = cal.get(Calendar.HOUR) - timeZoneOffsetHour;// + ((java.util.Calendar.getInstance().get(java.util.Calendar.DST_OFFSET)) / 3600000);
-
-                    // Minutes
-                    minute = cal.get(Calendar.MINUTE) + timeZoneOffsetMinute;
-
-                    if (oldMinute < minute || (oldMinute == 59 && minute == 0)) {
-                        updateClock();
-                        oldMinute = minute;
-                    }
-
-                    // SecondsRight
-                    if (getSkinnable().isSecondsMode()) {
-                        second = cal.get(Calendar.SECOND);
-                        if (second < 10) {
-                            secondLeft  = QlockTwo.SecondsLeft.ZERO;
-                            secondRight = QlockTwo.SecondsRight.values()[second];
-                        } else {
-                            secondLeft  = QlockTwo.SecondsLeft.values()[Integer.parseInt(Integer.toString(second).substring(0, 1))];
-                            secondRight = QlockTwo.SecondsRight.values()[Integer.parseInt(Integer.toString(second).substring(1, 2))];
-                        }
-                        updateClock();
-                    }
-
-                    lastTimerCall = now;
-                }
-            }
-        };
         init();
         initGraphics();
         registerListeners();
-        timer.start();
+        pulse = PulseScheduler.subscribe(getSkinnable(), 1_000_000_000l, (NOW, TICK) -> updateTime());
     }
 
 
@@ -276,8 +242,41 @@ public class QlockTwoSkin extends SkinBase<QlockTwo> implements Skin<QlockTwo> {
         return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
     }
 
+    @Override public void dispose() {
+        pulse.cancel();
+        super.dispose();
+    }
+
 
     // ******************** Update ********************************************
+    private void updateTime() {
+        Calendar cal = Calendar.getInstance();
+
+        // Hours
+        hour = cal.get(Calendar.HOUR) - timeZoneOffsetHour;// + ((java.util.Calendar.getInstance().get(java.util.Calendar.DST_OFFSET)) / 3600000);
+
+        // Minutes
+        minute = cal.get(Calendar.MINUTE) + timeZoneOffsetMinute;
+
+        if (oldMinute < minute || (oldMinute == 59 && minute == 0)) {
+            updateClock();
+            oldMinute = minute;
+        }
+
+        // SecondsRight
+        if (getSkinnable().isSecondsMode()) {
+            second = cal.get(Calendar.SECOND);
+            if (second < 10) {
+                secondLeft  = QlockTwo.SecondsLeft.ZERO;
+                secondRight = QlockTwo.SecondsRight.values()[second];
+            } else {
+                secondLeft  = QlockTwo.SecondsLeft.values()[Integer.parseInt(Integer.toString(second).substring(0, 1))];
+                secondRight = QlockTwo.SecondsRight.values()[Integer.parseInt(Integer.toString(second).substring(1, 2))];
+            }
+            updateClock();
+        }
+    }
+
     private void updateClock() {
         if (getSkinnable().isSecondsMode()) {
             for (int y = 0 ; y < 10 ; y++) {
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.sevensegment;
+
+import eu.hansolo.enzo.sevensegment.skin.SevenSegmentDisplaySkin;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.IntegerPropertyBase;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.property.StringPropertyBase;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+
+import java.util.Locale;
+
+
+/**
+ * A row of seven segment digits in one control, e.g. for counters with
+ * many digits. Each char of the text will be encoded as a bit mask of
+ * its segments from a static table that is shared by all displays, a dot
+ * or comma lights the dot of the digit before it. The text is aligned to
+ * the right and if it has more glyphs than digits, only the last digits
+ * will be shown.
+ * The skin compares the masks of the digits with the masks it has drawn
+ * and only redraws the digits that changed.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 16:00
+ */
+public class SevenSegmentDisplay extends Control {
+    public static final byte                          DOT_MASK = (byte) (1 << SevenSegment.Segment.DOT.ordinal());
+    private static final byte[]                       MASKS    = createMasks();
+    private String                                    _text    = "";
+    private StringProperty                            text;
+    private int                                       _noOfDigits;
+    private IntegerProperty                           noOfDigits;
+    private SevenSegment.SegmentStyle                 _segmentStyle;
+    private ObjectProperty<SevenSegment.SegmentStyle> segmentStyle;
+    private byte[]                                    masks;
+
+
+    // ******************** Constructors **************************************
+    public SevenSegmentDisplay() {
+        this(8, SevenSegment.SegmentStyle.RED);
+    }
+    public SevenSegmentDisplay(final int NO_OF_DIGITS) {
+        this(NO_OF_DIGITS, SevenSegment.SegmentStyle.RED);
+    }
+    public SevenSegmentDisplay(final int NO_OF_DIGITS, final SevenSegment.SegmentStyle SEGMENT_STYLE) {
+        getStyleClass().add("seven-segment-display");
+        _noOfDigits   = Math.max(1, NO_OF_DIGITS);
+        _segmentStyle = SEGMENT_STYLE;
+        masks         = new byte[_noOfDigits];
+    }
+
+
+    // ******************** Initialization ************************************
+    private static byte[] createMasks() {
+        // bit 0 - 6 = segment A - G, bit 7 = dot, see SevenSegment.getSegmentMapping()
+        final byte[] TABLE = new byte[128];
+        TABLE['0'] = 0b0111111;
+        TABLE['1'] = 0b0000110;
+        TABLE['2'] = 0b1011011;
+        TABLE['3'] = 0b1001111;
+        TABLE['4'] = 0b1100110;
+        TABLE['5'] = 0b1101101;
+        TABLE['6'] = 0b1111101;
+        TABLE['7'] = 0b0000111;
+        TABLE['8'] = 0b1111111;
+        TABLE['9'] = 0b1101111;
+        TABLE['A'] = 0b1110111;
+        TABLE['B'] = 0b1111100;
+        TABLE['C'] = 0b0111001;
+        TABLE['D'] = 0b1011110;
+        TABLE['E'] = 0b1111001;
+        TABLE['F'] = 0b1110001;
+        TABLE['G'] = 0b0111101;
+        TABLE['H'] = 0b1110110;
+        TABLE['I'] = 0b0110000;
+        TABLE['J'] = 0b0011110;
+        TABLE['L'] = 0b0111000;
+        TABLE['N'] = 0b1010100;
+        TABLE['O'] = 0b0111111;
+        TABLE['P'] = 0b1110011;
+        TABLE['Q'] = 0b1100111;
+        TABLE['R'] = 0b1010000;
+        TABLE['S'] = 0b1101101;
+        TABLE['T'] = 0b1111000;
+        TABLE['U'] = 0b0111110;
+        TABLE['Y'] = 0b1101110;
+        TABLE['c'] = 0b1011000;
+        TABLE['h'] = 0b1110100;
+        TABLE['o'] = 0b1011100;
+        TABLE['u'] = 0b0011100;
+        TABLE['-'] = 0b1000000;
+        TABLE['_'] = 0b0001000;
+        TABLE['='] = 0b1001000;
+        TABLE['"'] = 0b0100010;
+        TABLE['\''] = 0b0000010;
+        // all other lower case letters look like the upper case ones
+        for (char c = 'a' ; c <= 'z' ; c++) {
+            if (0 == TABLE[c]) TABLE[c] = TABLE[Character.toUpperCase(c)];
+        }
+        return TABLE;
+    }
+
+
+    // ******************** Methods *******************************************
+    public final String getText() {
+        return null == text ? _text : text.get();
+    }
+    public final void setText(final String TEXT) {
+        if (null == text) {
+            _text = null == TEXT ? "" : TEXT;
+            updateMasks();
+        } else {
+            text.set(null == TEXT ? "" : TEXT);
+        }
+    }
+    public final StringProperty textProperty() {
+        if (null == text) {
+            text = new StringPropertyBase(_text) {
+                @Override protected void invalidated() {
+                    if (null == get()) {
+                        set("");
+                    } else {
+                        updateMasks();
+                    }
+                }
+                @Override public Object getBean() { return SevenSegmentDisplay.this; }
+                @Override public String getName() { return "text"; }
+            };
+        }
+        return text;
+    }
+
+    public final void setValue(final long VALUE) {
+        setText(Long.toString(VALUE));
+    }
+    public final void setValue(final double VALUE, final int DECIMALS) {
+        setText(String.format(Locale.US, "%." + Math.max(0, DECIMALS) + "f", VALUE));
+    }
+
+    public final int getNoOfDigits() {
+        return null == noOfDigits ? _noOfDigits : noOfDigits.get();
+    }
+    public final void setNoOfDigits(final int NO_OF_DIGITS) {
+        if (null == noOfDigits) {
+            _noOfDigits = Math.max(1, NO_OF_DIGITS);
+            updateMasks();
+        } else {
+            noOfDigits.set(Math.max(1, NO_OF_DIGITS));
+        }
+    }
+    public final IntegerProperty noOfDigitsProperty() {
+        if (null == noOfDigits) {
+            noOfDigits = new IntegerPropertyBase(_noOfDigits) {
+                @Override protected void invalidated() { updateMasks(); }
+                @Override public Object getBean() { return SevenSegmentDisplay.this; }
+                @Override public String getName() { return "noOfDigits"; }
+            };
+        }
+        return noOfDigits;
+    }
+
+    public final SevenSegment.SegmentStyle getSegmentStyle() {
+        return null == segmentStyle ? _segmentStyle : segmentStyle.get();
+    }
+    public final void setSegmentStyle(final SevenSegment.SegmentStyle SEGMENT_STYLE) {
+        if (null == segmentStyle) {
+            _segmentStyle = SEGMENT_STYLE;
+        } else {
+            segmentStyle.set(SEGMENT_STYLE);
+        }
+    }
+    public final ObjectProperty<SevenSegment.SegmentStyle> segmentStyleProperty() {
+        if (null == segmentStyle) {
+            segmentStyle = new SimpleObjectProperty<>(this, "segmentStyle", _segmentStyle);
+        }
+        return segmentStyle;
+    }
+
+    /**
+     * @param DIGIT the index of the digit from the left
+     * @return the segments of the given digit, bit 0 - 6 = segment A - G and bit 7 = dot
+     */
+    public final byte getMask(final int DIGIT) {
+        return masks[DIGIT];
+    }
+
+    /**
+     * @param CHARACTER
+     * @return the segments of the given char, 0 for chars that can not be shown
+     */
+    public static byte getMask(final char CHARACTER) {
+        return CHARACTER < MASKS.length ? MASKS[CHARACTER] : 0;
+    }
+
+    @Override public boolean isResizable() {
+        return true;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void updateMasks() {
+        final String TEXT         = getText();
+        final int    NO_OF_DIGITS = getNoOfDigits();
+        if (masks.length != NO_OF_DIGITS) masks = new byte[NO_OF_DIGITS];
+
+        // fill the digits from the right, a dot belongs to the char before it
+        int     digit = NO_OF_DIGITS - 1;
+        boolean dot   = false;
+        for (int i = TEXT.length() - 1 ; i >= 0 && digit >= 0 ; i--) {
+            final char CHARACTER = TEXT.charAt(i);
+            if ('.' == CHARACTER || ',' == CHARACTER) {
+                if (dot) masks[digit--] = DOT_MASK;
+                dot = true;
+            } else {
+                masks[digit--] = (byte) (getMask(CHARACTER) | (dot ? DOT_MASK : 0));
+                dot = false;
+            }
+        }
+        if (dot && digit >= 0) masks[digit--] = DOT_MASK;
+        while (digit >= 0) masks[digit--] = 0;
+    }
+
+
+    // ******************** Style related *************************************
+    @Override protected Skin createDefaultSkin() {
+        return new SevenSegmentDisplaySkin(this);
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.sevensegment.skin;
+
+import eu.hansolo.enzo.sevensegment.SevenSegment;
+import eu.hansolo.enzo.sevensegment.SevenSegmentDisplay;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Skin;
+import javafx.scene.control.SkinBase;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+
+/**
+ * Draws all digits of a SevenSegmentDisplay into one Canvas with the
+ * shared SevenSegmentGeometry. The skin keeps the masks it has drawn and
+ * only clears and redraws the digits whose mask changed. The glow of the
+ * segments is clipped to the digit, so a digit could be redrawn without
+ * touching its neighbours.
+ * The colors follow the designs of the sevensegment css.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 16:40
+ */
+public class SevenSegmentDisplaySkin extends SkinBase<SevenSegmentDisplay> implements Skin<SevenSegmentDisplay> {
+    private static final double  PREFERRED_HEIGHT = 67;
+    private static final double  MINIMUM_SIZE     = 5;
+    private static final double  MAXIMUM_SIZE     = 4096;
+    private static final int     NOT_DRAWN        = -1;
+    // on and off colors of each SegmentStyle, same as in the css
+    private static final Color[] ON_COLORS        = {
+        Color.rgb(202, 8, 20), Color.rgb(43, 202, 35), Color.rgb(3, 59, 255), Color.rgb(250, 250, 0), Color.rgb(252, 81, 0),
+        Color.rgb(0, 255, 255), Color.rgb(255, 0, 255), Color.WHITE, Color.BLACK
+    };
+    private static final Color[] OFF_COLORS       = {
+        Color.rgb(101, 4, 10, 0.6), Color.rgb(20, 100, 15, 0.6), Color.rgb(0, 25, 127, 0.6), Color.rgb(125, 125, 0, 0.6), Color.rgb(126, 40, 0, 0.6),
+        Color.rgb(0, 127, 127, 0.6), Color.rgb(127, 0, 127, 0.6), Color.rgb(127, 127, 127, 0.3), Color.rgb(127, 127, 127, 0.3)
+    };
+    private SevenSegmentGeometry geometry;
+    private Canvas               canvas;
+    private GraphicsContext      ctx;
+    private DropShadow           glow;
+    private int[]                drawnMasks;
+
+
+    // ******************** Constructors **************************************
+    public SevenSegmentDisplaySkin(final SevenSegmentDisplay CONTROL) {
+        super(CONTROL);
+        drawnMasks = new int[0];
+        init();
+        initGraphics();
+        registerListeners();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void init() {
+        if (Double.compare(getSkinnable().getPrefWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getPrefHeight(), 0.0) <= 0 ||
+            Double.compare(getSkinnable().getWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getHeight(), 0.0) <= 0) {
+            if (getSkinnable().getPrefWidth() > 0 && getSkinnable().getPrefHeight() > 0) {
+                getSkinnable().setPrefSize(getSkinnable().getPrefWidth(), getSkinnable().getPrefHeight());
+            } else {
+                getSkinnable().setPrefSize(getPreferredWidth(), PREFERRED_HEIGHT);
+            }
+        }
+
+        if (Double.compare(getSkinnable().getMinWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMinHeight(), 0.0) <= 0) {
+            getSkinnable().setMinSize(MINIMUM_SIZE, MINIMUM_SIZE);
+        }
+
+        if (Double.compare(getSkinnable().getMaxWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMaxHeight(), 0.0) <= 0) {
+            getSkinnable().setMaxSize(MAXIMUM_SIZE, MAXIMUM_SIZE);
+        }
+    }
+
+    private void initGraphics() {
+        glow = new DropShadow();
+        glow.setBlurType(BlurType.TWO_PASS_BOX);
+        glow.setSpread(0.5);
+        glow.setColor(getGlowColor());
+
+        canvas = new Canvas(getPreferredWidth(), PREFERRED_HEIGHT);
+        ctx    = canvas.getGraphicsContext2D();
+        getChildren().setAll(canvas);
+        resize();
+    }
+
+    private void registerListeners() {
+        getSkinnable().widthProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().heightProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().noOfDigitsProperty().addListener(observable -> handleControlPropertyChanged("NO_OF_DIGITS") );
+        getSkinnable().textProperty().addListener(observable -> handleControlPropertyChanged("TEXT") );
+        getSkinnable().segmentStyleProperty().addListener(observable -> handleControlPropertyChanged("STYLE") );
+    }
+
+
+    // ******************** Methods *******************************************
+    protected void handleControlPropertyChanged(final String PROPERTY) {
+        if ("RESIZE".equals(PROPERTY)) {
+            resize();
+        } else if ("NO_OF_DIGITS".equals(PROPERTY)) {
+            // keep the height of the digits and let the width follow the number of digits
+            final double PREF_HEIGHT = getSkinnable().getPrefHeight() > 0 ? getSkinnable().getPrefHeight() : PREFERRED_HEIGHT;
+            getSkinnable().setPrefWidth(getSkinnable().getNoOfDigits() * PREF_HEIGHT / SevenSegmentGeometry.ASPECT_RATIO);
+            resize();
+        } else if ("TEXT".equals(PROPERTY)) {
+            updateDigits();
+        } else if ("STYLE".equals(PROPERTY)) {
+            glow.setColor(getGlowColor());
+            Arrays.fill(drawnMasks, NOT_DRAWN);
+            updateDigits();
+        }
+    }
+
+    @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinWidth(Math.max(MINIMUM_SIZE, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMinHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinHeight(Math.max(MINIMUM_SIZE, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computeMaxWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxWidth(Math.min(MAXIMUM_SIZE, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMaxHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxHeight(Math.min(MAXIMUM_SIZE, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computePrefWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefHeight = PREFERRED_HEIGHT;
+        if (HEIGHT != -1) {
+            prefHeight = Math.max(0, HEIGHT - TOP_INSET - BOTTOM_INSET);
+        }
+        return super.computePrefWidth(prefHeight, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computePrefHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefWidth = getPreferredWidth();
+        if (WIDTH != -1) {
+            prefWidth = Math.max(0, WIDTH - LEFT_INSET - RIGHT_INSET);
+        }
+        return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private double getPreferredWidth() {
+        return getSkinnable().getNoOfDigits() * PREFERRED_HEIGHT / SevenSegmentGeometry.ASPECT_RATIO;
+    }
+
+    private int getStyleIndex() {
+        final SevenSegment.SegmentStyle STYLE = getSkinnable().getSegmentStyle();
+        return null == STYLE ? SevenSegment.SegmentStyle.RED.ordinal() : STYLE.ordinal();
+    }
+
+    private Color getGlowColor() {
+        return ON_COLORS[getStyleIndex()].deriveColor(0, 1, 1, 0.5);
+    }
+
+
+    // ******************** Drawing *******************************************
+    private void updateDigits() {
+        if (null == geometry) return;
+        for (int i = 0 ; i < drawnMasks.length ; i++) {
+            final int MASK = getSkinnable().getMask(i) & 0xFF;
+            if (MASK == drawnMasks[i]) continue;
+            drawDigit(i, MASK);
+            drawnMasks[i] = MASK;
+        }
+    }
+
+    private void drawDigit(final int DIGIT, final int MASK) {
+        final double X      = DIGIT * geometry.getDigitWidth();
+        final double WIDTH  = geometry.getDigitWidth();
+        final double HEIGHT = geometry.getDigitHeight();
+        final int    STYLE  = getStyleIndex();
+
+        ctx.clearRect(X, 0, WIDTH, HEIGHT);
+        ctx.save();
+        ctx.beginPath();
+        ctx.rect(X, 0, WIDTH, HEIGHT);
+        ctx.clip();
+        ctx.translate(X, 0);
+
+        // off segments first, so the glow of the on segments lies above them
+        ctx.setFill(OFF_COLORS[STYLE]);
+        for (int segment = 0 ; segment < 8 ; segment++) {
+            if ((MASK & (1 << segment)) == 0) ctx.fillPolygon(geometry.getX(segment), geometry.getY(segment), geometry.getNoOfPoints(segment));
+        }
+        if (MASK != 0) {
+            ctx.setFill(ON_COLORS[STYLE]);
+            ctx.setEffect(glow);
+            for (int segment = 0 ; segment < 8 ; segment++) {
+                if ((MASK & (1 << segment)) != 0) ctx.fillPolygon(geometry.getX(segment), geometry.getY(segment), geometry.getNoOfPoints(segment));
+            }
+            ctx.setEffect(null);
+        }
+        ctx.restore();
+    }
+
+
+    // ******************** Resizing ******************************************
+    private void resize() {
+        final double WIDTH        = getSkinnable().getWidth();
+        final double HEIGHT       = getSkinnable().getHeight();
+        final int    NO_OF_DIGITS = getSkinnable().getNoOfDigits();
+        final double DIGIT_WIDTH  = Math.floor(Math.min(WIDTH / NO_OF_DIGITS, HEIGHT / SevenSegmentGeometry.ASPECT_RATIO));
+
+        if (DIGIT_WIDTH > 0) {
+            geometry = SevenSegmentGeometry.get(DIGIT_WIDTH);
+            canvas.setWidth(NO_OF_DIGITS * DIGIT_WIDTH);
+            canvas.setHeight(geometry.getDigitHeight());
+            canvas.relocate((WIDTH - canvas.getWidth()) * 0.5, (HEIGHT - canvas.getHeight()) * 0.5);
+            glow.setRadius(0.1 * DIGIT_WIDTH);
+
+            ctx.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            drawnMasks = new int[NO_OF_DIGITS];
+            Arrays.fill(drawnMasks, NOT_DRAWN);
+            updateDigits();
+        }
+    }
+}
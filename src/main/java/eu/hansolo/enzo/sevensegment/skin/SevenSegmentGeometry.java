@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.sevensegment.skin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * The outlines of the segments A - G and the dot of one digit, scaled to
+ * one digit width. The outlines are hexagons on a slanted grid of
+ * 100 x 134 units, scaled once per digit width and shared by all digits
+ * and all displays of that size, so drawing a digit is one fillPolygon
+ * call per segment with a translated context.
+ * The segment order is the same as in SevenSegment.Segment.
+ * All methods have to be called on the JavaFX application thread.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 25.10.13
+ * Time: 16:10
+ */
+final class SevenSegmentGeometry {
+    static final double                                    ASPECT_RATIO = 1.34;  // height / width of a digit
+    private static final double                            WIDTH        = 100;
+    private static final double                            HEIGHT       = WIDTH * ASPECT_RATIO;
+    private static final double                            THICKNESS    = 12;
+    private static final double                            GAP          = 1.5;
+    private static final double                            SLANT        = 0.08;
+    private static final double                            LEFT         = 10;
+    private static final double                            RIGHT        = 78;
+    private static final double                            TOP          = 8;
+    private static final double                            BOTTOM       = 126;
+    private static final int                               CACHE_SIZE   = 8;
+    private static final double[][]                        UNIT_X       = new double[8][];
+    private static final double[][]                        UNIT_Y       = new double[8][];
+    private static final Map<Double, SevenSegmentGeometry> CACHE        = new LinkedHashMap<Double, SevenSegmentGeometry>(CACHE_SIZE, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Double, SevenSegmentGeometry> ELDEST) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    static {
+        final double HALF = THICKNESS * 0.5;
+        final double XL   = LEFT + HALF;
+        final double XR   = RIGHT - HALF;
+        final double YA   = TOP + HALF;
+        final double YG   = (TOP + BOTTOM) * 0.5;
+        final double YD   = BOTTOM - HALF;
+        horizontal(0, XL + GAP, XR - GAP, YA);     // A
+        vertical(1, XR, YA + GAP, YG - GAP);       // B
+        vertical(2, XR, YG + GAP, YD - GAP);       // C
+        horizontal(3, XL + GAP, XR - GAP, YD);     // D
+        vertical(4, XL, YG + GAP, YD - GAP);       // E
+        vertical(5, XL, YA + GAP, YG - GAP);       // F
+        horizontal(6, XL + GAP, XR - GAP, YG);     // G
+        polygon(7, new double[] { RIGHT + 4, RIGHT + 4 + THICKNESS, RIGHT + 4 + THICKNESS, RIGHT + 4 },
+                   new double[] { BOTTOM - THICKNESS, BOTTOM - THICKNESS, BOTTOM, BOTTOM });   // DOT
+    }
+    private final double                                   DIGIT_WIDTH;
+    private final double[][]                               X;
+    private final double[][]                               Y;
+
+
+    // ******************** Constructors **************************************
+    private SevenSegmentGeometry(final double DIGIT_WIDTH) {
+        this.DIGIT_WIDTH = DIGIT_WIDTH;
+        final double SCALE = DIGIT_WIDTH / WIDTH;
+        X = new double[UNIT_X.length][];
+        Y = new double[UNIT_Y.length][];
+        for (int i = 0 ; i < UNIT_X.length ; i++) {
+            X[i] = new double[UNIT_X[i].length];
+            Y[i] = new double[UNIT_Y[i].length];
+            for (int j = 0 ; j < UNIT_X[i].length ; j++) {
+                X[i][j] = UNIT_X[i][j] * SCALE;
+                Y[i][j] = UNIT_Y[i][j] * SCALE;
+            }
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * @param DIGIT_WIDTH
+     * @return the outlines scaled to the given digit width, scaled only if not cached
+     */
+    static SevenSegmentGeometry get(final double DIGIT_WIDTH) {
+        SevenSegmentGeometry geometry = CACHE.get(DIGIT_WIDTH);
+        if (null == geometry) {
+            geometry = new SevenSegmentGeometry(DIGIT_WIDTH);
+            CACHE.put(DIGIT_WIDTH, geometry);
+        }
+        return geometry;
+    }
+
+    double getDigitWidth() {
+        return DIGIT_WIDTH;
+    }
+
+    double getDigitHeight() {
+        return DIGIT_WIDTH * ASPECT_RATIO;
+    }
+
+    double[] getX(final int SEGMENT) {
+        return X[SEGMENT];
+    }
+
+    double[] getY(final int SEGMENT) {
+        return Y[SEGMENT];
+    }
+
+    int getNoOfPoints(final int SEGMENT) {
+        return X[SEGMENT].length;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private static void horizontal(final int SEGMENT, final double X1, final double X2, final double Y_CENTER) {
+        final double HALF = THICKNESS * 0.5;
+        polygon(SEGMENT, new double[] { X1, X1 + HALF, X2 - HALF, X2, X2 - HALF, X1 + HALF },
+                         new double[] { Y_CENTER, Y_CENTER - HALF, Y_CENTER - HALF, Y_CENTER, Y_CENTER + HALF, Y_CENTER + HALF });
+    }
+
+    private static void vertical(final int SEGMENT, final double X_CENTER, final double Y1, final double Y2) {
+        final double HALF = THICKNESS * 0.5;
+        polygon(SEGMENT, new double[] { X_CENTER, X_CENTER + HALF, X_CENTER + HALF, X_CENTER, X_CENTER - HALF, X_CENTER - HALF },
+                         new double[] { Y1, Y1 + HALF, Y2 - HALF, Y2, Y2 - HALF, Y1 + HALF });
+    }
+
+    private static void polygon(final int SEGMENT, final double[] X, final double[] Y) {
+        // slant the digit to the right like the SevenSegment
+        for (int i = 0 ; i < X.length ; i++) X[i] += (HEIGHT - Y[i]) * SLANT;
+        UNIT_X[SEGMENT] = X;
+        UNIT_Y[SEGMENT] = Y;
+    }
+}
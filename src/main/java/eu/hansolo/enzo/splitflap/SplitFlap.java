@@ -56,6 +56,7 @@ public class SplitFlap extends Control {
     private final FlipEvent              FLIP_FORWARD = new FlipEvent(this, null, FlipEvent.FLIP_FORWARD);
     private final FlipEvent              FIP_BACKWARD = new FlipEvent(this, null, FlipEvent.FLIP_BACKWARD);
     private boolean                      keepAspect;
+    private boolean                      sharedClock;
     private double                       _flipTime    = 500;
     private DoubleProperty               flipTime;
     private boolean                      _wordMode    = false;
@@ -86,6 +87,7 @@ public class SplitFlap extends Control {
     public SplitFlap(final String[] SELECTION, final String TEXT) {
         getStyleClass().add("split-flap");
         keepAspect             = true;
+        sharedClock            = false;
         selectedSet            = new ArrayList<>(64);
         selection              = SELECTION;
         currentSelectionIndex  = 0;
@@ -138,6 +140,19 @@ public class SplitFlap extends Control {
         keepAspect = KEEP_ASPECT;
     }
 
+    /**
+     * Returns true if the flips of this split flap are not scheduled by
+     * the skin itself but driven by calls to flip(NOW) from the owner of
+     * a shared clock (e.g. a SplitFlapBoard).
+     * @return true if the flips are driven by a shared clock
+     */
+    public final boolean isSharedClock() {
+        return sharedClock;
+    }
+    public final void setSharedClock(final boolean SHARED_CLOCK) {
+        sharedClock = SHARED_CLOCK;
+    }
+
     public final double getFlipTime() {
         return null == flipTime ? _flipTime : flipTime.get();
     }
@@ -321,11 +336,25 @@ public class SplitFlap extends Control {
         setText(selectedSet.get(currentSelectionIndex));
         fireFlipEvent(FLIP_FORWARD);
     }
+    /**
+     * Flips the flap backward once without changing the text. The flap
+     * stays flipped down until the next forward flip starts.
+     */
     public final void flipBackward() {
         fireFlipEvent(FIP_BACKWARD);
         ((SplitFlapSkin) getSkin()).flipBackward();
     }
 
+    /**
+     * Advances the flip animation to the given time. Only needed if the
+     * split flap uses a shared clock.
+     * @param NOW the timestamp of the current pulse in nanoseconds
+     * @return true if the split flap is still flipping
+     */
+    public final boolean flip(final long NOW) {
+        return getSkin() instanceof SplitFlapSkin && ((SplitFlapSkin) getSkin()).flip(NOW);
+    }
+
     @Override public boolean isResizable() {
         return true;
     }
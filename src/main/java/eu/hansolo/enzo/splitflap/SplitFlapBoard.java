@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.splitflap;
+
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import eu.hansolo.enzo.splitflap.skin.SplitFlapBoardSkin;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.DoublePropertyBase;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A departure board made of ROWS x COLUMNS split flaps. The text of a
+ * whole row or of the whole board could be set in one call, only the
+ * cells that show a different character will be flipped.
+ * All cells are driven by one shared clock instead of one animation
+ * per cell, which means updating the whole board only needs one
+ * subscription at the PulseScheduler. Cells that get their text
+ * directly (e.g. via getCell(ROW, COLUMN).setText("A")) will be
+ * flipped by the same clock.
+ *
+ * Created by
+ * User: hansolo
+ * Date: 23.10.13
+ * Time: 07:52
+ */
+public class SplitFlapBoard extends Control {
+    private final int             ROWS;
+    private final int             COLUMNS;
+    private final String[]        SELECTION;
+    private final SplitFlap[]     CELLS;
+    private final boolean[]       CELL_ACTIVE;
+    private final int[]           ACTIVE_CELLS;
+    private int                   noOfActiveCells;
+    private Subscription          clock;
+    private double                _flipTime  = 500;
+    private DoubleProperty        flipTime;
+    private Color                 _flapColor = Color.rgb(59, 58, 53);
+    private ObjectProperty<Color> flapColor;
+    private Color                 _textColor = Color.WHITE;
+    private ObjectProperty<Color> textColor;
+
+
+    // ******************** Constructors **************************************
+    public SplitFlapBoard() {
+        this(4, 20, SplitFlap.EXTENDED);
+    }
+    public SplitFlapBoard(final int ROWS, final int COLUMNS) {
+        this(ROWS, COLUMNS, SplitFlap.EXTENDED);
+    }
+    public SplitFlapBoard(final int ROWS, final int COLUMNS, final String[] SELECTION) {
+        getStyleClass().add("split-flap-board");
+        this.ROWS       = Math.max(1, ROWS);
+        this.COLUMNS    = Math.max(1, COLUMNS);
+        this.SELECTION  = SELECTION;
+        CELLS           = new SplitFlap[this.ROWS * this.COLUMNS];
+        CELL_ACTIVE     = new boolean[CELLS.length];
+        ACTIVE_CELLS    = new int[CELLS.length];
+        noOfActiveCells = 0;
+        for (int i = 0 ; i < CELLS.length ; i++) {
+            final int INDEX = i;
+            CELLS[i] = new SplitFlap(SELECTION, SELECTION[0]);
+            CELLS[i].setSharedClock(true);
+            CELLS[i].setFlipTime(_flipTime);
+            CELLS[i].setFlapColor(_flapColor);
+            CELLS[i].setTextColor(_textColor);
+            // every text change of a cell (from the board or not) lets it flip on the board clock
+            CELLS[i].textProperty().addListener(observable -> activateCell(INDEX));
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    public final int getRows() {
+        return ROWS;
+    }
+
+    public final int getColumns() {
+        return COLUMNS;
+    }
+
+    public final String[] getSelection() {
+        return SELECTION;
+    }
+
+    public final SplitFlap getCell(final int ROW, final int COLUMN) {
+        return CELLS[ROW * COLUMNS + COLUMN];
+    }
+
+    public final List<SplitFlap> getCells() {
+        return Collections.unmodifiableList(Arrays.asList(CELLS));
+    }
+
+    /**
+     * Sets the text of the whole board where the rows are separated
+     * by '\n'. Rows that are too long will be cut, missing characters
+     * will be filled with the first entry of the selection.
+     * @param TEXT
+     */
+    public final void setText(final String TEXT) {
+        final String[] LINES = null == TEXT ? new String[0] : TEXT.split("\n", -1);
+        for (int row = 0 ; row < ROWS ; row++) {
+            updateRow(row, row < LINES.length ? LINES[row] : "");
+        }
+        startClock();
+    }
+    public final String getText() {
+        final StringBuilder TEXT = new StringBuilder(ROWS * (COLUMNS + 1));
+        for (int row = 0 ; row < ROWS ; row++) {
+            if (row > 0) TEXT.append("\n");
+            TEXT.append(getRowText(row));
+        }
+        return TEXT.toString();
+    }
+
+    /**
+     * Sets the text of the given row. Rows that are too long will be cut,
+     * missing characters will be filled with the first entry of the selection.
+     * @param ROW
+     * @param TEXT
+     */
+    public final void setRowText(final int ROW, final String TEXT) {
+        updateRow(ROW, null == TEXT ? "" : TEXT);
+        startClock();
+    }
+    public final String getRowText(final int ROW) {
+        final StringBuilder TEXT = new StringBuilder(COLUMNS);
+        for (int column = 0 ; column < COLUMNS ; column++) {
+            TEXT.append(getCell(ROW, column).getText());
+        }
+        return TEXT.toString();
+    }
+
+    /**
+     * Returns the number of cells that are flipping at the moment
+     * @return the number of cells that are flipping
+     */
+    public final int getNoOfFlippingCells() {
+        return noOfActiveCells;
+    }
+
+    public final double getFlipTime() {
+        return null == flipTime ? _flipTime : flipTime.get();
+    }
+    public final void setFlipTime(final double FLIP_TIME) {
+        if (null == flipTime) {
+            _flipTime = FLIP_TIME;
+            for (SplitFlap cell : CELLS) cell.setFlipTime(FLIP_TIME);
+        } else {
+            flipTime.set(FLIP_TIME);
+        }
+    }
+    public final DoubleProperty flipTimeProperty() {
+        if (null == flipTime) {
+            flipTime = new DoublePropertyBase(_flipTime) {
+                @Override protected void invalidated() {
+                    for (SplitFlap cell : CELLS) cell.setFlipTime(get());
+                }
+                @Override public Object getBean() { return SplitFlapBoard.this; }
+                @Override public String getName() { return "flipTime"; }
+            };
+        }
+        return flipTime;
+    }
+
+    public final Color getFlapColor() {
+        return null == flapColor ? _flapColor : flapColor.get();
+    }
+    public final void setFlapColor(final Color FLAP_COLOR) {
+        if (null == flapColor) {
+            _flapColor = FLAP_COLOR;
+            for (SplitFlap cell : CELLS) cell.setFlapColor(FLAP_COLOR);
+        } else {
+            flapColor.set(FLAP_COLOR);
+        }
+    }
+    public final ObjectProperty<Color> flapColorProperty() {
+        if (null == flapColor) {
+            flapColor = new ObjectPropertyBase<Color>(_flapColor) {
+                @Override protected void invalidated() {
+                    for (SplitFlap cell : CELLS) cell.setFlapColor(get());
+                }
+                @Override public Object getBean() { return SplitFlapBoard.this; }
+                @Override public String getName() { return "flapColor"; }
+            };
+        }
+        return flapColor;
+    }
+
+    public final Color getTextColor() {
+        return null == textColor ? _textColor : textColor.get();
+    }
+    public final void setTextColor(final Color TEXT_COLOR) {
+        if (null == textColor) {
+            _textColor = TEXT_COLOR;
+            for (SplitFlap cell : CELLS) cell.setTextColor(TEXT_COLOR);
+        } else {
+            textColor.set(TEXT_COLOR);
+        }
+    }
+    public final ObjectProperty<Color> textColorProperty() {
+        if (null == textColor) {
+            textColor = new ObjectPropertyBase<Color>(_textColor) {
+                @Override protected void invalidated() {
+                    for (SplitFlap cell : CELLS) cell.setTextColor(get());
+                }
+                @Override public Object getBean() { return SplitFlapBoard.this; }
+                @Override public String getName() { return "textColor"; }
+            };
+        }
+        return textColor;
+    }
+
+    /**
+     * Returns the number of forward flips that are needed to get from
+     * character FROM to character TO on a split flap with the given
+     * selection, 0 if both are equal.
+     * @param SELECTION
+     * @param FROM
+     * @param TO
+     * @return the number of flips from FROM to TO
+     */
+    public static int getNoOfFlips(final List<String> SELECTION, final String FROM, final String TO) {
+        final int FROM_INDEX = Math.max(0, SELECTION.indexOf(FROM));
+        final int TO_INDEX   = Math.max(0, SELECTION.indexOf(TO));
+        return Math.floorMod(TO_INDEX - FROM_INDEX, SELECTION.size());
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void updateRow(final int ROW, final String TEXT) {
+        if (ROW < 0 || ROW >= ROWS) return;
+        final String UPPER_CASE_TEXT = TEXT.toUpperCase();
+        for (int column = 0 ; column < COLUMNS ; column++) {
+            final int    INDEX     = ROW * COLUMNS + column;
+            final String CHARACTER = column < UPPER_CASE_TEXT.length() ? String.valueOf(UPPER_CASE_TEXT.charAt(column)) : SELECTION[0];
+            updateCell(INDEX, CHARACTER);
+        }
+    }
+
+    private void updateCell(final int INDEX, final String CHARACTER) {
+        final SplitFlap    CELL          = CELLS[INDEX];
+        final List<String> SELECTED_SET  = CELL.getSelectedSet();
+        final String       TARGET        = SELECTED_SET.contains(CHARACTER) ? CHARACTER : SELECTION[0];
+        if (0 == getNoOfFlips(SELECTED_SET, CELL.getText(), TARGET)) return;
+        CELL.setText(TARGET);
+    }
+
+    private void activateCell(final int INDEX) {
+        if (!CELL_ACTIVE[INDEX]) {
+            CELL_ACTIVE[INDEX]              = true;
+            ACTIVE_CELLS[noOfActiveCells++] = INDEX;
+        }
+        startClock();
+    }
+
+    private void startClock() {
+        if (0 == noOfActiveCells || null != clock) return;
+        clock = PulseScheduler.subscribe(this, 0, (NOW, TICK) -> flipCells(NOW));
+    }
+
+    /**
+     * Advances all flipping cells to the given time and removes the cells
+     * that reached their text. Stops the clock if no cell is flipping.
+     * @param NOW
+     */
+    private void flipCells(final long NOW) {
+        for (int i = noOfActiveCells - 1 ; i >= 0 ; i--) {
+            final int INDEX = ACTIVE_CELLS[i];
+            if (!CELLS[INDEX].flip(NOW)) {
+                CELL_ACTIVE[INDEX] = false;
+                ACTIVE_CELLS[i]    = ACTIVE_CELLS[--noOfActiveCells];
+            }
+        }
+        if (0 == noOfActiveCells) {
+            clock.cancel();
+            clock = null;
+        }
+    }
+
+
+    // ******************** Style related *************************************
+    @Override protected Skin createDefaultSkin() {
+        return new SplitFlapBoardSkin(this);
+    }
+
+    @Override protected String getUserAgentStylesheet() {
+        return getClass().getResource(getClass().getSimpleName().toLowerCase() + ".css").toExternalForm();
+    }
+}
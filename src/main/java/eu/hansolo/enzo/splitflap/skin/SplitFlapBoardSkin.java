@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2013 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.enzo.splitflap.skin;
+
+import eu.hansolo.enzo.splitflap.SplitFlap;
+import eu.hansolo.enzo.splitflap.SplitFlapBoard;
+import javafx.scene.control.Skin;
+import javafx.scene.control.SkinBase;
+import javafx.scene.layout.Pane;
+
+
+/**
+ * Created by
+ * User: hansolo
+ * Date: 23.10.13
+ * Time: 08:31
+ */
+public class SplitFlapBoardSkin extends SkinBase<SplitFlapBoard> implements Skin<SplitFlapBoard> {
+    private static final double CELL_WIDTH     = 36;
+    private static final double CELL_HEIGHT    = 61;
+    private static final double CELL_SPACING   = 0.05;
+    private static final double MINIMUM_WIDTH  = 5;
+    private static final double MINIMUM_HEIGHT = 5;
+    private static final double MAXIMUM_WIDTH  = 4096;
+    private static final double MAXIMUM_HEIGHT = 4096;
+    private double              preferredWidth;
+    private double              preferredHeight;
+    private Pane                pane;
+
+
+    // ******************** Constructors **************************************
+    public SplitFlapBoardSkin(final SplitFlapBoard CONTROL) {
+        super(CONTROL);
+        preferredWidth  = CONTROL.getColumns() * CELL_WIDTH;
+        preferredHeight = CONTROL.getRows() * CELL_HEIGHT;
+        pane            = new Pane();
+        init();
+        initGraphics();
+        registerListeners();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void init() {
+        if (Double.compare(getSkinnable().getPrefWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getPrefHeight(), 0.0) <= 0 ||
+            Double.compare(getSkinnable().getWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getHeight(), 0.0) <= 0) {
+            if (getSkinnable().getPrefWidth() > 0 && getSkinnable().getPrefHeight() > 0) {
+                getSkinnable().setPrefSize(getSkinnable().getPrefWidth(), getSkinnable().getPrefHeight());
+            } else {
+                getSkinnable().setPrefSize(preferredWidth, preferredHeight);
+            }
+        }
+
+        if (Double.compare(getSkinnable().getMinWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMinHeight(), 0.0) <= 0) {
+            getSkinnable().setMinSize(MINIMUM_WIDTH, MINIMUM_HEIGHT);
+        }
+
+        if (Double.compare(getSkinnable().getMaxWidth(), 0.0) <= 0 || Double.compare(getSkinnable().getMaxHeight(), 0.0) <= 0) {
+            getSkinnable().setMaxSize(MAXIMUM_WIDTH, MAXIMUM_HEIGHT);
+        }
+    }
+
+    private void initGraphics() {
+        pane.getChildren().setAll(getSkinnable().getCells());
+        getChildren().setAll(pane);
+        resize();
+    }
+
+    private void registerListeners() {
+        getSkinnable().widthProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+        getSkinnable().heightProperty().addListener(observable -> handleControlPropertyChanged("RESIZE") );
+    }
+
+
+    // ******************** Methods *******************************************
+    protected void handleControlPropertyChanged(final String PROPERTY) {
+        if ("RESIZE".equals(PROPERTY)) {
+            resize();
+        }
+    }
+
+    @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinWidth(Math.max(MINIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMinHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMinHeight(Math.max(MINIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computeMaxWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxWidth(Math.min(MAXIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computeMaxHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        return super.computeMaxHeight(Math.min(MAXIMUM_WIDTH, WIDTH - LEFT_INSET - RIGHT_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+    @Override protected double computePrefWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefHeight = preferredHeight;
+        if (HEIGHT != -1) {
+            prefHeight = Math.max(0, HEIGHT - TOP_INSET - BOTTOM_INSET);
+        }
+        return super.computePrefWidth(prefHeight, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+    @Override protected double computePrefHeight(final double WIDTH, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
+        double prefWidth = preferredWidth;
+        if (WIDTH != -1) {
+            prefWidth = Math.max(0, WIDTH - LEFT_INSET - RIGHT_INSET);
+        }
+        return super.computePrefHeight(prefWidth, TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
+    }
+
+
+    // ******************** Resizing ******************************************
+    private void resize() {
+        final double WIDTH  = getSkinnable().getWidth();
+        final double HEIGHT = getSkinnable().getHeight();
+        if (WIDTH <= 0 || HEIGHT <= 0) return;
+
+        final int    ROWS        = getSkinnable().getRows();
+        final int    COLUMNS     = getSkinnable().getColumns();
+        final double CELL_STEP_X = WIDTH / COLUMNS;
+        final double CELL_STEP_Y = HEIGHT / ROWS;
+        final double SPACING     = CELL_SPACING * Math.min(CELL_STEP_X, CELL_STEP_Y);
+        for (int row = 0 ; row < ROWS ; row++) {
+            for (int column = 0 ; column < COLUMNS ; column++) {
+                final SplitFlap CELL = getSkinnable().getCell(row, column);
+                CELL.setPrefSize(CELL_STEP_X - SPACING, CELL_STEP_Y - SPACING);
+                CELL.relocate(column * CELL_STEP_X + SPACING * 0.5, row * CELL_STEP_Y + SPACING * 0.5);
+            }
+        }
+    }
+}
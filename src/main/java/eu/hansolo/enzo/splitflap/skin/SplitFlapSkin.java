@@ -16,19 +16,20 @@
 
 package eu.hansolo.enzo.splitflap.skin;
 
-import eu.hansolo.enzo.common.ShapeConverter;
+import eu.hansolo.enzo.common.GlyphAtlas;
+import eu.hansolo.enzo.common.GlyphAtlas.GlyphRenderer;
+import eu.hansolo.enzo.common.GlyphAtlas.Part;
+import eu.hansolo.enzo.common.PaintCache;
+import eu.hansolo.enzo.common.PulseScheduler;
+import eu.hansolo.enzo.common.PulseScheduler.Subscription;
+import eu.hansolo.enzo.common.Util;
 import eu.hansolo.enzo.splitflap.FlipEvent;
 import eu.hansolo.enzo.splitflap.SplitFlap;
 import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
-import javafx.event.ActionEvent;
-import javafx.event.EventHandler;
-import javafx.geometry.VPos;
+import javafx.geometry.Insets;
 import javafx.scene.CacheHint;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -36,6 +37,10 @@ import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.InnerShadow;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
@@ -48,11 +53,11 @@ import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.text.Font;
-import javafx.scene.text.TextAlignment;
 import javafx.scene.transform.Rotate;
-import javafx.util.Duration;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 
 public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap> {
@@ -62,6 +67,40 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
     private static final double MINIMUM_HEIGHT   = 5;
     private static final double MAXIMUM_WIDTH    = 1024;
     private static final double MAXIMUM_HEIGHT   = 1024;
+    private static final GlyphRenderer GLYPH_RENDERER = (CTX, GLYPH, PART, COLOR, WIDTH, HEIGHT) -> {
+        final double FLAP_HEIGHT = 0.49206349206349204 * HEIGHT;
+        switch (PART) {
+            case UPPER:
+                CTX.setFill(new LinearGradient(0, 0, 0, FLAP_HEIGHT, false, CycleMethod.NO_CYCLE,
+                                               new Stop(0.0, COLOR.brighter().brighter()),
+                                               new Stop(0.99, COLOR),
+                                               new Stop(1.0, COLOR.darker())));
+                CTX.fillText(GLYPH, WIDTH * 0.5, HEIGHT * 0.5);
+                break;
+            case LOWER:
+                CTX.setFill(new LinearGradient(0, 0, 0, FLAP_HEIGHT, false, CycleMethod.NO_CYCLE,
+                                               new Stop(0.0, COLOR.brighter().brighter()),
+                                               new Stop(0.01, COLOR.brighter()),
+                                               new Stop(1.0, COLOR)));
+                CTX.fillText(GLYPH, WIDTH * 0.5, 0);
+                break;
+            case BACK:
+                CTX.setFill(new LinearGradient(0, 0, 0, -FLAP_HEIGHT, false, CycleMethod.NO_CYCLE,
+                                               new Stop(0.0, COLOR.brighter().brighter()),
+                                               new Stop(0.99, COLOR.brighter()),
+                                               new Stop(1.0, COLOR)));
+                CTX.scale(1, -1);
+                CTX.fillText(GLYPH, WIDTH * 0.5, -HEIGHT * 0.5);
+                break;
+        }
+    };
+    private static final int    SHAPE_CACHE_SIZE = 64;
+    private static final Map<Long, Path[]> SHAPE_CACHE = new LinkedHashMap<Long, Path[]>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Long, Path[]> ELDEST) {
+            return size() > SHAPE_CACHE_SIZE;
+        }
+    };
+    private static final PaintCache<Background[]> FLAP_BACKGROUNDS = new PaintCache<>(16, SplitFlapSkin::createFlapBackgrounds);
     private static double       aspectRatio;
     private final FlipEvent     FLIP_FINISHED;
     private ArrayList<String>   selectedSet;
@@ -70,6 +109,8 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
     private double              width;
     private double              height;
     private double              flapHeight;
+    private double              atlasWidth;
+    private double              atlasHeight;
     private Pane                pane;
     private Region              fixtureRight;
     private Region              fixtureLeft;
@@ -88,13 +129,13 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
     private GraphicsContext     ctxTextFront;
     private Canvas              flapTextBack;
     private GraphicsContext     ctxTextBack;
-    private LinearGradient      upperTextFill;
-    private LinearGradient      lowerTextFill;
     private Font                font;
+    private GlyphAtlas          glyphAtlas;
     private Rotate              rotateFlap;
-    private Timeline            timeline;
-    private KeyFrame            keyFrame;
-    private KeyValue            keyValueFlap;
+    private boolean             flipping;
+    private int                 flipDirection;
+    private long                flipStart;
+    private Subscription        pulse;
 
 
     // ******************** Constructors **************************************
@@ -110,7 +151,7 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
         rotateFlap.setAxis(Rotate.X_AXIS);
         rotateFlap.setAngle(0);
         flapHeight            = 0.49206349206349204 * PREFERRED_HEIGHT;
-        timeline              = new Timeline();
+        flipping              = false;
         init();
         initGraphics();
         registerListeners();
@@ -178,8 +219,6 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
         reversedInnerHighlight.setBlurType(BlurType.TWO_PASS_BOX);
         reversedInnerHighlight.setInput(innerShadow);
 
-        getSkinnable().setStyle("-flap-base: " + colorToCss(getSkinnable().getFlapColor()) + ";");
-
         upperBackground = new Region();
         upperBackground.setEffect(innerHighlight);
 
@@ -188,28 +227,14 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
         //font = Font.loadFont(getClass().getResourceAsStream("/eu/hansolo/enzo/fonts/bebasneue.otf"), PREFERRED_HEIGHT);
         font = Font.loadFont(getClass().getResourceAsStream("/eu/hansolo/enzo/fonts/droidsansmono.ttf"), PREFERRED_HEIGHT);
 
-        upperTextFill = new LinearGradient(0, 0,
-                                           0, flapHeight,
-                                           false, CycleMethod.NO_CYCLE,
-                                           new Stop(0.0, getSkinnable().getTextColor()),
-                                           new Stop(1.0, getSkinnable().getTextColor().darker()));
         upperBackgroundText    = new Canvas();
         ctxUpperBackgroundText = upperBackgroundText.getGraphicsContext2D();
-        ctxUpperBackgroundText.setTextBaseline(VPos.CENTER);
-        ctxUpperBackgroundText.setTextAlign(TextAlignment.CENTER);
 
         lowerBackground = new Region();
         lowerBackground.setEffect(innerHighlight);
 
-        lowerTextFill = new LinearGradient(0, 0.5079365079365079 * PREFERRED_HEIGHT,
-                                           0, 0.5079365079365079 * PREFERRED_HEIGHT + flapHeight,
-                                           false, CycleMethod.NO_CYCLE,
-                                           new Stop(0.0, getSkinnable().getTextColor().darker()),
-                                           new Stop(1.0, getSkinnable().getTextColor()));
         lowerBackgroundText    = new Canvas();
         ctxLowerBackgroundText = lowerBackgroundText.getGraphicsContext2D();
-        ctxLowerBackgroundText.setTextBaseline(VPos.CENTER);
-        ctxLowerBackgroundText.setTextAlign(TextAlignment.CENTER);
 
         flap = new Region();
         flap.setEffect(innerHighlight);
@@ -218,15 +243,13 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
         flapTextFront = new Canvas();
         flapTextFront.getTransforms().add(rotateFlap);
         ctxTextFront  = flapTextFront.getGraphicsContext2D();
-        ctxTextFront.setTextBaseline(VPos.CENTER);
-        ctxTextFront.setTextAlign(TextAlignment.CENTER);
 
         flapTextBack  = new Canvas();
         flapTextBack.getTransforms().add(rotateFlap);
         flapTextBack.setOpacity(0);
         ctxTextBack   = flapTextBack.getGraphicsContext2D();
-        ctxTextBack.setTextBaseline(VPos.CENTER);
-        ctxTextBack.setTextAlign(TextAlignment.CENTER);
+
+        updateFlapBackgrounds();
 
 
         // Set the appropriate style class for the flaps
@@ -265,6 +288,7 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
         getSkinnable().withFixtureProperty().addListener(observable -> handleControlPropertyChanged("WITH_FIXTURE") );
         getSkinnable().darkFixtureProperty().addListener(observable -> handleControlPropertyChanged("DARK_FIXTURE") );
         getSkinnable().squareFlapsProperty().addListener(observable -> handleControlPropertyChanged("SQUARE_FLAPS") );
+        getSkinnable().sceneProperty().addListener(observable -> handleControlPropertyChanged("SCENE") );
 
         getSkinnable().getStyleClass().addListener(new ListChangeListener<String>() {
             @Override public void onChanged(Change<? extends String> change) {
@@ -284,26 +308,6 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
                 }
             }
         });
-
-        timeline.setOnFinished(new EventHandler<ActionEvent>() {
-            @Override public void handle(final ActionEvent EVENT) {
-                getSkinnable().fireEvent(FLIP_FINISHED);
-                flap.setCache(false);
-                flap.setCacheShape(false);
-                if (Double.compare(rotateFlap.getAngle(), 180) == 0) {
-                    flap.setEffect(innerHighlight);
-                    rotateFlap.setAngle(0);
-                    flapTextBack.setOpacity(0);
-                    flapTextFront.setOpacity(1);
-                    refreshTextCtx();
-                    if (!getSkinnable().getText().equals(selectedSet.get(currentSelectionIndex))) {
-                        flipForward();
-                    }
-                } else if(Double.compare(rotateFlap.getAngle(), 0) == 0) {
-                    rotateFlap.setAngle(180);
-                }
-            }
-        });
     }
 
 
@@ -316,14 +320,18 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
         } else if ("TEXT".equals(PROPERTY)) {
             flipForward();
         } else if ("FLAP_COLOR".equals(PROPERTY)) {
-            getSkinnable().setStyle("-flap-base: " + colorToCss(getSkinnable().getFlapColor()) + ";");
+            updateFlapBackgrounds();
         } else if ("TEXT_COLOR".equals(PROPERTY)) {
+            updateGlyphAtlas();
             refreshTextCtx();
         } else if ("CHARACTER_SET".equals(PROPERTY)) {
             selectedSet.clear();
             for (String text : getSkinnable().getSelectedSet()) {
                 selectedSet.add(text);
             }
+        } else if ("SCENE".equals(PROPERTY)) {
+            updateGlyphAtlas();
+            refreshTextCtx();
         } else if ("WITH_FIXTURE".equals(PROPERTY)) {
             fixtureLeft.setOpacity(getSkinnable().isWithFixture() ? 1 : 0);
             fixtureRight.setOpacity(getSkinnable().isWithFixture() ? 1 : 0);
@@ -348,6 +356,18 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
         }
     }
 
+    @Override public void dispose() {
+        if (null != pulse) {
+            pulse.cancel();
+            pulse = null;
+        }
+        if (null != glyphAtlas) {
+            glyphAtlas.release();
+            glyphAtlas = null;
+        }
+        super.dispose();
+    }
+
     @Override protected double computeMinWidth(final double HEIGHT, double TOP_INSET, double RIGHT_INSET, double BOTTOM_INSET, double LEFT_INSET) {
         return super.computeMinWidth(Math.max(MINIMUM_HEIGHT, HEIGHT - TOP_INSET - BOTTOM_INSET), TOP_INSET, RIGHT_INSET, BOTTOM_INSET, LEFT_INSET);
     }
@@ -378,95 +398,215 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
     }
 
     public void flipForward() {
-        timeline.stop();
+        if (flipping) return;
+        startFlip(1, 0);
+    }
+    public void flipBackward() {
+        if (flipping) return;
+        startFlip(-1, 0);
+    }
+
+    /**
+     * Sets the angle of the flap from the time that passed since the
+     * current flip started. If the flip is finished and the current
+     * character is not the text of the control, the next flip will be
+     * started. Will be called by the skin itself or, if the control uses
+     * a shared clock, by the owner of that clock (e.g. a SplitFlapBoard).
+     * @param NOW the timestamp of the current pulse in nanoseconds
+     * @return true if the flap is still flipping
+     */
+    public boolean flip(final long NOW) {
+        if (!flipping) return false;
+        if (0 == flipStart) flipStart = NOW;
+        final double FLIP_NANOS = Math.max(1, getSkinnable().getFlipTime() * 1_000_000);
+        final double FRACTION   = Math.min(1, (NOW - flipStart) / FLIP_NANOS);
+        rotateFlap.setAngle(flipDirection * Interpolator.EASE_IN.interpolate(0.0, 180.0, FRACTION));
+        if (FRACTION >= 1) {
+            finishFlip(NOW);
+        }
+        return flipping;
+    }
+
+    public boolean isFlipping() {
+        return flipping;
+    }
+
+    private void startFlip(final int DIRECTION, final long START) {
         flap.setCacheShape(true);
         flap.setCache(true);
         flap.setCacheHint(CacheHint.ROTATE);
-        //flap.setCacheHint(CacheHint.SPEED);
-        currentSelectionIndex++;
-        if (currentSelectionIndex >= selectedSet.size()) {
-            currentSelectionIndex = 0;
+        if (DIRECTION > 0) {
+            currentSelectionIndex++;
+            if (currentSelectionIndex >= selectedSet.size()) {
+                currentSelectionIndex = 0;
+            }
+            nextSelectionIndex = currentSelectionIndex + 1;
+            if (nextSelectionIndex >= selectedSet.size()) {
+                nextSelectionIndex = 0;
+            }
         }
-        nextSelectionIndex = currentSelectionIndex + 1;
-        if (nextSelectionIndex >= selectedSet.size()) {
-            nextSelectionIndex = 0;
+        flipping      = true;
+        flipDirection = DIRECTION;
+        flipStart     = START;
+        if (!getSkinnable().isSharedClock() && null == pulse) {
+            pulse = PulseScheduler.subscribe(getSkinnable(), 0, (NOW, TICK) -> {
+                if (!flip(NOW)) {
+                    pulse.cancel();
+                    pulse = null;
+                }
+            });
         }
-        //keyValueFlap = new KeyValue(rotateFlap.angleProperty(), 180, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
-        keyValueFlap = new KeyValue(rotateFlap.angleProperty(), 180, Interpolator.EASE_IN);
-        keyFrame     = new KeyFrame(Duration.millis(getSkinnable().getFlipTime()), keyValueFlap);
-        timeline.getKeyFrames().setAll(keyFrame);
-        timeline.play();
     }
-    public void flipBackward() {
-        timeline.stop();
-        //keyValueFlap = new KeyValue(rotateFlap.angleProperty(), -180, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
-        keyValueFlap = new KeyValue(rotateFlap.angleProperty(), -180, Interpolator.EASE_IN);
-        keyFrame     = new KeyFrame(Duration.millis(getSkinnable().getFlipTime()), keyValueFlap);
-        timeline.getKeyFrames().setAll(keyFrame);
-        timeline.play();
+
+    private void finishFlip(final long NOW) {
+        flipping = false;
+        getSkinnable().fireEvent(FLIP_FINISHED);
+        flap.setCache(false);
+        flap.setCacheShape(false);
+        // a backward flip leaves the flap flipped down (at -180 degrees)
+        if (flipDirection > 0) {
+            flap.setEffect(innerHighlight);
+            rotateFlap.setAngle(0);
+            flapTextBack.setOpacity(0);
+            flapTextFront.setOpacity(1);
+            refreshTextCtx();
+            if (!getSkinnable().getText().equals(selectedSet.get(currentSelectionIndex))) {
+                startFlip(1, NOW);
+            }
+        }
     }
 
     private void refreshTextCtx() {
-        double flapWidth  = flapTextFront.getWidth();
-        double flapHeight = flapTextFront.getHeight();
-
-        upperTextFill = new LinearGradient(0, 0,
-                                           0, flapHeight,
-                                           false, CycleMethod.NO_CYCLE,
-                                           new Stop(0.0, getSkinnable().getTextColor().brighter().brighter()),
-                                           new Stop(0.99, getSkinnable().getTextColor()),
-                                           new Stop(1.0, getSkinnable().getTextColor().darker()));
-
-        lowerTextFill = new LinearGradient(0, 0,
-                                           0, flapHeight,
-                                           false, CycleMethod.NO_CYCLE,
-                                           new Stop(0.0, getSkinnable().getTextColor().brighter().brighter()),
-                                           new Stop(0.01, getSkinnable().getTextColor().brighter()),
-                                           new Stop(1.0, getSkinnable().getTextColor()));
+        if (null == glyphAtlas) return;
+        final double FLAP_WIDTH  = flapTextFront.getWidth();
+        final double FLAP_HEIGHT = flapTextFront.getHeight();
+        final String CURRENT     = selectedSet.get(currentSelectionIndex);
+        final String NEXT        = selectedSet.get(nextSelectionIndex);
 
         // set the text on the upper background
-        ctxUpperBackgroundText.clearRect(0, 0, flapWidth, flapHeight);
-        ctxUpperBackgroundText.setFill(upperTextFill);
-        //ctxUpperBackgroundText.fillText(selectedSet.get(nextSelectionIndex), width * 0.5, height * 0.55);
-        ctxUpperBackgroundText.fillText(selectedSet.get(nextSelectionIndex), width * 0.5, height * 0.5);
+        drawGlyph(ctxUpperBackgroundText, NEXT, Part.UPPER, FLAP_WIDTH, FLAP_HEIGHT);
 
         // set the text on the lower background
-        ctxLowerBackgroundText.clearRect(0, 0, flapWidth, flapHeight);
-        ctxLowerBackgroundText.setFill(lowerTextFill);
-        //ctxLowerBackgroundText.fillText(selectedSet.get(currentSelectionIndex), width * 0.5, height * 0.041);
-        ctxLowerBackgroundText.fillText(selectedSet.get(currentSelectionIndex), width * 0.5, 0);
+        drawGlyph(ctxLowerBackgroundText, CURRENT, Part.LOWER, FLAP_WIDTH, FLAP_HEIGHT);
 
         // set the text on the flap front
-        ctxTextFront.clearRect(0, 0, flapWidth, flapHeight);
-        ctxTextFront.setFill(upperTextFill);
-        //ctxTextFront.fillText(selectedSet.get(currentSelectionIndex), width * 0.5, height * 0.55);
-        ctxTextFront.fillText(selectedSet.get(currentSelectionIndex), width * 0.5, height * 0.5);
+        drawGlyph(ctxTextFront, CURRENT, Part.UPPER, FLAP_WIDTH, FLAP_HEIGHT);
 
         // set the text on the flap back
-        ctxTextBack.clearRect(0, 0, flapWidth, flapHeight);
-        ctxTextBack.setFill(new LinearGradient(0, 0,
-                                               0, -flapHeight,
-                                               false, CycleMethod.NO_CYCLE,
-                                               new Stop(0.0, getSkinnable().getTextColor().brighter().brighter()),
-                                               new Stop(0.99, getSkinnable().getTextColor().brighter()),
-                                               new Stop(1.0, getSkinnable().getTextColor())));
-        ctxTextBack.save();
-        ctxTextBack.scale(1,-1);
-        //ctxTextBack.fillText(selectedSet.get(nextSelectionIndex), width * 0.5, -height * 0.45);
-        ctxTextBack.fillText(selectedSet.get(nextSelectionIndex), width * 0.5, -height * 0.5);
-        ctxTextBack.restore();
+        drawGlyph(ctxTextBack, NEXT, Part.BACK, FLAP_WIDTH, FLAP_HEIGHT);
+    }
+
+    private void drawGlyph(final GraphicsContext CTX, final String GLYPH, final Part PART, final double FLAP_WIDTH, final double FLAP_HEIGHT) {
+        CTX.clearRect(0, 0, FLAP_WIDTH, FLAP_HEIGHT);
+        final Image IMAGE = glyphAtlas.getImage(GLYPH, PART);
+        // the atlas is rendered for the size bucket, scale it to the current size
+        if (null != IMAGE) CTX.drawImage(IMAGE, 0, 0, IMAGE.getWidth() * width / atlasWidth, IMAGE.getHeight() * height / atlasHeight);
+    }
+
+    /**
+     * Fetches the shared atlas for the current size bucket and text color
+     * and releases the previous one
+     */
+    private void updateGlyphAtlas() {
+        final GlyphAtlas PREVIOUS_ATLAS = glyphAtlas;
+        glyphAtlas = null == getSkinnable().getScene() || atlasWidth <= 0 || atlasHeight <= 0 ? null :
+                     GlyphAtlas.acquire(GLYPH_RENDERER, getSkinnable().getSelection(), font, getSkinnable().getTextColor(),
+                                        atlasWidth, atlasHeight, atlasWidth, 0.49206349206349204 * atlasHeight);
+        if (null != PREVIOUS_ATLAS) PREVIOUS_ATLAS.release();
+    }
+
+    /**
+     * Returns the size of the bucket that contains the given size. The
+     * buckets grow by a factor of 2^0.25 (about 19%), so a live resize only
+     * renders a new glyph atlas every few frames and draws the glyphs of
+     * the next bigger bucket scaled down in between.
+     * @param SIZE
+     * @return the size of the bucket that contains the given size
+     */
+    private static double getAtlasSize(final double SIZE) {
+        return Math.ceil(Math.pow(2, Math.ceil(Math.log(Math.max(1, SIZE)) / Math.log(2) * 4) / 4));
+    }
+
+    /**
+     * Sets the gradients of the flaps directly instead of deriving them
+     * from an inline -flap-base style, the gradients of a color will be
+     * created once and shared by all split flaps
+     */
+    private void updateFlapBackgrounds() {
+        final Background[] BACKGROUNDS = FLAP_BACKGROUNDS.get(getSkinnable().getFlapColor());
+        upperBackground.setBackground(BACKGROUNDS[0]);
+        flap.setBackground(BACKGROUNDS[0]);
+        lowerBackground.setBackground(BACKGROUNDS[1]);
     }
 
-    private String colorToCss(final Color COLOR) {
-        StringBuilder cssColor = new StringBuilder();
-        cssColor.append("rgba(")
-                .append((int) (COLOR.getRed() * 255)).append(", ")
-                .append((int) (COLOR.getGreen() * 255)).append(", ")
-                .append((int) (COLOR.getBlue() * 255)).append(", ")
-                .append(COLOR.getOpacity()).append(");");
-        return cssColor.toString();
+    private static Background[] createFlapBackgrounds(final Color COLOR) {
+        // same gradients as derive(-flap-base, ...) in the css
+        return new Background[] {
+            new Background(new BackgroundFill(new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+                                                                 new Stop(0.0, COLOR),
+                                                                 new Stop(1.0, Util.deriveColor(COLOR, -0.15))),
+                                              CornerRadii.EMPTY, Insets.EMPTY)),
+            new Background(new BackgroundFill(new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+                                                                 new Stop(0.0, COLOR),
+                                                                 new Stop(1.0, Util.deriveColor(COLOR, -0.2))),
+                                              CornerRadii.EMPTY, Insets.EMPTY))
+        };
     }
 
+    /**
+     * Returns the shapes of the upper and lower flap for the wide layout.
+     * The shapes are cached for whole pixel sizes and shared by all split
+     * flaps of the same size, so resizing a board of split flaps only
+     * creates them once per size.
+     * @param WIDTH
+     * @param HEIGHT
+     * @return the shapes of the upper and the lower flap
+     */
+    private static Path[] getFlapShapes(final double WIDTH, final double HEIGHT) {
+        final int  QUANTIZED_WIDTH  = (int) Math.round(WIDTH);
+        final int  QUANTIZED_HEIGHT = (int) Math.round(HEIGHT);
+        final Long KEY              = ((long) QUANTIZED_WIDTH << 32) | QUANTIZED_HEIGHT;
+        Path[] shapes = SHAPE_CACHE.get(KEY);
+        if (null == shapes) {
+            shapes = new Path[] { createUpperShape(QUANTIZED_WIDTH, QUANTIZED_HEIGHT), createLowerShape(QUANTIZED_WIDTH, QUANTIZED_HEIGHT) };
+            SHAPE_CACHE.put(KEY, shapes);
+        }
+        return shapes;
+    }
+
+    private static Path createUpperShape(final double WIDTH, final double HEIGHT) {
+        final Path UPPER = new Path();
+        UPPER.setFillRule(FillRule.EVEN_ODD);
+        UPPER.getElements().add(new MoveTo(WIDTH, 0.0));
+        UPPER.getElements().add(new LineTo(WIDTH, 0.4074074074074074 * HEIGHT));
+        UPPER.getElements().add(new LineTo(WIDTH - 0.0582010582 * HEIGHT, 0.4074074074074074 * HEIGHT));
+        UPPER.getElements().add(new LineTo(WIDTH - 0.0582010582 * HEIGHT, 0.49206349206349204 * HEIGHT));
+        UPPER.getElements().add(new LineTo(0.0582010582 * HEIGHT, 0.49206349206349204 * HEIGHT));
+        UPPER.getElements().add(new LineTo(0.0582010582 * HEIGHT, 0.4074074074074074 * HEIGHT));
+        UPPER.getElements().add(new LineTo(0.0, 0.4074074074074074 * HEIGHT));
+        UPPER.getElements().add(new LineTo(0.0, 0.0));
+        UPPER.getElements().add(new LineTo(WIDTH, 0.0));
+        UPPER.getElements().add(new ClosePath());
+        return UPPER;
+    }
+
+    private static Path createLowerShape(final double WIDTH, final double HEIGHT) {
+        final Path LOWER = new Path();
+        LOWER.setFillRule(FillRule.EVEN_ODD);
+        LOWER.getElements().add(new MoveTo(WIDTH, HEIGHT));
+        LOWER.getElements().add(new LineTo(WIDTH, 0.5925925925925926 * HEIGHT));
+        LOWER.getElements().add(new LineTo(WIDTH - 0.0582010582 * HEIGHT, 0.5925925925925926 * HEIGHT));
+        LOWER.getElements().add(new LineTo(WIDTH - 0.0582010582 * HEIGHT, 0.5079365079365079 * HEIGHT));
+        LOWER.getElements().add(new LineTo(0.0582010582 * HEIGHT, 0.5079365079365079 * HEIGHT));
+        LOWER.getElements().add(new LineTo(0.0582010582 * HEIGHT, 0.5925925925925926 * HEIGHT));
+        LOWER.getElements().add(new LineTo(0.0, 0.5925925925925926 * HEIGHT));
+        LOWER.getElements().add(new LineTo(0.0, HEIGHT));
+        LOWER.getElements().add(new LineTo(WIDTH, HEIGHT));
+        LOWER.getElements().add(new ClosePath());
+        return LOWER;
+    }
+
+
     // ******************** Resizing ******************************************
     private void resize() {
         width  = getSkinnable().getWidth();
@@ -494,46 +634,16 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
             fixtureLeft.setTranslateY(0.41798941798941797 * height);
 
             if (width > height && width > 0 && height > 0) {
-                final Path UPPER = new Path();
-                UPPER.setFillRule(FillRule.EVEN_ODD);
-                UPPER.getElements().add(new MoveTo(width, 0.0));
-                UPPER.getElements().add(new LineTo(width, 0.4074074074074074 * height));
-                UPPER.getElements().add(new LineTo(width - 0.0582010582 * height, 0.4074074074074074 * height));
-                UPPER.getElements().add(new LineTo(width - 0.0582010582 * height, 0.49206349206349204 * height));
-                UPPER.getElements().add(new LineTo(0.0582010582 * height, 0.49206349206349204 * height));
-                UPPER.getElements().add(new LineTo(0.0582010582 * height, 0.4074074074074074 * height));
-                UPPER.getElements().add(new LineTo(0.0, 0.4074074074074074 * height));
-                UPPER.getElements().add(new LineTo(0.0, 0.0));
-                UPPER.getElements().add(new LineTo(width, 0.0));
-                UPPER.getElements().add(new ClosePath());
-                final String UPPER_SVG = ShapeConverter.shapeToSvgString(UPPER);
-
-                final Path LOWER = new Path();
-                LOWER.setFillRule(FillRule.EVEN_ODD);
-                LOWER.getElements().add(new MoveTo(width, height));
-                LOWER.getElements().add(new LineTo(width, 0.5925925925925926 * height));
-                LOWER.getElements().add(new LineTo(width - 0.0582010582 * height, 0.5925925925925926 * height));
-                LOWER.getElements().add(new LineTo(width - 0.0582010582 * height, 0.5079365079365079 * height));
-                LOWER.getElements().add(new LineTo(0.0582010582 * height, 0.5079365079365079 * height));
-                LOWER.getElements().add(new LineTo(0.0582010582 * height, 0.5925925925925926 * height));
-                LOWER.getElements().add(new LineTo(0.0, 0.5925925925925926 * height));
-                LOWER.getElements().add(new LineTo(0.0, height));
-                LOWER.getElements().add(new LineTo(width, height));
-                LOWER.getElements().add(new ClosePath());
-                final String LOWER_SVG = ShapeConverter.shapeToSvgString(LOWER);
-
-                upperBackground.setStyle(new StringBuilder("-fx-shape:").append("\"").append(UPPER_SVG).append("\";").toString());
-                lowerBackground.setStyle(new StringBuilder("-fx-shape:").append("\"").append(LOWER_SVG).append("\";").toString());
-                flap.setStyle(new StringBuilder("-fx-shape:").append("\"").append(UPPER_SVG).append("\";").toString());
+                final Path[] SHAPES = getFlapShapes(width, height);
+                upperBackground.setShape(SHAPES[0]);
+                lowerBackground.setShape(SHAPES[1]);
+                flap.setShape(SHAPES[0]);
             }
 
             upperBackground.setPrefSize(width, flapHeight);
             lowerBackground.setPrefSize(width, flapHeight);
             lowerBackground.setTranslateY(0.5079365079365079 * height);
 
-            //font = Font.font("Bebas Neue", height * 0.9);
-            font = Font.font("Droid Sans Mono", height * 0.75);
-
             upperBackgroundText.setWidth(width);
             upperBackgroundText.setHeight(flapHeight);
             lowerBackgroundText.setWidth(width);
@@ -548,11 +658,17 @@ public class SplitFlapSkin extends SkinBase<SplitFlap> implements Skin<SplitFlap
             flapTextBack.setWidth(width);
             flapTextBack.setHeight(flapHeight);
 
-            ctxUpperBackgroundText.setFont(font);
-            ctxLowerBackgroundText.setFont(font);
-            ctxTextFront.setFont(font);
-            ctxTextBack.setFont(font);
-
+            final double ATLAS_WIDTH  = getAtlasSize(width);
+            final double ATLAS_HEIGHT = getAtlasSize(height);
+            if (Double.compare(ATLAS_WIDTH, atlasWidth) != 0 || Double.compare(ATLAS_HEIGHT, atlasHeight) != 0) {
+                if (Double.compare(ATLAS_HEIGHT, atlasHeight) != 0) {
+                    //font = Font.font("Bebas Neue", ATLAS_HEIGHT * 0.9);
+                    font = Font.font("Droid Sans Mono", ATLAS_HEIGHT * 0.75);
+                }
+                atlasWidth  = ATLAS_WIDTH;
+                atlasHeight = ATLAS_HEIGHT;
+                updateGlyphAtlas();
+            }
             refreshTextCtx();
 
             innerShadow.setOffsetY(-0.01 * flapHeight);